@@ -27,6 +27,7 @@ import java.util.Set;
 import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityCriteria;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityRule;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
 
 public interface AccessControlRuleService {
@@ -38,4 +39,29 @@ public interface AccessControlRuleService {
 
    Map<String, ShellVisibilityCriteria> fetchVisibilityCriteriaForShells( List<ShellVisibilityContext> shellContexts, String bpn );
 
+   /**
+    * Returns the mandatory specificAssetIds of each rule applicable to the bpn. A shell can only be visible for the bpn
+    * if it has all specificAssetIds of at least one of the returned groups.
+    *
+    * @param bpn the bpn of the caller
+    * @return one group of mandatory specificAssetIds per applicable rule
+    * @throws DenyAccessException if there are no rules for the bpn
+    */
+   Set<Set<SpecificAssetId>> fetchMandatorySpecificAssetIdGroups( String bpn ) throws DenyAccessException;
+
+   /**
+    * Returns the visibility deciding part of every rule which is currently valid, regardless of the bpn.
+    *
+    * @return the visibility rules of all bpns
+    */
+   Set<ShellVisibilityRule> fetchAllVisibilityRules();
+
+   /**
+    * Returns the version of the currently valid rule set. The version changes whenever a rule is added, modified or removed
+    * and whenever a rule becomes valid or expires, therefore results computed with the same version can be reused.
+    *
+    * @return the version of the rule set
+    */
+   long fetchRuleSetVersion();
+
 }
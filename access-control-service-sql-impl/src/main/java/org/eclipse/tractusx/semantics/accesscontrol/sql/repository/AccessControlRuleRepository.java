@@ -27,4 +27,14 @@ import org.eclipse.tractusx.semantics.accesscontrol.sql.model.AccessRule;
 public interface AccessControlRuleRepository {
 
    List<AccessRule> findAllByBpnWithinValidityPeriod( String bpn, String bpnWildcard );
+
+   List<AccessRule> findAllWithinValidityPeriod();
+
+   /**
+    * Returns a number which changes whenever the set of rules returned by this repository changes, either because the
+    * rules were modified or because a rule became valid or expired.
+    *
+    * @return the version of the currently active rule set
+    */
+   long getRuleSetVersion();
 }
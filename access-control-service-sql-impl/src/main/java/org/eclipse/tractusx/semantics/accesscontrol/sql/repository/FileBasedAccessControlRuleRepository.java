@@ -21,21 +21,37 @@
 package org.eclipse.tractusx.semantics.accesscontrol.sql.repository;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.eclipse.tractusx.semantics.accesscontrol.sql.model.AccessRule;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Repository;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+/**
+ * Reads the access rules from a JSON file. The rules which are currently within their validity period are materialized
+ * once and re-materialized at the next instant when a rule becomes valid or expires.<br>
+ * When a {@link TaskScheduler} is available, the re-materialization is scheduled for that instant and the file is checked
+ * for modifications periodically (ACCESS_CONTROL_RULES_REFRESH_INTERVAL), the calls of the repository do not read the file.
+ * They still check the validity of the materialized rules, so a delayed transition cannot keep an expired rule active.
+ * Otherwise, the file and the validity are checked on each call.
+ */
 @Repository
 public class FileBasedAccessControlRuleRepository implements AccessControlRuleRepository {
 
@@ -43,33 +59,145 @@ public class FileBasedAccessControlRuleRepository implements AccessControlRuleRe
    };
    private final Path accessControlRulePath;
    private final ObjectMapper objectMapper;
+   private final Duration refreshInterval;
+   private final Clock clock;
+   private final AtomicLong ruleSetVersion = new AtomicLong();
+   private TaskScheduler taskScheduler;
+   private ScheduledFuture<?> scheduledTransition;
+   private volatile ActiveRules activeRules;
 
+   @Autowired
    public FileBasedAccessControlRuleRepository(
-         @Autowired ObjectMapper objectMapper,
-         @Value( "${ACCESS_CONTROL_RULES_PATH:access-control-rules.json}" ) String accessControlRulePath ) {
+         ObjectMapper objectMapper,
+         @Value( "${ACCESS_CONTROL_RULES_PATH:access-control-rules.json}" ) String accessControlRulePath,
+         @Value( "${ACCESS_CONTROL_RULES_REFRESH_INTERVAL:PT10S}" ) Duration refreshInterval ) {
+      this( objectMapper, accessControlRulePath, refreshInterval, Clock.systemUTC() );
+   }
+
+   public FileBasedAccessControlRuleRepository( ObjectMapper objectMapper, String accessControlRulePath, Duration refreshInterval, Clock clock ) {
       this.accessControlRulePath = Path.of( accessControlRulePath );
       this.objectMapper = objectMapper;
+      this.refreshInterval = refreshInterval;
+      this.clock = clock;
+   }
+
+   @Autowired( required = false )
+   public void setTaskScheduler( final TaskScheduler taskScheduler ) {
+      this.taskScheduler = taskScheduler;
+      taskScheduler.scheduleWithFixedDelay( this::rematerialize, clock.instant().plus( refreshInterval ), refreshInterval );
    }
 
    @Override
    public List<AccessRule> findAllByBpnWithinValidityPeriod( final String bpn, final String bpnWildcard ) {
+      Set<String> bpns = Set.of( bpn, bpnWildcard );
+      return findAllWithinValidityPeriod().stream()
+            .filter( rule -> bpns.contains( rule.getTargetTenant() ) )
+            .toList();
+   }
+
+   @Override
+   public List<AccessRule> findAllWithinValidityPeriod() {
+      return currentActiveRules().rules();
+   }
+
+   @Override
+   public long getRuleSetVersion() {
+      return currentActiveRules().version();
+   }
+
+   private ActiveRules currentActiveRules() {
+      final ActiveRules current = activeRules;
+      if ( current != null && taskScheduler != null ) {
+         return clock.instant().isBefore( current.validUntil() ) ? current : materialize( current.lastModified() );
+      }
+      final FileTime lastModified = readLastModifiedTime();
+      if ( current == null || !current.lastModified().equals( lastModified ) || !clock.instant().isBefore( current.validUntil() ) ) {
+         return materialize( lastModified );
+      }
+      return current;
+   }
+
+   private synchronized ActiveRules materialize( final FileTime lastModified ) {
+      final Instant now = clock.instant();
+      ActiveRules current = activeRules;
+      if ( current != null && current.lastModified().equals( lastModified ) && now.isBefore( current.validUntil() ) ) {
+         return current;
+      }
+      final List<AccessRule> allRules = current != null && current.lastModified().equals( lastModified )
+            ? current.allRules()
+            : readRules();
+      current = new ActiveRules(
+            lastModified,
+            allRules,
+            allRules.stream().filter( rule -> isValidAt( rule, now ) ).toList(),
+            nextTransitionAfter( allRules, now ),
+            ruleSetVersion.incrementAndGet() );
+      activeRules = current;
+      scheduleTransition( current.validUntil() );
+      return current;
+   }
+
+   private void scheduleTransition( final Instant transition ) {
+      if ( taskScheduler == null ) {
+         return;
+      }
+      if ( scheduledTransition != null ) {
+         scheduledTransition.cancel( false );
+         scheduledTransition = null;
+      }
+      if ( !Instant.MAX.equals( transition ) ) {
+         scheduledTransition = taskScheduler.schedule( this::rematerialize, transition );
+      }
+   }
+
+   /**
+    * Re-materializes the rules if the file was modified or a rule became valid or expired. Runs at the scheduled
+    * transitions and periodically to detect modifications of the file.
+    */
+   void rematerialize() {
+      try {
+         materialize( readLastModifiedTime() );
+      } catch ( DataRetrievalFailureException e ) {
+         // the rules materialized before stay active, the next run will retry
+      }
+   }
+
+   private FileTime readLastModifiedTime() {
+      try {
+         return Files.getLastModifiedTime( accessControlRulePath );
+      } catch ( IOException e ) {
+         throw new DataRetrievalFailureException( e.getMessage(), e );
+      }
+   }
+
+   private List<AccessRule> readRules() {
       try {
-         Set<String> bpns = Set.of( bpn, bpnWildcard );
-         return objectMapper.readValue( accessControlRulePath.toFile(), RULE_LIST_TYPE ).stream()
-               .filter( rule -> bpns.contains( rule.getTargetTenant() ) )
-               .filter( rule -> {
-                  Instant now = Instant.now();
-                  final var validFromIsEmptyOrInThePast = Optional.ofNullable( rule.getValidFrom() )
-                        .map( now::isAfter )
-                        .orElse( true );
-                  final var validToIsEmptyOrInTheFuture = Optional.ofNullable( rule.getValidTo() )
-                        .map( now::isBefore )
-                        .orElse( true );
-                  return validFromIsEmptyOrInThePast && validToIsEmptyOrInTheFuture;
-               } )
-               .toList();
+         return objectMapper.readValue( accessControlRulePath.toFile(), RULE_LIST_TYPE );
       } catch ( IOException e ) {
          throw new DataRetrievalFailureException( e.getMessage(), e );
       }
    }
+
+   private static boolean isValidAt( final AccessRule rule, final Instant instant ) {
+      return ( rule.getValidFrom() == null || instant.isAfter( rule.getValidFrom() ) )
+            && ( rule.getValidTo() == null || instant.isBefore( rule.getValidTo() ) );
+   }
+
+   /**
+    * Finds the first instant after the given one when the result of {@link #isValidAt(AccessRule, Instant)} changes
+    * for any of the rules. Rules are valid strictly after validFrom and strictly before validTo.
+    */
+   private static Instant nextTransitionAfter( final List<AccessRule> rules, final Instant instant ) {
+      return rules.stream()
+            .flatMap( rule -> Stream.of(
+                  rule.getValidFrom() == null ? null : rule.getValidFrom().plusNanos( 1 ),
+                  rule.getValidTo() ) )
+            .filter( Objects::nonNull )
+            .filter( instant::isBefore )
+            .min( Instant::compareTo )
+            .orElse( Instant.MAX );
+   }
+
+   private record ActiveRules(FileTime lastModified, List<AccessRule> allRules, List<AccessRule> rules, Instant validUntil, long version) {
+   }
 }
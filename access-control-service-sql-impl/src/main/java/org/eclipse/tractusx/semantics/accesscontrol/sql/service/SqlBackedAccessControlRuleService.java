@@ -33,6 +33,7 @@ import org.eclipse.tractusx.semantics.accesscontrol.api.AccessControlRuleService
 import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityCriteria;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityRule;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
 import org.eclipse.tractusx.semantics.accesscontrol.sql.model.AccessRule;
 import org.eclipse.tractusx.semantics.accesscontrol.sql.model.AccessRulePolicy;
@@ -96,6 +97,25 @@ public class SqlBackedAccessControlRuleService implements AccessControlRuleServi
             .collect( Collectors.toMap( ShellVisibilityCriteria::aasId, Function.identity() ) );
    }
 
+   @Override
+   public Set<Set<SpecificAssetId>> fetchMandatorySpecificAssetIdGroups( String bpn ) throws DenyAccessException {
+      return findPotentiallyMatchingAccessControlRules( bpn )
+            .map( AccessRulePolicy::getMandatorySpecificAssetIds )
+            .collect( Collectors.toSet() );
+   }
+
+   @Override
+   public Set<ShellVisibilityRule> fetchAllVisibilityRules() {
+      return repository.findAllWithinValidityPeriod().stream()
+            .map( rule -> new ShellVisibilityRule( rule.getTargetTenant(), rule.getPolicy().getMandatorySpecificAssetIds() ) )
+            .collect( Collectors.toSet() );
+   }
+
+   @Override
+   public long fetchRuleSetVersion() {
+      return repository.getRuleSetVersion();
+   }
+
    private Stream<AccessRulePolicy> findPotentiallyMatchingAccessControlRules( String bpn ) throws DenyAccessException {
       List<AccessRule> allByBpn = repository.findAllByBpnWithinValidityPeriod( bpn, bpnWildcard );
       if ( allByBpn == null || allByBpn.isEmpty() ) {
@@ -22,22 +22,38 @@ package org.eclipse.tractusx.semantics.accesscontrol.sql.repository;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.eclipse.tractusx.semantics.accesscontrol.sql.model.AccessRule;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 class FileBasedAccessControlRuleRepositoryTest {
 
    private static final String PUBLIC_READABLE = "PUBLIC_READABLE";
+   private static final Duration REFRESH_INTERVAL = Duration.ofSeconds( 10 );
    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
    public static Stream<Arguments> bpnFilteringProvider() {
@@ -53,7 +69,7 @@ class FileBasedAccessControlRuleRepositoryTest {
    @MethodSource( "bpnFilteringProvider" )
    void testFindAllByBpnWithinValidityPeriodExpectFilteredResults( final String bpn, final List<Long> expectedRuleIds ) {
       final var filePath = Path.of( getClass().getResource( "/example-access-rules.json" ).getFile() );
-      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString() );
+      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(), REFRESH_INTERVAL );
 
       List<AccessRule> actual = underTest.findAllByBpnWithinValidityPeriod( bpn, PUBLIC_READABLE );
 
@@ -61,12 +77,188 @@ class FileBasedAccessControlRuleRepositoryTest {
       assertThat( actualIds ).isEqualTo( expectedRuleIds );
    }
 
+   @SuppressWarnings( "DataFlowIssue" )
+   @Test
+   void testFindAllWithinValidityPeriodExpectRulesOfAllBpns() {
+      final var filePath = Path.of( getClass().getResource( "/example-access-rules.json" ).getFile() );
+      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(), REFRESH_INTERVAL );
+
+      List<AccessRule> actual = underTest.findAllWithinValidityPeriod();
+
+      final var actualIds = actual.stream().map( AccessRule::getId ).toList();
+      assertThat( actualIds ).isEqualTo( List.of( 1L, 2L, 3L ) );
+   }
+
+   @Test
+   void testFindAllWithinValidityPeriodWhenRuleBecomesValidAndExpiresExpectActiveRulesFollowTransitions( @TempDir final Path tempDir )
+         throws Exception {
+      final var clock = new MutableClock( Instant.parse( "2024-01-01T00:00:00Z" ) );
+      final var validFrom = clock.instant().plusSeconds( 60 );
+      final var validTo = validFrom.plusSeconds( 60 );
+      final var filePath = writeRulesWithValidity( tempDir, validFrom, validTo );
+      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(), REFRESH_INTERVAL, clock );
+
+      assertThat( underTest.findAllWithinValidityPeriod() ).extracting( AccessRule::getId ).containsExactly( 2L, 3L );
+
+      clock.set( validFrom.plusMillis( 1 ) );
+      assertThat( underTest.findAllWithinValidityPeriod() ).extracting( AccessRule::getId ).containsExactly( 1L, 2L, 3L );
+
+      clock.set( validTo );
+      assertThat( underTest.findAllWithinValidityPeriod() ).extracting( AccessRule::getId ).containsExactly( 2L, 3L );
+   }
+
+   @Test
+   void testFindAllWithinValidityPeriodWithTaskSchedulerExpectFileCheckedByScheduledTasksOnly( @TempDir final Path tempDir )
+         throws Exception {
+      final var clock = new MutableClock( Instant.parse( "2024-01-01T00:00:00Z" ) );
+      final var validFrom = clock.instant().plusSeconds( 60 );
+      final var validTo = validFrom.plusSeconds( 60 );
+      final var filePath = writeRulesWithValidity( tempDir, validFrom, validTo );
+      final var taskScheduler = new RecordingTaskScheduler();
+      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(), REFRESH_INTERVAL, clock );
+      underTest.setTaskScheduler( taskScheduler );
+
+      assertThat( underTest.findAllWithinValidityPeriod() ).extracting( AccessRule::getId ).containsExactly( 2L, 3L );
+      assertThat( taskScheduler.fixedDelay ).isEqualTo( REFRESH_INTERVAL );
+      assertThat( taskScheduler.transitionInstant ).isEqualTo( validFrom.plusNanos( 1 ) );
+
+      // the calls re-materialize the rules if the scheduled transition is delayed
+      clock.set( validFrom.plusMillis( 1 ) );
+      assertThat( underTest.findAllWithinValidityPeriod() ).extracting( AccessRule::getId ).containsExactly( 1L, 2L, 3L );
+      assertThat( taskScheduler.transitionInstant ).isEqualTo( validTo );
+      clock.set( validTo.plusMillis( 1 ) );
+      assertThat( underTest.findAllWithinValidityPeriod() ).extracting( AccessRule::getId ).containsExactly( 2L, 3L );
+
+      // the file is not checked by the calls, only by the periodic refresh
+      final long version = underTest.getRuleSetVersion();
+      Files.writeString( filePath, "[]" );
+      Files.setLastModifiedTime( filePath, FileTime.from( Instant.now().plusSeconds( 10 ) ) );
+      assertThat( underTest.getRuleSetVersion() ).isEqualTo( version );
+      taskScheduler.refresh.run();
+      assertThat( underTest.getRuleSetVersion() ).isNotEqualTo( version );
+      assertThat( underTest.findAllWithinValidityPeriod() ).isEmpty();
+   }
+
+   @SuppressWarnings( "DataFlowIssue" )
+   @Test
+   void testGetRuleSetVersionWhenFileIsModifiedExpectNewVersion( @TempDir final Path tempDir ) throws Exception {
+      final var examplePath = Path.of( getClass().getResource( "/example-access-rules.json" ).getFile() );
+      final var filePath = tempDir.resolve( "access-rules.json" );
+      Files.copy( examplePath, filePath );
+      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(), REFRESH_INTERVAL );
+
+      final long initialVersion = underTest.getRuleSetVersion();
+      assertThat( underTest.getRuleSetVersion() ).isEqualTo( initialVersion );
+
+      Files.writeString( filePath, "[]" );
+      Files.setLastModifiedTime( filePath, FileTime.from( Instant.now().plusSeconds( 10 ) ) );
+
+      assertThat( underTest.getRuleSetVersion() ).isNotEqualTo( initialVersion );
+      assertThat( underTest.findAllWithinValidityPeriod() ).isEmpty();
+   }
+
    @Test
    void testFindAllByBpnWithinValidityPeriodWithMissingResourceExpectException() {
       final var filePath = Path.of( "unknown.json" );
-      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString() );
+      final var underTest = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(), REFRESH_INTERVAL );
 
       assertThatThrownBy( () -> underTest.findAllByBpnWithinValidityPeriod( "BPNL00000000000A", PUBLIC_READABLE ) )
             .isInstanceOf( DataRetrievalFailureException.class );
    }
-}
\ No newline at end of file
+
+   @SuppressWarnings( "DataFlowIssue" )
+   private Path writeRulesWithValidity( final Path tempDir, final Instant validFrom, final Instant validTo ) throws IOException {
+      final var examplePath = Path.of( getClass().getResource( "/example-access-rules.json" ).getFile() );
+      final var filePath = tempDir.resolve( "access-rules.json" );
+      Files.writeString( filePath, Files.readString( examplePath ).replace(
+            "\"validFrom\": \"2020-01-02T03:04:05Z\", \"validTo\": \"4999-01-02T03:04:05Z\"",
+            "\"validFrom\": \"" + validFrom + "\", \"validTo\": \"" + validTo + "\"" ) );
+      return filePath;
+   }
+
+   private static class MutableClock extends Clock {
+
+      private volatile Instant instant;
+
+      MutableClock( final Instant instant ) {
+         this.instant = instant;
+      }
+
+      void set( final Instant instant ) {
+         this.instant = instant;
+      }
+
+      @Override
+      public ZoneId getZone() {
+         return ZoneOffset.UTC;
+      }
+
+      @Override
+      public Clock withZone( final ZoneId zone ) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Instant instant() {
+         return instant;
+      }
+   }
+
+   /**
+    * Records the tasks instead of running them, the tests run them when the scheduled instant is reached.
+    */
+   private static class RecordingTaskScheduler implements TaskScheduler {
+
+      private Runnable refresh;
+      private Duration fixedDelay;
+      private Runnable transition;
+      private Instant transitionInstant;
+
+      @Override
+      public ScheduledFuture<?> schedule( final Runnable task, final Instant startTime ) {
+         transition = task;
+         transitionInstant = startTime;
+         return new CompletableScheduledFuture();
+      }
+
+      @Override
+      public ScheduledFuture<?> scheduleWithFixedDelay( final Runnable task, final Instant startTime, final Duration delay ) {
+         refresh = task;
+         fixedDelay = delay;
+         return new CompletableScheduledFuture();
+      }
+
+      @Override
+      public ScheduledFuture<?> schedule( final Runnable task, final Trigger trigger ) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ScheduledFuture<?> scheduleAtFixedRate( final Runnable task, final Instant startTime, final Duration period ) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ScheduledFuture<?> scheduleAtFixedRate( final Runnable task, final Duration period ) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ScheduledFuture<?> scheduleWithFixedDelay( final Runnable task, final Duration delay ) {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   private static class CompletableScheduledFuture extends CompletableFuture<Void> implements ScheduledFuture<Void> {
+
+      @Override
+      public long getDelay( final TimeUnit unit ) {
+         return 0;
+      }
+
+      @Override
+      public int compareTo( final Delayed other ) {
+         return Long.compare( getDelay( TimeUnit.NANOSECONDS ), other.getDelay( TimeUnit.NANOSECONDS ) );
+      }
+   }
+}
@@ -23,6 +23,7 @@ package org.eclipse.tractusx.semantics.accesscontrol.sql.service;
 import static org.assertj.core.api.Assertions.*;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -31,6 +32,7 @@ import java.util.stream.Stream;
 
 import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityRule;
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
 import org.eclipse.tractusx.semantics.accesscontrol.sql.repository.AccessControlRuleRepository;
 import org.eclipse.tractusx.semantics.accesscontrol.sql.repository.FileBasedAccessControlRuleRepository;
@@ -105,7 +107,8 @@ class SqlBackedAccessControlRuleServiceTest {
    void setUp() {
       ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
       final var filePath = Path.of( getClass().getResource( "/example-access-rules.json" ).getFile() );
-      AccessControlRuleRepository repository = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString() );
+      AccessControlRuleRepository repository = new FileBasedAccessControlRuleRepository( objectMapper, filePath.toAbsolutePath().toString(),
+            Duration.ofSeconds( 10 ) );
       underTest = new SqlBackedAccessControlRuleService( repository, "PUBLIC_READABLE" );
    }
 
@@ -154,4 +157,29 @@ class SqlBackedAccessControlRuleServiceTest {
       assertThat( actual.visibleSemanticIds() ).isEqualTo( expectedSemanticIds );
       assertThat( actual.visibleSpecificAssetIdNames() ).isEqualTo( expectedSpecificAssetIdNames );
    }
+
+   @Test
+   void testFetchMandatorySpecificAssetIdGroupsWhenNoMatchingBpnExpectException() {
+      assertThatThrownBy( () -> underTest.fetchMandatorySpecificAssetIdGroups( BPNB ) )
+            .isInstanceOf( DenyAccessException.class );
+   }
+
+   @Test
+   void testFetchMandatorySpecificAssetIdGroupsWhenMatchingBpnExpectGroupPerValidRule() throws DenyAccessException {
+      final var actual = underTest.fetchMandatorySpecificAssetIdGroups( BPNA );
+
+      assertThat( actual ).containsExactlyInAnyOrder(
+            Set.of( MANUFACTURER_PART_ID_99991, CUSTOMER_PART_ID_ACME001, REVISION_NUMBER_01 ),
+            Set.of( MANUFACTURER_PART_ID_99991, CUSTOMER_PART_ID_ACME001, PART_INSTANCE_ID_00001 ) );
+   }
+
+   @Test
+   void testFetchAllVisibilityRulesExpectRulesOfAllBpns() {
+      final var actual = underTest.fetchAllVisibilityRules();
+
+      assertThat( actual ).containsExactlyInAnyOrder(
+            new ShellVisibilityRule( BPNA, Set.of( MANUFACTURER_PART_ID_99991, CUSTOMER_PART_ID_ACME001, REVISION_NUMBER_01 ) ),
+            new ShellVisibilityRule( BPNC, Set.of( MANUFACTURER_PART_ID_99991, CUSTOMER_PART_ID_CONTOSO001, REVISION_NUMBER_01 ) ),
+            new ShellVisibilityRule( BPNA, Set.of( MANUFACTURER_PART_ID_99991, CUSTOMER_PART_ID_ACME001, PART_INSTANCE_ID_00001 ) ) );
+   }
 }
@@ -20,6 +20,9 @@
 
 package org.eclipse.tractusx.semantics;
 
+import java.util.List;
+
+import org.eclipse.tractusx.semantics.registry.controller.GzipRequestBodyConverter;
 import org.springdoc.core.configuration.SpringDocConfiguration;
 import org.springdoc.core.properties.SpringDocConfigProperties;
 import org.springdoc.core.providers.ObjectMapperProvider;
@@ -30,6 +33,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -41,6 +46,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 @EnableConfigurationProperties(RegistryProperties.class)
 @ComponentScan(basePackages = {"org.eclipse.tractusx.semantics", "org.openapitools.configuration"})
 public class RegistryApplication {
@@ -60,6 +66,11 @@ public class RegistryApplication {
 				String fullDiscoveryPath = securityProperties.getJwt().getIssuerUri() + OPEN_ID_CONNECT_DISCOVERY_PATH;
 				registry.addRedirectViewController(OPEN_ID_CONNECT_DISCOVERY_PATH, fullDiscoveryPath);
 			}
+			@Override
+			public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+				// streams the gzip compressed import files instead of buffering them
+				converters.add(0, new GzipRequestBodyConverter());
+			}
 		};
 	}
 
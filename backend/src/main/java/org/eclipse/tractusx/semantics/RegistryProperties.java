@@ -20,12 +20,15 @@
 
 package org.eclipse.tractusx.semantics;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
@@ -37,6 +40,12 @@ public class RegistryProperties {
 
     private final Idm idm = new Idm();
 
+    private final Jobs jobs = new Jobs();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final SecondLevelCache secondLevelCache = new SecondLevelCache();
+
     /**
      * This wildcard prefix is used to make specificAssetIds public for everyone.
      * The default-value "PUBLIC_READABLE" is used by all catenaX participants.
@@ -54,6 +63,24 @@ public class RegistryProperties {
      */
     private Boolean useGranularAccessControl;
 
+    /**
+     * This flag turns on the materialized visibility index for granular access control.
+     * Shell listing and lookup of non-owner tenants are filtered by the index instead of evaluating the rules on the fly.
+     */
+    private Boolean useGranularVisibilityIndex;
+
+    /**
+     * This flag turns on the descriptor document. The complete descriptor of a shell is stored in a single column of the shell
+     * in the same transaction as the normalized tables, reading a shell descriptor then reads only the shell row.
+     */
+    private Boolean useDescriptorDocument;
+
+    /**
+     * The maximum size of the visibility criteria cache used by granular access control, measured in approximate number of characters.
+     * The cache is disabled if the value is 0.
+     */
+    private long granularVisibilityCriteriaCacheMaxWeight;
+
     /**
      * Properties for Identity Management system
      */
@@ -73,4 +100,121 @@ public class RegistryProperties {
         private String owningTenantId;
 
     }
+
+    /**
+     * Properties of the asynchronous bulk jobs
+     */
+    @Data
+    public static class Jobs {
+        /**
+         * The directory of the input and result files of the jobs. Instances sharing a database must share the directory as well.
+         */
+        @NotEmpty(message = "jobs directory must not be empty")
+        private String directory = System.getProperty( "java.io.tmpdir" ) + "/registry-jobs";
+
+        /**
+         * The number of jobs executed in parallel by this instance.
+         */
+        @Min(1)
+        private int threads = 2;
+
+        /**
+         * A running job without a checkpoint for this duration is considered abandoned (e.g. because its instance has been stopped)
+         * and is queued again. The duration must exceed the processing time of a chunk.
+         */
+        private Duration staleTimeout = Duration.ofMinutes( 10 );
+
+        /**
+         * Finished jobs and their files are deleted after this duration.
+         */
+        private Duration retention = Duration.ofDays( 7 );
+    }
+
+    /**
+     * Properties of the read replicas
+     */
+    @Data
+    public static class ReadReplicas {
+        /**
+         * This flag routes read-only transactions to the replicas. The replicas must be Postgres streaming replicas of the primary.
+         */
+        private boolean enabled;
+
+        /**
+         * The replicas, each replica has its own connection pool.
+         */
+        private List<Replica> nodes = new ArrayList<>();
+
+        /**
+         * The maximum size of the connection pool of each replica.
+         */
+        @Min(1)
+        private int maximumPoolSize = 10;
+
+        /**
+         * A replica lagging behind the primary by more than this duration is not used until it has caught up.
+         */
+        private Duration maxLag = Duration.ofSeconds( 5 );
+
+        /**
+         * This flag turns on read-your-writes. The position of a write is returned in the X-Registry-Lsn response header, the
+         * read-only transactions of requests sending it back are only routed to replicas which have replayed the write,
+         * otherwise to the primary.
+         */
+        private boolean readYourWrites;
+    }
+
+    /**
+     * Properties of the second-level cache of the shell aggregate
+     */
+    @Data
+    public static class SecondLevelCache {
+        /**
+         * This flag turns on the second-level cache. Each instance caches the shells, their submodels and their endpoints locally,
+         * changes are propagated to the other instances sharing the database by the invalidation log (SHELL_CACHE_INVALIDATION).
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum number of entries of each cache region.
+         */
+        @Min(1)
+        private long maximumSize = 100000;
+
+        /**
+         * Entries are evicted after this duration regardless of invalidations, it bounds the staleness in case an invalidation
+         * is missed.
+         */
+        private Duration timeToLive = Duration.ofMinutes( 10 );
+
+        /**
+         * Skipped numbers of the invalidation log are read again for this duration, invalidations which have not been committed
+         * within it (e.g. because of long-running transactions) may be missed by the other instances.
+         */
+        private Duration invalidationOverlap = Duration.ofMinutes( 1 );
+
+        /**
+         * Entries of the invalidation log are deleted after this duration, it must exceed the overlap.
+         */
+        private Duration invalidationRetention = Duration.ofHours( 1 );
+    }
+
+    @Data
+    public static class Replica {
+        /**
+         * The JDBC url of the replica.
+         */
+        @NotEmpty(message = "replica url must not be empty")
+        private String url;
+
+        /**
+         * The username, the username of the primary (spring.datasource.username) is used if not set.
+         */
+        private String username;
+
+        /**
+         * The password, the password of the primary (spring.datasource.password) is used if not set.
+         */
+        private String password;
+    }
 }
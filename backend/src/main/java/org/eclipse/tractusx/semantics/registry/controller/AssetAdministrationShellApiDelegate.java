@@ -19,6 +19,8 @@
  ******************************************************************************/
 package org.eclipse.tractusx.semantics.registry.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
@@ -31,9 +33,11 @@ import org.eclipse.tractusx.semantics.aas.registry.api.LookupApiDelegate;
 import org.eclipse.tractusx.semantics.aas.registry.api.ShellDescriptorsApiDelegate;
 import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
 import org.eclipse.tractusx.semantics.aas.registry.model.AssetKind;
+import org.eclipse.tractusx.semantics.aas.registry.model.BatchResult;
 import org.eclipse.tractusx.semantics.aas.registry.model.GetAllAssetAdministrationShellIdsByAssetLink200Response;
 import org.eclipse.tractusx.semantics.aas.registry.model.GetAssetAdministrationShellDescriptorsResult;
 import org.eclipse.tractusx.semantics.aas.registry.model.GetSubmodelDescriptorsResult;
+import org.eclipse.tractusx.semantics.aas.registry.model.ImportResult;
 import org.eclipse.tractusx.semantics.aas.registry.model.ServiceDescription;
 import org.eclipse.tractusx.semantics.aas.registry.model.SpecificAssetId;
 import org.eclipse.tractusx.semantics.aas.registry.model.SubmodelDescriptor;
@@ -44,7 +48,9 @@ import org.eclipse.tractusx.semantics.registry.mapper.SubmodelMapper;
 import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
 import org.eclipse.tractusx.semantics.registry.model.Submodel;
+import org.eclipse.tractusx.semantics.registry.service.ShellImportService;
 import org.eclipse.tractusx.semantics.registry.service.ShellService;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -60,13 +66,16 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
     private final ShellService shellService;
     private final ShellMapper shellMapper;
     private final SubmodelMapper submodelMapper;
+    private final ShellImportService shellImportService;
 
     public AssetAdministrationShellApiDelegate(final ShellService shellService,
                                                final ShellMapper shellMapper,
-                                               final SubmodelMapper submodelMapper) {
+                                               final SubmodelMapper submodelMapper,
+                                               final ShellImportService shellImportService) {
         this.shellService = shellService;
         this.shellMapper = shellMapper;
         this.submodelMapper = submodelMapper;
+        this.shellImportService = shellImportService;
     }
 
     @Override
@@ -86,6 +95,11 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
         shellService.deleteShell( getDecodedId(aasIdentifier) );
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+    @Override
+    public ResponseEntity<List<BatchResult>> deleteAssetAdministrationShellDescriptorsBatch( List<String> aasIdentifiers ) {
+        return new ResponseEntity<>( shellMapper.toApiDto( shellService.deleteBatch( aasIdentifiers ) ), HttpStatus.OK );
+    }
+
     @Override
     public ResponseEntity<Void> deleteAllAssetLinksById(byte[] aasIdentifier) {
 
@@ -107,6 +121,14 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    @Override
+    public ResponseEntity<GetAssetAdministrationShellDescriptorsResult> getAllAssetAdministrationShellDescriptorsBySemanticId( byte[] semanticId,
+          Integer limit, String cursor, @RequestHeader String externalSubjectId ) {
+        ShellCollectionDto dto = shellService.findAllShellsBySubmodelSemanticId( getDecodedId( semanticId ), limit, cursor,
+              getExternalSubjectIdOrEmpty( externalSubjectId ) );
+        return new ResponseEntity<>( shellMapper.toApiDto( dto ), HttpStatus.OK );
+    }
+
     @Override
     public ResponseEntity<GetSubmodelDescriptorsResult> getAllSubmodelDescriptorsThroughSuperpath( byte[] aasIdentifier, Integer limit, String cursor, @RequestHeader String externalSubjectId  ) {
         Shell savedShell = shellService.findShellByExternalIdAndExternalSubjectId(getDecodedId( aasIdentifier ),getExternalSubjectIdOrEmpty(externalSubjectId));
@@ -118,7 +140,7 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
     @Override
     public ResponseEntity<AssetAdministrationShellDescriptor> getAssetAdministrationShellDescriptorById( byte[] aasIdentifier, @RequestHeader String externalSubjectId ) {
         String decodedAasIdentifier = getDecodedId( aasIdentifier );
-        Shell saved = shellService.findShellByExternalIdAndExternalSubjectId(decodedAasIdentifier, getExternalSubjectIdOrEmpty(externalSubjectId));
+        Shell saved = shellService.findShellDescriptorByExternalIdAndExternalSubjectId(decodedAasIdentifier, getExternalSubjectIdOrEmpty(externalSubjectId));
            return new ResponseEntity<>(shellMapper.toApiDto(saved), HttpStatus.OK);
     }
 
@@ -137,6 +159,27 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
         return new ResponseEntity<>(shellMapper.toApiDto(saved), HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<List<BatchResult>> postAssetAdministrationShellDescriptorsBatch( List<AssetAdministrationShellDescriptor> assetAdministrationShellDescriptors ) {
+        List<Shell> shells = assetAdministrationShellDescriptors.stream().map( assetAdministrationShellDescriptor -> {
+            Shell shell = shellMapper.fromApiDto( assetAdministrationShellDescriptor );
+            shellService.mapShellCollection( shell );
+            if ( !shell.getSubmodels().isEmpty() ) shellService.mapSubmodel( shell.getSubmodels() );
+            return shell;
+        } ).toList();
+        return new ResponseEntity<>( shellMapper.toApiDto( shellService.saveBatch( shells ) ), HttpStatus.OK );
+    }
+
+    @Override
+    public ResponseEntity<ImportResult> postAssetAdministrationShellDescriptorsImport( Resource body ) {
+        // the body is streamed by the GzipRequestBodyConverter instead of buffering the whole file
+        try {
+            return new ResponseEntity<>( shellMapper.toApiDto( shellImportService.importShells( body.getInputStream() ) ), HttpStatus.OK );
+        } catch ( IOException e ) {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     @Override
     public ResponseEntity<SubmodelDescriptor> postSubmodelDescriptorThroughSuperpath( byte[] aasIdentifier, @RequestHeader String externalSubjectId, SubmodelDescriptor submodelDescriptor ) {
         Submodel toBeSaved = submodelMapper.fromApiDto(submodelDescriptor);
@@ -149,16 +192,15 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
     @Override
     public ResponseEntity<Void> putAssetAdministrationShellDescriptorById( byte[] aasIdentifier, AssetAdministrationShellDescriptor assetAdministrationShellDescriptor, @RequestHeader String externalSubjectId ) {
         Shell shell = shellMapper.fromApiDto( assetAdministrationShellDescriptor );
-        Shell shellFromDb = shellService.findShellByExternalIdWithoutFiltering( getDecodedId( aasIdentifier ) );
-        shellService.update( shell.withId( shellFromDb.getId() ).withIdExternal( getDecodedId( aasIdentifier ) ), getDecodedId( aasIdentifier ) );
+        shellService.update( shell.withIdExternal( getDecodedId( aasIdentifier ) ), getDecodedId( aasIdentifier ) );
         return new ResponseEntity<>( HttpStatus.NO_CONTENT );
     }
 
     @Override
     public ResponseEntity<Void> putSubmodelDescriptorByIdThroughSuperpath( byte[] aasIdentifier, byte[] submodelIdentifier, @RequestHeader String externalSubjectId, SubmodelDescriptor submodelDescriptor ) {
-        shellService.deleteSubmodel(getDecodedId( aasIdentifier ),  getDecodedId( submodelIdentifier ),getExternalSubjectIdOrEmpty( externalSubjectId ));
-        submodelDescriptor.setId( getDecodedId( submodelIdentifier ));
-        postSubmodelDescriptorThroughSuperpath(aasIdentifier,externalSubjectId,submodelDescriptor);
+        Submodel toBeUpdated = submodelMapper.fromApiDto( submodelDescriptor );
+        toBeUpdated.setIdExternal( getDecodedId( submodelIdentifier ) );
+        shellService.update( getDecodedId( aasIdentifier ), toBeUpdated );
         return new ResponseEntity<>( HttpStatus.NO_CONTENT );
     }
 
@@ -193,12 +235,22 @@ public class AssetAdministrationShellApiDelegate implements DescriptionApiDelega
         }
 
     @Override
-    public ResponseEntity<List<SpecificAssetId>> postAllAssetLinksById(byte[] aasIdentifier, List<SpecificAssetId> specificAssetId, @RequestHeader String externalSubjectId ) {
-        Set<ShellIdentifier> shellIdentifiers = shellService.save(getDecodedId( aasIdentifier ), shellMapper.fromApiDto(specificAssetId),getExternalSubjectIdOrEmpty( externalSubjectId ));
+    public ResponseEntity<List<SpecificAssetId>> postAllAssetLinksById(byte[] aasIdentifier, List<SpecificAssetId> specificAssetId, String mode, @RequestHeader String externalSubjectId ) {
+        Set<ShellIdentifier> shellIdentifiers = shellService.save(getDecodedId( aasIdentifier ), shellMapper.fromApiDto(specificAssetId), isReplaceMode( mode ), getExternalSubjectIdOrEmpty( externalSubjectId ));
         List<SpecificAssetId> list = shellMapper.toApiDto(shellIdentifiers);
         return new ResponseEntity<>(list, HttpStatus.CREATED);
     }
 
+    private static boolean isReplaceMode( String mode ) {
+        if ( mode == null || "merge".equals( mode ) ) {
+            return false;
+        }
+        if ( "replace".equals( mode ) ) {
+            return true;
+        }
+        throw new IllegalArgumentException( "Invalid mode " + mode + ", allowed values are merge and replace" );
+    }
+
     private String getExternalSubjectIdOrEmpty(String externalSubjectId) {
             return (null ==externalSubjectId) ? "" : externalSubjectId;
         }
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.controller;
+
+import java.io.IOException;
+
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+/**
+ * Reads gzip compressed request bodies, which are declared as binary Resource in the API, as {@link InputStreamResource}. The
+ * default converter buffers the whole body in a byte array before the delegate is called, this one passes the stream of the
+ * request, so large import files are read while they are uploaded. Writing is left to the default converter.
+ */
+public class GzipRequestBodyConverter extends AbstractHttpMessageConverter<Resource> {
+
+   public static final MediaType APPLICATION_GZIP = MediaType.parseMediaType( "application/gzip" );
+
+   public GzipRequestBodyConverter() {
+      super( APPLICATION_GZIP );
+   }
+
+   @Override
+   protected boolean supports( Class<?> clazz ) {
+      return clazz.isAssignableFrom( InputStreamResource.class );
+   }
+
+   @Override
+   public boolean canWrite( Class<?> clazz, MediaType mediaType ) {
+      return false;
+   }
+
+   @Override
+   protected Resource readInternal( Class<? extends Resource> clazz, HttpInputMessage inputMessage ) throws IOException {
+      return new InputStreamResource( inputMessage.getBody() );
+   }
+
+   @Override
+   protected void writeInternal( Resource resource, HttpOutputMessage outputMessage ) {
+      throw new UnsupportedOperationException( "Writing is left to the default converter." );
+   }
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.tractusx.semantics.aas.registry.api.JobsApiDelegate;
+import org.eclipse.tractusx.semantics.aas.registry.model.Job;
+import org.eclipse.tractusx.semantics.registry.mapper.RegistryJobMapper;
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.eclipse.tractusx.semantics.registry.service.RegistryJobService;
+import org.eclipse.tractusx.semantics.registry.service.ShellExportService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class RegistryJobApiDelegate implements JobsApiDelegate {
+
+   private static final MediaType GZIP = MediaType.valueOf( "application/gzip" );
+
+   private final RegistryJobService registryJobService;
+   private final ShellExportService shellExportService;
+   private final RegistryJobMapper registryJobMapper;
+   private final ObjectMapper objectMapper;
+
+   @Override
+   public ResponseEntity<Job> postRegistryJobImport( Resource body, String externalSubjectId ) {
+      // the body is streamed by the GzipRequestBodyConverter and copied to the job directory instead of buffering the whole file
+      return submit( RegistryJob.Type.IMPORT, externalSubjectId, outputStream -> {
+         try ( InputStream inputStream = body.getInputStream() ) {
+            inputStream.transferTo( outputStream );
+         }
+      } );
+   }
+
+   @Override
+   public ResponseEntity<Job> postRegistryJobExport( String externalSubjectId ) {
+      if ( !shellExportService.isAllowedToExport( externalSubjectId ) ) {
+         return ResponseEntity.status( HttpStatus.FORBIDDEN ).build();
+      }
+      return submit( RegistryJob.Type.EXPORT, externalSubjectId, null );
+   }
+
+   @Override
+   public ResponseEntity<Job> postRegistryJobDelete( List<String> aasIdentifiers, String externalSubjectId ) {
+      return submit( RegistryJob.Type.DELETE, externalSubjectId, outputStream -> {
+         GZIPOutputStream gzipOutputStream = new GZIPOutputStream( outputStream );
+         for ( String aasIdentifier : aasIdentifiers ) {
+            gzipOutputStream.write( objectMapper.writeValueAsBytes( aasIdentifier ) );
+            gzipOutputStream.write( '\n' );
+         }
+         gzipOutputStream.finish();
+      } );
+   }
+
+   @Override
+   public ResponseEntity<Job> getRegistryJobById( UUID jobId, String externalSubjectId ) {
+      return new ResponseEntity<>( registryJobMapper.toApiDto( registryJobService.findJob( jobId, getExternalSubjectIdOrEmpty( externalSubjectId ) ) ),
+            HttpStatus.OK );
+   }
+
+   @Override
+   public ResponseEntity<Resource> getRegistryJobResultById( UUID jobId, String externalSubjectId ) {
+      // export jobs can only be submitted by the owning tenant, so other tenants cannot fetch the exported shells
+      RegistryJob job = registryJobService.findJob( jobId, getExternalSubjectIdOrEmpty( externalSubjectId ) );
+      return ResponseEntity.ok()
+            .contentType( GZIP )
+            .header( HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + jobId + ".ndjson.gz\"" )
+            .body( new FileSystemResource( registryJobService.findResultFile( job ) ) );
+   }
+
+   private ResponseEntity<Job> submit( RegistryJob.Type type, String externalSubjectId, RegistryJobService.JobInput input ) {
+      try {
+         return new ResponseEntity<>( registryJobMapper.toApiDto( registryJobService.submit( type, getExternalSubjectIdOrEmpty( externalSubjectId ), input ) ),
+               HttpStatus.ACCEPTED );
+      } catch ( IOException e ) {
+         throw new UncheckedIOException( e );
+      }
+   }
+
+   private static String getExternalSubjectIdOrEmpty( String externalSubjectId ) {
+      return externalSubjectId == null ? "" : externalSubjectId;
+   }
+}
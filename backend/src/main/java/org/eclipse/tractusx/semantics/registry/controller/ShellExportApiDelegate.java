@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.eclipse.tractusx.semantics.aas.registry.api.ExportApiDelegate;
+import org.eclipse.tractusx.semantics.registry.service.ShellExportService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+@Service
+public class ShellExportApiDelegate implements ExportApiDelegate {
+
+   private static final String EXPORT_FILE_NAME = "shell-descriptors.ndjson.gz";
+
+   private final ShellExportService shellExportService;
+
+   public ShellExportApiDelegate( ShellExportService shellExportService ) {
+      this.shellExportService = shellExportService;
+   }
+
+   @Override
+   public ResponseEntity<Resource> getAllAssetAdministrationShellDescriptorsExport( String externalSubjectId ) {
+      if ( !shellExportService.isAllowedToExport( externalSubjectId ) ) {
+         return ResponseEntity.status( HttpStatus.FORBIDDEN ).build();
+      }
+
+      // the export is written directly to the response to stream it instead of buffering the whole file
+      HttpServletResponse response = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getResponse();
+      response.setStatus( HttpStatus.OK.value() );
+      response.setContentType( "application/gzip" );
+      response.setHeader( HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + EXPORT_FILE_NAME + "\"" );
+      try {
+         shellExportService.exportShells( response.getOutputStream() );
+         response.flushBuffer();
+      } catch ( IOException e ) {
+         throw new UncheckedIOException( e );
+      }
+      // the response is already written, returning null tells Spring MVC that the request has been handled
+      return null;
+   }
+}
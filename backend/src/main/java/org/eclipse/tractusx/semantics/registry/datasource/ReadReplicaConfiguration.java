@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Replaces the auto-configured data source by a {@link ReadReplicaRoutingDataSource} if read replicas are enabled. The
+ * primary is configured by spring.datasource as before, the replicas by registry.read-replicas.
+ */
+@Configuration
+@ConditionalOnProperty( name = "registry.read-replicas.enabled", havingValue = "true" )
+public class ReadReplicaConfiguration {
+
+   @Bean
+   @ConfigurationProperties( "spring.datasource.hikari" )
+   public HikariDataSource primaryDataSource( DataSourceProperties dataSourceProperties ) {
+      return dataSourceProperties.initializeDataSourceBuilder().type( HikariDataSource.class ).build();
+   }
+
+   @Bean
+   public ReplicaLagMonitor replicaLagMonitor( HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+         RegistryProperties registryProperties, @Value( "${registry.read-replicas.lag-check-interval:PT1S}" ) Duration lagCheckInterval ) {
+      RegistryProperties.ReadReplicas readReplicas = registryProperties.getReadReplicas();
+      List<RegistryProperties.Replica> nodes = readReplicas.getNodes();
+      Map<String, DataSource> replicas = new LinkedHashMap<>();
+      for ( int i = 0; i < nodes.size(); i++ ) {
+         RegistryProperties.Replica node = nodes.get( i );
+         HikariDataSource replica = new HikariDataSource();
+         replica.setPoolName( "replica-" + (i + 1) );
+         replica.setJdbcUrl( node.getUrl() );
+         replica.setUsername( Optional.ofNullable( node.getUsername() ).orElse( dataSourceProperties.determineUsername() ) );
+         replica.setPassword( Optional.ofNullable( node.getPassword() ).orElse( dataSourceProperties.determinePassword() ) );
+         replica.setMaximumPoolSize( readReplicas.getMaximumPoolSize() );
+         replica.setReadOnly( true );
+         replicas.put( replica.getPoolName(), replica );
+      }
+      return new ReplicaLagMonitor( primaryDataSource, replicas, readReplicas.getMaxLag(), lagCheckInterval, Clock.systemUTC() );
+   }
+
+   @Bean
+   @Primary
+   public DataSource dataSource( HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor, RegistryProperties registryProperties ) {
+      WriteLsnTracker writeLsnTracker = registryProperties.getReadReplicas().isReadYourWrites() ? new WriteLsnTracker( primaryDataSource ) : null;
+      return new LazyConnectionDataSourceProxy( new ReadReplicaRoutingDataSource( primaryDataSource, replicaLagMonitor, writeLsnTracker ) );
+   }
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes the connections of read-only transactions to a read replica selected by the {@link ReplicaLagMonitor}, all other
+ * connections (read-write transactions and reads outside of transactions) go to the primary. If no replica qualifies, the
+ * primary is used as well.<br>
+ * The transaction manager acquires the connection before the transaction is marked read-only, the data source must
+ * therefore be wrapped in a {@link LazyConnectionDataSourceProxy}, which defers the routing to the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+   static final String PRIMARY = "primary";
+
+   private final ReplicaLagMonitor replicaLagMonitor;
+   @Nullable
+   private final WriteLsnTracker writeLsnTracker;
+
+   /**
+    * @param writeLsnTracker tracks the writes for read-your-writes or null if read-your-writes is not used
+    */
+   public ReadReplicaRoutingDataSource( DataSource primary, ReplicaLagMonitor replicaLagMonitor, @Nullable WriteLsnTracker writeLsnTracker ) {
+      this.replicaLagMonitor = replicaLagMonitor;
+      this.writeLsnTracker = writeLsnTracker;
+      Map<Object, Object> targetDataSources = new HashMap<>( replicaLagMonitor.getReplicas() );
+      targetDataSources.put( PRIMARY, primary );
+      setTargetDataSources( targetDataSources );
+      setDefaultTargetDataSource( primary );
+      setLenientFallback( false );
+      afterPropertiesSet();
+   }
+
+   @Override
+   protected Object determineCurrentLookupKey() {
+      if ( !TransactionSynchronizationManager.isActualTransactionActive() ) {
+         return PRIMARY;
+      }
+      if ( !TransactionSynchronizationManager.isCurrentTransactionReadOnly() ) {
+         if ( writeLsnTracker != null ) {
+            writeLsnTracker.trackCurrentTransaction();
+         }
+         return PRIMARY;
+      }
+      long minimumLsn = writeLsnTracker == null ? 0 : writeLsnTracker.minimumLsnOfCurrentRequest();
+      return replicaLagMonitor.selectReplica( minimumLsn ).orElse( PRIMARY );
+   }
+}
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically reads the replay position and the lag of each read replica. A replica is selectable if its last check
+ * succeeded, its lag does not exceed the maximum lag and it has replayed the requested log sequence number (LSN).
+ * The replicas are selected round robin.<br>
+ * The lag is measured against the current position of the primary, which is read before the replicas are checked. A replica
+ * which has replayed this position has no lag, otherwise the lag is the age of its last replayed transaction. A replica
+ * whose WAL receiver is disconnected therefore falls behind as soon as the primary is written to, even though it has
+ * replayed everything it has received.<br>
+ * A state is only trusted for a few check intervals (STALE_CHECK_INTERVALS), a replica whose checks are delayed or hang is
+ * not selected until it has been checked again.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+   private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+   private static final int STALE_CHECK_INTERVALS = 3;
+
+   /**
+    * A server which is not in recovery returns null as replay position. The replay timestamp is null as long as the replica has
+    * not replayed any transaction since its start.
+    */
+   private static final String REPLICA_STATE_QUERY = """
+         SELECT
+            pg_last_wal_replay_lsn()::text,
+            (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+         """;
+
+   private final DataSource primary;
+   private final Map<String, DataSource> replicas;
+   private final List<String> replicaKeys;
+   private final long maxLagMillis;
+   private final Duration maxStateAge;
+   private final Clock clock;
+   private final Map<String, ReplicaState> states = new ConcurrentHashMap<>();
+   private final AtomicInteger nextReplica = new AtomicInteger();
+
+   public ReplicaLagMonitor( DataSource primary, Map<String, DataSource> replicas, Duration maxLag, Duration lagCheckInterval, Clock clock ) {
+      this.primary = primary;
+      this.replicas = replicas;
+      this.replicaKeys = List.copyOf( replicas.keySet() );
+      this.maxLagMillis = maxLag.toMillis();
+      this.maxStateAge = lagCheckInterval.multipliedBy( STALE_CHECK_INTERVALS );
+      this.clock = clock;
+      replicaKeys.forEach( key -> states.put( key, ReplicaState.UNAVAILABLE ) );
+   }
+
+   public Map<String, DataSource> getReplicas() {
+      return replicas;
+   }
+
+   @Scheduled( initialDelay = 0, fixedDelayString = "${registry.read-replicas.lag-check-interval:PT1S}" )
+   public void checkReplicas() {
+      long primaryLsn;
+      try {
+         primaryLsn = readPrimaryLsn();
+      } catch ( SQLException e ) {
+         log.warn( "Failed to read the position of the primary, the read replicas are not used until the next successful check.", e );
+         replicaKeys.forEach( key -> updateState( key, ReplicaState.UNAVAILABLE ) );
+         return;
+      }
+      replicas.forEach( ( key, dataSource ) -> {
+         try ( Connection connection = dataSource.getConnection();
+               Statement statement = connection.createStatement();
+               ResultSet resultSet = statement.executeQuery( REPLICA_STATE_QUERY ) ) {
+            resultSet.next();
+            String replayLsn = resultSet.getString( 1 );
+            long replayAgeMillis = resultSet.getLong( 2 );
+            if ( replayLsn == null ) {
+               log.warn( "Read replica {} is not in recovery, it is not used for read-only transactions.", key );
+               updateState( key, ReplicaState.UNAVAILABLE );
+            } else {
+               long lsn = parseLsn( replayLsn );
+               updateState( key, new ReplicaState( true, lsn, lagMillis( lsn, primaryLsn, resultSet.wasNull() ? null : replayAgeMillis ),
+                     clock.instant() ) );
+            }
+         } catch ( SQLException e ) {
+            log.warn( "Failed to check read replica {}, it is not used until the next successful check.", key, e );
+            updateState( key, ReplicaState.UNAVAILABLE );
+         }
+      } );
+   }
+
+   private long readPrimaryLsn() throws SQLException {
+      try ( Connection connection = primary.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery( PRIMARY_LSN_QUERY ) ) {
+         resultSet.next();
+         return parseLsn( resultSet.getString( 1 ) );
+      }
+   }
+
+   /**
+    * @param replayAgeMillis the age of the last replayed transaction or null if the replica has not replayed a transaction yet
+    * @return 0 if the replica has replayed the position of the primary, otherwise the age of its last replayed transaction
+    */
+   static long lagMillis( long replayLsn, long primaryLsn, Long replayAgeMillis ) {
+      if ( replayLsn >= primaryLsn ) {
+         return 0;
+      }
+      return replayAgeMillis == null ? Long.MAX_VALUE : replayAgeMillis;
+   }
+
+   void updateState( String key, ReplicaState state ) {
+      states.put( key, state );
+   }
+
+   /**
+    * @param minimumLsn the LSN the replica must have replayed, 0 if any replay position is acceptable
+    * @return the key of a selectable replica or empty if no replica qualifies
+    */
+   public Optional<String> selectReplica( long minimumLsn ) {
+      int offset = Math.floorMod( nextReplica.getAndIncrement(), Math.max( replicaKeys.size(), 1 ) );
+      Instant checkedAfter = clock.instant().minus( maxStateAge );
+      for ( int i = 0; i < replicaKeys.size(); i++ ) {
+         String key = replicaKeys.get( (offset + i) % replicaKeys.size() );
+         if ( states.get( key ).isSelectable( maxLagMillis, minimumLsn, checkedAfter ) ) {
+            return Optional.of( key );
+         }
+      }
+      return Optional.empty();
+   }
+
+   /**
+    * Converts the textual representation of a Postgres LSN (two hexadecimal numbers separated by a slash, e.g. 16/B374D848)
+    * to a number, so that positions can be compared.
+    */
+   public static long parseLsn( String lsn ) {
+      int separator = lsn.indexOf( '/' );
+      if ( separator < 0 ) {
+         throw new IllegalArgumentException( "Invalid LSN: " + lsn );
+      }
+      return (Long.parseLong( lsn.substring( 0, separator ), 16 ) << 32) | Long.parseLong( lsn.substring( separator + 1 ), 16 );
+   }
+
+   /**
+    * Converts a position to the textual representation of a Postgres LSN, the inverse of {@link #parseLsn(String)}.
+    */
+   public static String formatLsn( long lsn ) {
+      return String.format( "%X/%X", lsn >>> 32, lsn & 0xFFFFFFFFL );
+   }
+
+   @Override
+   public void close() {
+      replicas.values().stream()
+            .filter( HikariDataSource.class::isInstance )
+            .map( HikariDataSource.class::cast )
+            .forEach( HikariDataSource::close );
+   }
+
+   record ReplicaState( boolean available, long replayLsn, long lagMillis, Instant checkedAt ) {
+      static final ReplicaState UNAVAILABLE = new ReplicaState( false, 0, Long.MAX_VALUE, Instant.MIN );
+
+      boolean isSelectable( long maxLagMillis, long minimumLsn, Instant checkedAfter ) {
+         return available && checkedAt.isAfter( checkedAfter ) && lagMillis <= maxLagMillis && replayLsn >= minimumLsn;
+      }
+   }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Provides read-your-writes based on the log sequence number (LSN) of the primary. After a read-write transaction of a
+ * request has been committed, the current LSN of the primary is returned in the X-Registry-Lsn response header. Requests
+ * which send the header back have their read-only transactions routed to a replica which has replayed this position, or to
+ * the primary if no replica has. The position is carried by the client, so it is independent of the instance handling the
+ * request and of the tenant. Within a request, the reads following a write are routed the same way.
+ */
+@Slf4j
+public class WriteLsnTracker {
+
+   public static final String LSN_HEADER = "X-Registry-Lsn";
+
+   private static final String CURRENT_LSN_QUERY = "SELECT pg_current_wal_lsn()::text";
+   private static final String LSN_ATTRIBUTE = WriteLsnTracker.class.getName() + ".lsn";
+
+   private final DataSource primary;
+
+   public WriteLsnTracker( DataSource primary ) {
+      this.primary = primary;
+   }
+
+   /**
+    * Registers the current read-write transaction, its commit records the LSN of the primary for the current request and
+    * returns it in the response header.
+    */
+   public void trackCurrentTransaction() {
+      ServletRequestAttributes request = currentRequest();
+      if ( request == null || TransactionSynchronizationManager.hasResource( this ) ) {
+         return;
+      }
+      TransactionSynchronizationManager.bindResource( this, request );
+      TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization() {
+         @Override
+         public void afterCommit() {
+            recordWrite( request, currentLsn() );
+         }
+
+         @Override
+         public void afterCompletion( int status ) {
+            TransactionSynchronizationManager.unbindResourceIfPossible( WriteLsnTracker.this );
+         }
+      } );
+   }
+
+   /**
+    * @return the LSN a replica must have replayed to serve the current request, i.e. the position sent by the client or
+    *       written by the request itself, 0 if there is none
+    */
+   public long minimumLsnOfCurrentRequest() {
+      ServletRequestAttributes request = currentRequest();
+      if ( request == null ) {
+         return 0;
+      }
+      long minimumLsn = 0;
+      String lsnHeader = request.getRequest().getHeader( LSN_HEADER );
+      if ( lsnHeader != null ) {
+         try {
+            minimumLsn = ReplicaLagMonitor.parseLsn( lsnHeader );
+         } catch ( IllegalArgumentException e ) {
+            log.debug( "Ignoring the invalid {} header {}.", LSN_HEADER, lsnHeader );
+         }
+      }
+      if ( request.getAttribute( LSN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST ) instanceof Long writtenLsn ) {
+         minimumLsn = Math.max( minimumLsn, writtenLsn );
+      }
+      return minimumLsn;
+   }
+
+   private void recordWrite( ServletRequestAttributes request, long lsn ) {
+      if ( request.getAttribute( LSN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST ) instanceof Long writtenLsn && writtenLsn >= lsn ) {
+         return;
+      }
+      request.setAttribute( LSN_ATTRIBUTE, lsn, RequestAttributes.SCOPE_REQUEST );
+      HttpServletResponse response = request.getResponse();
+      if ( lsn != Long.MAX_VALUE && response != null && !response.isCommitted() ) {
+         response.setHeader( LSN_HEADER, ReplicaLagMonitor.formatLsn( lsn ) );
+      }
+   }
+
+   /**
+    * If the position cannot be read, the following reads of the request are routed to the primary and no position is
+    * returned to the client.
+    */
+   private long currentLsn() {
+      try ( Connection connection = primary.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery( CURRENT_LSN_QUERY ) ) {
+         resultSet.next();
+         return ReplicaLagMonitor.parseLsn( resultSet.getString( 1 ) );
+      } catch ( SQLException e ) {
+         log.warn( "Failed to read the LSN of the primary, the reads of the request are routed to the primary.", e );
+         return Long.MAX_VALUE;
+      }
+   }
+
+   @Nullable
+   private static ServletRequestAttributes currentRequest() {
+      return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servletRequestAttributes ? servletRequestAttributes : null;
+   }
+}
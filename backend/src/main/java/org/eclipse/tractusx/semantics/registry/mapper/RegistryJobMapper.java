@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.mapper;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.eclipse.tractusx.semantics.aas.registry.model.Job;
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+
+@Mapper( componentModel = "spring", injectionStrategy = InjectionStrategy.CONSTRUCTOR )
+public interface RegistryJobMapper {
+
+   Job toApiDto( RegistryJob job );
+
+   default OffsetDateTime toOffsetDateTime( Instant instant ) {
+      return instant == null ? null : instant.atOffset( ZoneOffset.UTC );
+   }
+}
@@ -22,6 +22,9 @@ package org.eclipse.tractusx.semantics.registry.mapper;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.tractusx.semantics.aas.registry.model.*;
+import org.eclipse.tractusx.semantics.registry.dto.BatchResultDto;
+import org.eclipse.tractusx.semantics.registry.dto.ImportErrorDto;
+import org.eclipse.tractusx.semantics.registry.dto.ImportResultDto;
 import org.eclipse.tractusx.semantics.registry.dto.ShellCollectionDto;
 import org.eclipse.tractusx.semantics.registry.model.*;
 import org.mapstruct.AfterMapping;
@@ -95,6 +98,16 @@ public interface ShellMapper {
 
    List<SpecificAssetId> toApiDto(Set<ShellIdentifier> shell);
 
+    @Mapping(source = "idExternal", target = "id")
+    BatchResult toApiDto(BatchResultDto batchResult);
+
+   List<BatchResult> toApiDto(List<BatchResultDto> batchResults);
+
+   ImportResult toApiDto(ImportResultDto importResult);
+
+    @Mapping(source = "idExternal", target = "id")
+    ImportError toApiDto(ImportErrorDto importError);
+
     @AfterMapping
     default Shell convertGlobalAssetIdToShellIdentifier(AssetAdministrationShellDescriptor apiDto, @MappingTarget Shell shell){
         return ShellMapperCustomization.globalAssetIdToShellIdentifier(apiDto, shell);
@@ -88,7 +88,7 @@ public class ShellMapperCustomization {
         if(Strings.isNullOrEmpty(globalAssetId)){
             return Optional.empty();
         }
-        return Optional.of(new ShellIdentifier(null, ShellIdentifier.GLOBAL_ASSET_ID_KEY, globalAssetId, null, null, null, null));
+        return Optional.of(new ShellIdentifier(null, ShellIdentifier.GLOBAL_ASSET_ID_KEY, globalAssetId, null, null, null, null, null, null, null));
     }
 
     public static void removeGlobalAssetIdIdentifier(List<SpecificAssetId> specificAssetIds){
@@ -68,10 +68,9 @@ public interface SubmodelMapper {
 
     @Named("protocolVersionDescriptor")
     default List<String>  protocolVersionDescriptor(String version){
-        List<String> versions= Stream.of(version.split(","))
+        return Optional.ofNullable(version).map(v -> Stream.of(v.split(","))
               .map(String::trim)
-                .collect( Collectors.toList());
-        return versions;
+                .collect( Collectors.toList())).orElse(null);
     }
 
    @Mappings({
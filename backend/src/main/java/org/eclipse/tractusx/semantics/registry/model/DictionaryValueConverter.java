@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import org.eclipse.tractusx.semantics.registry.service.ValueDictionary;
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a value as its id in the {@link ValueDictionary}. The converter is created by Spring while the entity manager factory
+ * is built, so the dictionary is resolved on first use.<br>
+ * Query parameters compared with a converted attribute are added to the dictionary as well, queries with values which may not
+ * be stored yet compare the ids resolved by {@link ValueDictionary#findIdOf(String)} instead.
+ */
+@Converter
+public class DictionaryValueConverter implements AttributeConverter<String, Integer> {
+
+   private final ObjectProvider<ValueDictionary> valueDictionary;
+
+   public DictionaryValueConverter( ObjectProvider<ValueDictionary> valueDictionary ) {
+      this.valueDictionary = valueDictionary;
+   }
+
+   @Override
+   public Integer convertToDatabaseColumn( String value ) {
+      return value == null ? null : valueDictionary.getObject().idOf( value );
+   }
+
+   @Override
+   public String convertToEntityAttribute( Integer id ) {
+      return id == null ? null : valueDictionary.getObject().valueOf( id );
+   }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldNameConstants;
+
+/**
+ * An asynchronous bulk operation. The job row is also the checkpoint of the job: processed, succeeded and failed count the
+ * input elements handled so far, checkpoint holds the type specific position to continue from and resultSize the number of
+ * bytes of the result file which belong to the processed elements.
+ */
+@Entity
+@Getter
+@Setter
+@Table( name = "REGISTRY_JOB" )
+@NoArgsConstructor
+@FieldNameConstants
+public class RegistryJob {
+
+   public enum Type {
+      IMPORT,
+      EXPORT,
+      DELETE
+   }
+
+   public enum Status {
+      QUEUED,
+      RUNNING,
+      COMPLETED,
+      FAILED
+   }
+
+   @Id
+   @TimeOrderedUuid
+   @Column( name = "id" )
+   private UUID id;
+
+   @Enumerated( EnumType.STRING )
+   @Column( name = "type", nullable = false )
+   private Type type;
+
+   @Enumerated( EnumType.STRING )
+   @Column( name = "status", nullable = false )
+   private Status status;
+
+   @Column( name = "created_date", nullable = false )
+   private Instant createdDate;
+
+   @Column( name = "modified_date", nullable = false )
+   private Instant modifiedDate;
+
+   /**
+    * Incremented each time a worker claims the job, a worker only updates the job as long as its attempt is the current one.
+    */
+   @Column( name = "attempt", nullable = false )
+   private int attempt;
+
+   @Column( name = "processed", nullable = false )
+   private long processed;
+
+   @Column( name = "succeeded", nullable = false )
+   private long succeeded;
+
+   @Column( name = "failed", nullable = false )
+   private long failed;
+
+   @Column( name = "checkpoint" )
+   private String checkpoint;
+
+   @Column( name = "result_size", nullable = false )
+   private long resultSize;
+
+   @Column( name = "message" )
+   private String message;
+
+   /**
+    * The tenant which has submitted the job.
+    */
+   @Column( name = "tenant" )
+   private String tenant;
+
+   public RegistryJob( Type type, String tenant ) {
+      Instant now = Instant.now();
+      this.type = type;
+      this.tenant = tenant;
+      this.status = Status.QUEUED;
+      this.createdDate = now;
+      this.modifiedDate = now;
+   }
+
+   public boolean isFinished() {
+      return status == Status.COMPLETED || status == Status.FAILED;
+   }
+}
@@ -21,6 +21,10 @@ package org.eclipse.tractusx.semantics.registry.model;
 
 import java.time.Instant;
 import java.util.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -43,10 +47,12 @@ import lombok.experimental.FieldNameConstants;
       generator = ObjectIdGenerators.PropertyGenerator.class,
       property = "id")
 @FieldNameConstants
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SHELL)
+@NaturalIdCache(region = ShellCacheRegions.SHELL_NATURAL_ID)
 public class Shell {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(name = "id_external", nullable = false)
@@ -56,19 +62,20 @@ public class Shell {
     private String idShort;
 
     @JsonManagedReference
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "shellId")
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "shellId")
     private Set<ShellIdentifier> identifiers = new HashSet<>();
 
     @JsonManagedReference
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "shellId")
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "shellId")
     private Set<ShellDescription> descriptions= new HashSet<>();
 
     @JsonManagedReference
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "shellId")
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "shellId")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SHELL_SUBMODELS)
     private Set<Submodel> submodels = new HashSet<>();
 
     @JsonManagedReference
-    @OneToMany(cascade = CascadeType.ALL, mappedBy = "shellId")
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "shellId")
     Set<ShellDisplayName> displayNames= new HashSet<>();
 
     @Column
@@ -82,6 +89,25 @@ public class Shell {
     private ShellKind shellKind;
     private String shellType;
 
+    /**
+     * The gzip compressed JSON of the complete descriptor, only maintained if the descriptor document is enabled.
+     */
+    @Column(name = "descriptor_document")
+    private byte[] descriptorDocument;
+
+    /**
+     * The hash of idExternal, see {@link ValueHash}. The idExternal is not changed after the shell has been created.
+     * The hash is the natural id, so that natural id lookups probe its index, the idExternal has to be rechecked.
+     */
+    @NaturalId
+    @Column(name = "id_external_hash")
+    private UUID idExternalHash;
+
+    @PrePersist
+    void hashIdExternal() {
+        idExternalHash = ValueHash.of(idExternal);
+    }
+
     public void setDisplayNames(Set<ShellDisplayName> displayNames) {
         if(displayNames==null) {displayNames = new HashSet<>();}
         this.displayNames = displayNames;
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.With;
+
+/**
+ * Entry of the second-level cache invalidation log. Each entry states that the cached state of the shell (and of the
+ * submodel, if set) has been changed by the instance identified by instanceId, the other instances evict it from their
+ * local caches.
+ */
+@Entity
+@Getter
+@Setter
+@Table( name = "SHELL_CACHE_INVALIDATION" )
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+public class ShellCacheInvalidation {
+
+   @Id
+   @TimeOrderedUuid
+   @Column( name = "id" )
+   private UUID id;
+
+   @Column( name = "shell_id", nullable = false )
+   private UUID shellId;
+
+   @Column( name = "submodel_id" )
+   private UUID submodelId;
+
+   @Column( name = "instance_id", nullable = false )
+   private UUID instanceId;
+
+   @Column( name = "created_date", nullable = false )
+   private Instant createdDate;
+
+   /**
+    * Number assigned by the database on insert, the instances read the log in the order of the numbers.
+    */
+   @Column( name = "seq", insertable = false, updatable = false )
+   private Long seq;
+}
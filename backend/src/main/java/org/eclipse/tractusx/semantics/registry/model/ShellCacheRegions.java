@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.util.List;
+
+/**
+ * The second-level cache regions of the shell aggregate. Only the parts of the aggregate which are read on every access and
+ * either changed by the shell and submodel updates or replaced as a whole are cached: the shell with its submodels and their
+ * endpoints. Each entity and collection has its own region, so that a bulk statement only clears the regions it affects.
+ */
+public final class ShellCacheRegions {
+
+   public static final String SHELL = "shell";
+   public static final String SHELL_NATURAL_ID = "shell-natural-id";
+   public static final String SHELL_SUBMODELS = "shell-submodels";
+   public static final String SUBMODEL = "submodel";
+   public static final String SUBMODEL_ENDPOINTS = "submodel-endpoints";
+   public static final String SUBMODEL_ENDPOINT = "submodel-endpoint";
+   public static final String SUBMODEL_ENDPOINT_SECURITY_ATTRIBUTES = "submodel-endpoint-security-attributes";
+   public static final String SUBMODEL_SECURITY_ATTRIBUTE = "submodel-security-attribute";
+
+   public static final List<String> ALL = List.of( SHELL, SHELL_NATURAL_ID, SHELL_SUBMODELS, SUBMODEL, SUBMODEL_ENDPOINTS, SUBMODEL_ENDPOINT,
+         SUBMODEL_ENDPOINT_SECURITY_ATTRIBUTES, SUBMODEL_SECURITY_ATTRIBUTE );
+
+   private ShellCacheRegions() {
+   }
+}
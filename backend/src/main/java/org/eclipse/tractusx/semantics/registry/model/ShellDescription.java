@@ -38,7 +38,7 @@ import lombok.*;
       property = "id")
 public class ShellDescription {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedUuid
     @Column(name="id")
     private UUID id;
 
@@ -39,7 +39,7 @@ import lombok.*;
 public class ShellDisplayName {
 
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    @Column(name="id")
    private UUID id;
 
@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
@@ -42,10 +43,11 @@ public class ShellIdentifier {
     public static final String GLOBAL_ASSET_ID_KEY = "globalAssetId";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedUuid
     @Column(name="id")
     private UUID id;
-    @Column(name = "namespace")
+    @Convert(converter = DictionaryValueConverter.class)
+    @Column(name = "namespace_id")
     private String key;
     @Column(name = "identifier")
     private String value;
@@ -66,4 +68,28 @@ public class ShellIdentifier {
     @JsonManagedReference
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "shellIdentifier")
     Set<ShellIdentifierSupplemSemanticReference> supplementalSemanticIds;
+
+    @JsonIgnore
+    @OneToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE}, mappedBy = "shellIdentifier")
+    private Set<ShellIdentifierTenant> tenants;
+
+    /**
+     * The hash of the key and the value, which is probed by the lookups before the key and the value are rechecked, see {@link ValueHash}.
+     */
+    @Column(name = "key_value_hash")
+    private UUID keyValueHash;
+
+    /**
+     * The dictionary id of the key, for queries comparing the keys with the ids of {@link org.eclipse.tractusx.semantics.registry.service.ValueDictionary#findIdOf(String)}.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @With(AccessLevel.NONE)
+    @Column(name = "namespace_id", insertable = false, updatable = false)
+    private Integer namespaceId;
+
+    @PrePersist
+    void hashKeyValue() {
+        keyValueHash = ValueHash.ofKeyValue(key, value);
+    }
 }
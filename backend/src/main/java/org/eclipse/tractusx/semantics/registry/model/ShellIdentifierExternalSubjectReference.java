@@ -37,7 +37,7 @@ import lombok.experimental.FieldNameConstants;
 @FieldNameConstants
 public class ShellIdentifierExternalSubjectReference {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    UUID id;
    @Column
    ReferenceType type;
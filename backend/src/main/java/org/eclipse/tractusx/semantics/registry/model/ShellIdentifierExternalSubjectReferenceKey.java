@@ -35,10 +35,11 @@ import lombok.experimental.FieldNameConstants;
 @FieldNameConstants
 public class ShellIdentifierExternalSubjectReferenceKey {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    UUID id;
    ReferenceKeyType type;
-   @Column(name="ref_key_value")
+   @Convert(converter = DictionaryValueConverter.class)
+   @Column(name="ref_key_value_id")
    String value;
 
    @JsonBackReference
@@ -35,7 +35,7 @@ import lombok.*;
 @With
 public class ShellIdentifierSemanticReference {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    @Column(name="id")
    UUID id;
    ReferenceType type;
@@ -33,7 +33,7 @@ import lombok.*;
 @With
 public class ShellIdentifierSemanticReferenceKey {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    @Column(name="id")
    UUID id;
    ReferenceKeyType type;
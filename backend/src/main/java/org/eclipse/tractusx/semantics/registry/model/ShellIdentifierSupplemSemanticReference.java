@@ -35,7 +35,7 @@ import lombok.*;
 @With
 public class ShellIdentifierSupplemSemanticReference {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    UUID id;
    ReferenceType type;
    @JsonManagedReference
@@ -33,7 +33,7 @@ import lombok.*;
 @With
 public class ShellIdentifierSupplemSemanticReferenceKey {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    UUID id;
    ReferenceKeyType type;
    @Column(name = "ref_key_value")
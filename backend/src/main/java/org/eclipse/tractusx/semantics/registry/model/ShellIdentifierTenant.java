@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.With;
+import lombok.experimental.FieldNameConstants;
+
+/**
+ * Flattened externalSubjectId of a specificAssetId. Each entry states that the specificAssetId (and therefore its shell)
+ * is visible for the tenant, the tenant may also be the public wildcard. The entries are derived from the
+ * externalSubjectId when the specificAssetId is saved, so that visibility checks do not need to join the reference
+ * and reference key tables.
+ */
+@Entity
+@Getter
+@Setter
+@Table( name = "SHELL_IDENTIFIER_TENANT" )
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+@FieldNameConstants
+public class ShellIdentifierTenant {
+
+   @Id
+   @TimeOrderedUuid
+   @Column( name = "id" )
+   private UUID id;
+
+   @Column( name = "fk_shell_id", nullable = false )
+   private UUID shellId;
+
+   @ManyToOne( fetch = FetchType.LAZY, optional = false )
+   @JoinColumn( name = "fk_shell_identifier_id" )
+   private ShellIdentifier shellIdentifier;
+
+   /**
+    * The name of the specificAssetId, stored as id of the {@link org.eclipse.tractusx.semantics.registry.service.ValueDictionary}.
+    * Like all dictionary values, the id is resolved when the entry is flushed, so a new value is added within the writing
+    * transaction.
+    */
+   @Convert( converter = DictionaryValueConverter.class )
+   @Column( name = "namespace_id", nullable = false )
+   private String namespace;
+
+   /**
+    * The tenant, stored as id of the {@link org.eclipse.tractusx.semantics.registry.service.ValueDictionary}.
+    */
+   @Convert( converter = DictionaryValueConverter.class )
+   @Column( name = "tenant_id", nullable = false )
+   private String tenant;
+
+   /**
+    * The dictionary id of the name, for queries comparing it with the ids of
+    * {@link org.eclipse.tractusx.semantics.registry.service.ValueDictionary#findIdOf(String)}.
+    */
+   @Getter( AccessLevel.NONE )
+   @Setter( AccessLevel.NONE )
+   @With( AccessLevel.NONE )
+   @Column( name = "namespace_id", insertable = false, updatable = false )
+   private Integer namespaceId;
+
+   /**
+    * The dictionary id of the tenant, for queries like {@link #namespaceId}.
+    */
+   @Getter( AccessLevel.NONE )
+   @Setter( AccessLevel.NONE )
+   @With( AccessLevel.NONE )
+   @Column( name = "tenant_id", insertable = false, updatable = false )
+   private Integer tenantId;
+
+   public ShellIdentifierTenant( ShellIdentifier shellIdentifier, String namespace, String tenant ) {
+      this.shellIdentifier = shellIdentifier;
+      this.namespace = namespace;
+      this.tenant = tenant;
+   }
+
+   /**
+    * The shell is only known once the specificAssetId is attached to its persistent shell, which may happen after the
+    * entry has been created (e.g. when an update is merged into the stored shell).
+    */
+   @PrePersist
+   void assignShellId() {
+      shellId = shellIdentifier.getShellId().getId();
+   }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.With;
+import lombok.experimental.FieldNameConstants;
+
+/**
+ * Entry of the materialized granular visibility index. Each entry states that the shell satisfies the mandatory
+ * specificAssetIds of the visibility criteria identified by criteriaId, which makes the shell visible for the tenant.
+ */
+@Entity
+@Getter
+@Setter
+@Table( name = "SHELL_VISIBILITY" )
+@NoArgsConstructor
+@AllArgsConstructor
+@With
+@FieldNameConstants
+public class ShellVisibility {
+
+   @Id
+   @TimeOrderedUuid
+   @Column( name = "id" )
+   private UUID id;
+
+   @Column( name = "fk_shell_id", nullable = false )
+   private UUID shellId;
+
+   @Column( name = "tenant", nullable = false )
+   private String tenant;
+
+   @Column( name = "criteria_id", nullable = false )
+   private UUID criteriaId;
+}
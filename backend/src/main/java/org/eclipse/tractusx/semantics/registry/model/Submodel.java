@@ -23,6 +23,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
@@ -36,13 +38,12 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -61,9 +62,10 @@ import lombok.With;
       generator = ObjectIdGenerators.PropertyGenerator.class,
       property = "id")
 @EntityListeners( AuditingEntityListener.class)
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SUBMODEL )
 public class Submodel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedUuid
     @Column(name="id")
     private UUID id;
 
@@ -85,6 +87,7 @@ public class Submodel {
     @JsonManagedReference
     @JsonIgnore
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval=true,mappedBy = "submodel")
+    @Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SUBMODEL_ENDPOINTS )
     private Set<SubmodelEndpoint> endpoints= new HashSet<>();
 
     @JsonBackReference
@@ -102,6 +105,17 @@ public class Submodel {
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval=true,mappedBy = "submodel")
     Set<SubmodelSupplemSemanticIdReference> submodelSupplemSemanticIds;
 
+    /**
+     * The hash of idExternal, see {@link ValueHash}. The idExternal is not changed after the submodel has been created.
+     */
+    @Column(name = "id_external_hash")
+    private UUID idExternalHash;
+
+    @PrePersist
+    void hashIdExternal() {
+        idExternalHash = ValueHash.of(idExternal);
+    }
+
     public void setDisplayNames(Set<SubmodelDisplayName> displayNames) {
         if(displayNames==null) {displayNames = new HashSet<>();}
         this.displayNames = displayNames;
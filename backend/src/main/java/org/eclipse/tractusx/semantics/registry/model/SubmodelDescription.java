@@ -33,7 +33,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @With
 public class SubmodelDescription {
 
-   @GeneratedValue( strategy = GenerationType.IDENTITY )
+   @TimeOrderedUuid
    @Id
    @Column( name = "id" )
    private UUID id;
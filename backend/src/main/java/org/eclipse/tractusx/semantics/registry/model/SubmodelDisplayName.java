@@ -32,7 +32,7 @@ import lombok.*;
 @AllArgsConstructor
 @With
 public class SubmodelDisplayName {
-   @GeneratedValue( strategy = GenerationType.IDENTITY )
+   @TimeOrderedUuid
    @Id
    @Column( name = "id" )
    UUID id;
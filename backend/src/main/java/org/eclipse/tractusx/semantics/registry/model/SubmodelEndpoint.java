@@ -27,6 +27,8 @@ import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
@@ -35,9 +37,10 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 @NoArgsConstructor
 @AllArgsConstructor
 @With
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SUBMODEL_ENDPOINT )
 public class SubmodelEndpoint {
 
-   @GeneratedValue( strategy = GenerationType.IDENTITY )
+   @TimeOrderedUuid
    @Id
    @Column( name = "id" )
    private UUID id;
@@ -60,10 +63,22 @@ public class SubmodelEndpoint {
    @JsonManagedReference
    @JsonIgnore
    @OneToMany(cascade = CascadeType.ALL, orphanRemoval=true,mappedBy = "submodelEndpoint")
+   @Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SUBMODEL_ENDPOINT_SECURITY_ATTRIBUTES )
    private Set<SubmodelSecurityAttribute> submodelSecurityAttribute=new HashSet<>();
 
    @JsonBackReference
    @ManyToOne( fetch = FetchType.LAZY, optional = false,cascade = {CascadeType.MERGE}  )
    @JoinColumn( name = "fk_submodel_id" )
    private Submodel submodel;
+
+   /**
+    * The hash of endpointAddress, see {@link ValueHash}. Endpoints are matched by value and replaced instead of being updated.
+    */
+   @Column( name = "endpoint_address_hash" )
+   private UUID endpointAddressHash;
+
+   @PrePersist
+   void hashEndpointAddress() {
+      endpointAddressHash = ValueHash.of( endpointAddress );
+   }
 }
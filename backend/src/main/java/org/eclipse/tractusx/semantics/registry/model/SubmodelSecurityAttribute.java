@@ -23,6 +23,8 @@ import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
@@ -31,8 +33,9 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @With
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE, region = ShellCacheRegions.SUBMODEL_SECURITY_ATTRIBUTE )
 public class SubmodelSecurityAttribute {
-   @GeneratedValue( strategy = GenerationType.IDENTITY )
+   @TimeOrderedUuid
    @Id
    @Column( name = "id" )
    UUID id;
@@ -39,7 +39,7 @@ import lombok.*;
 @JsonIdentityInfo( generator = ObjectIdGenerators.PropertyGenerator.class,property = "id")
 public class SubmodelSemanticIdReference {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    @Column(name="id")
    UUID id;
    private ReferenceType type;
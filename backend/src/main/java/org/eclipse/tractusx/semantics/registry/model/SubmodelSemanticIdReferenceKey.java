@@ -37,11 +37,12 @@ import lombok.*;
 @JsonIdentityInfo( generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class SubmodelSemanticIdReferenceKey {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    @Column(name="id")
    UUID id;
    private ReferenceKeyType type;
-   @Column(name = "ref_key_value")
+   @Convert(converter = DictionaryValueConverter.class)
+   @Column(name = "ref_key_value_id")
    private String value;
    @JsonBackReference
    @ManyToOne( fetch = FetchType.LAZY, optional = false,cascade = { CascadeType.MERGE}  )
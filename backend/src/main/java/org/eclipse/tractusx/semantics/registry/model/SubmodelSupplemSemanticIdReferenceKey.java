@@ -36,7 +36,7 @@ import lombok.*;
 @JsonIdentityInfo( generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
 public class SubmodelSupplemSemanticIdReferenceKey {
    @Id
-   @GeneratedValue(strategy = GenerationType.IDENTITY)
+   @TimeOrderedUuid
    @Column(name="id")
    UUID id;
    ReferenceKeyType type;
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Generates UUIDs following the layout of UUID version 7: the first 48 bits contain the unix timestamp in milliseconds,
+ * followed by the version, a 12 bit sequence and 62 random bits. The sequence keeps the generated ids strictly increasing
+ * within this JVM even if several ids are generated in the same millisecond, so that new rows are appended to the end of
+ * the primary key indexes instead of being spread randomly over them.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+   private static final int SEQUENCE_BITS = 12;
+   private static final long SEQUENCE_MASK = ( 1L << SEQUENCE_BITS ) - 1;
+   private static final long VERSION = 0x7000L;
+   private static final long VARIANT = 0x8000000000000000L;
+   private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+   private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+   @Override
+   public Object generate( SharedSessionContractImplementor session, Object object ) {
+      return nextUuid();
+   }
+
+   public static UUID nextUuid() {
+      // if the sequence of a millisecond is exhausted, the ids continue with the next millisecond
+      long timestampAndSequence = LAST_TIMESTAMP_AND_SEQUENCE.updateAndGet(
+            last -> Math.max( last + 1, System.currentTimeMillis() << SEQUENCE_BITS ) );
+      long timestamp = timestampAndSequence >>> SEQUENCE_BITS;
+      long mostSignificantBits = timestamp << 16 | VERSION | ( timestampAndSequence & SEQUENCE_MASK );
+      long leastSignificantBits = ThreadLocalRandom.current().nextLong() & RANDOM_MASK | VARIANT;
+      return new UUID( mostSignificantBits, leastSignificantBits );
+   }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Computes the 128 bit MD5 hash of a value as UUID. The long id_external and identifier columns are indexed by their hash,
+ * lookups probe the hash index and recheck the value itself, so hash collisions only cost an additional row comparison.<br>
+ * The hash equals md5(value)::uuid on Postgres and CAST(HASH('MD5', value) AS UUID) on H2, which are used to compute the
+ * hashes of the existing rows.
+ */
+public final class ValueHash {
+
+   private ValueHash() {
+   }
+
+   public static UUID of( String value ) {
+      if ( value == null ) {
+         return null;
+      }
+      ByteBuffer digest = ByteBuffer.wrap( md5().digest( value.getBytes( StandardCharsets.UTF_8 ) ) );
+      return new UUID( digest.getLong(), digest.getLong() );
+   }
+
+   /**
+    * Hashes a key together with its value. The key is prefixed by its length in characters, so that the boundary between key
+    * and value is unambiguous, e.g. ("ab", "c") and ("a", "bc") have different hashes. Equals
+    * md5(CONCAT(LENGTH(key), ':', key, value))::uuid on Postgres.
+    */
+   public static UUID ofKeyValue( String key, String value ) {
+      if ( key == null || value == null ) {
+         return null;
+      }
+      return of( key.codePointCount( 0, key.length() ) + ":" + key + value );
+   }
+
+   public static List<UUID> ofAll( Collection<String> values ) {
+      return values.stream().map( ValueHash::of ).toList();
+   }
+
+   private static MessageDigest md5() {
+      try {
+         return MessageDigest.getInstance( "MD5" );
+      } catch ( NoSuchAlgorithmException e ) {
+         throw new IllegalStateException( "MD5 is not supported by the JVM.", e );
+      }
+   }
+}
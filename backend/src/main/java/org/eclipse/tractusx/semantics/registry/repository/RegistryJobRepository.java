@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The updates of a running job are conditional on its attempt, so that a worker whose job has been taken over by another
+ * worker (e.g. after its heartbeat went stale) cannot overwrite the progress of the new attempt.
+ */
+@Repository
+public interface RegistryJobRepository extends JpaRepository<RegistryJob, UUID> {
+
+   Optional<RegistryJob> findFirstByStatusOrderByCreatedDate( RegistryJob.Status status );
+
+   List<RegistryJob> findByStatusInAndModifiedDateBefore( Collection<RegistryJob.Status> statuses, Instant modifiedDate );
+
+   /**
+    * @return 1 if the queued job has been claimed, 0 if it has been claimed by another worker
+    */
+   @Transactional
+   @Modifying
+   @Query( """
+         UPDATE RegistryJob j SET j.status = org.eclipse.tractusx.semantics.registry.model.RegistryJob$Status.RUNNING, j.attempt = j.attempt + 1,
+            j.modifiedDate = :modifiedDate
+         WHERE j.id = :id AND j.status = org.eclipse.tractusx.semantics.registry.model.RegistryJob$Status.QUEUED
+         """ )
+   int claim( @Param( "id" ) UUID id, @Param( "modifiedDate" ) Instant modifiedDate );
+
+   /**
+    * Records the progress of a running job, which also serves as heartbeat.
+    *
+    * @return 1 if the checkpoint has been recorded, 0 if the attempt is no longer the current one
+    */
+   @Transactional
+   @Modifying
+   @Query( """
+         UPDATE RegistryJob j SET j.processed = :processed, j.succeeded = :succeeded, j.failed = :failed, j.checkpoint = :checkpoint,
+            j.resultSize = :resultSize, j.modifiedDate = :modifiedDate
+         WHERE j.id = :id AND j.attempt = :attempt AND j.status = org.eclipse.tractusx.semantics.registry.model.RegistryJob$Status.RUNNING
+         """ )
+   int checkpoint( @Param( "id" ) UUID id, @Param( "attempt" ) int attempt, @Param( "processed" ) long processed, @Param( "succeeded" ) long succeeded,
+         @Param( "failed" ) long failed, @Param( "checkpoint" ) String checkpoint, @Param( "resultSize" ) long resultSize,
+         @Param( "modifiedDate" ) Instant modifiedDate );
+
+   @Transactional
+   @Modifying
+   @Query( """
+         UPDATE RegistryJob j SET j.status = :status, j.message = :message, j.modifiedDate = :modifiedDate
+         WHERE j.id = :id AND j.attempt = :attempt AND j.status = org.eclipse.tractusx.semantics.registry.model.RegistryJob$Status.RUNNING
+         """ )
+   int finish( @Param( "id" ) UUID id, @Param( "attempt" ) int attempt, @Param( "status" ) RegistryJob.Status status,
+         @Param( "message" ) String message, @Param( "modifiedDate" ) Instant modifiedDate );
+
+   /**
+    * Queues the running jobs whose last heartbeat is older than staleBefore again, e.g. because the instance running them
+    * has been stopped.
+    *
+    * @return the number of queued jobs
+    */
+   @Transactional
+   @Modifying
+   @Query( """
+         UPDATE RegistryJob j SET j.status = org.eclipse.tractusx.semantics.registry.model.RegistryJob$Status.QUEUED, j.modifiedDate = :modifiedDate
+         WHERE j.status = org.eclipse.tractusx.semantics.registry.model.RegistryJob$Status.RUNNING AND j.modifiedDate < :staleBefore
+         """ )
+   int requeueStale( @Param( "staleBefore" ) Instant staleBefore, @Param( "modifiedDate" ) Instant modifiedDate );
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.registry.model.ShellCacheInvalidation;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ShellCacheInvalidationRepository extends JpaRepository<ShellCacheInvalidation, UUID> {
+
+   /**
+    * Adds an entry for each of the given shells, intended to be called before the shells are deleted set-wise.
+    */
+   default int insertForShellsByIdExternal( Collection<String> idExternals, UUID instanceId, Instant createdDate ) {
+      return insertForShellsByIdExternal( SqlArrays.hashesOf( idExternals ), SqlArrays.of( idExternals ), instanceId, createdDate );
+   }
+
+   /**
+    * The table is declared as the only query space, otherwise Hibernate would evict all cached entities after the native
+    * statement.
+    */
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_CACHE_INVALIDATION" ) )
+   @Query( value = """
+         INSERT INTO SHELL_CACHE_INVALIDATION (shell_id, instance_id, created_date)
+         SELECT s.id, :instanceId, :createdDate
+         FROM SHELL s
+         WHERE s.id_external_hash = ANY(:idExternalHashes) AND s.id_external = ANY(:idExternals)
+         """, nativeQuery = true )
+   int insertForShellsByIdExternal( @Param( "idExternalHashes" ) UUID[] idExternalHashes,
+         @Param( "idExternals" ) String[] idExternals,
+         @Param( "instanceId" ) UUID instanceId,
+         @Param( "createdDate" ) Instant createdDate );
+
+   @Query( "SELECT i FROM ShellCacheInvalidation i WHERE i.seq > :seq ORDER BY i.seq" )
+   List<ShellCacheInvalidation> findBySeqGreaterThan( @Param( "seq" ) long seq );
+
+   @Query( "SELECT COALESCE(MAX(i.seq), 0) FROM ShellCacheInvalidation i" )
+   long findMaxSeq();
+
+   @Modifying
+   @Query( "DELETE FROM ShellCacheInvalidation i WHERE i.createdDate < :createdBefore" )
+   int deleteCreatedBefore( @Param( "createdBefore" ) Instant createdBefore );
+}
@@ -19,23 +19,41 @@
  ******************************************************************************/
 package org.eclipse.tractusx.semantics.registry.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
 import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
 import org.eclipse.tractusx.semantics.registry.model.projection.ShellIdentifierMinimal;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import jakarta.persistence.QueryHint;
+
 public interface ShellIdentifierRepository extends JpaRepository<ShellIdentifier, UUID> {
 
+   // the modifying native statements declare their table as query space, otherwise Hibernate would evict all cached entities
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_IDENTIFIER" ) )
+   @Query( value = "DELETE FROM SHELL_IDENTIFIER WHERE fk_shell_id = :shellId AND namespace_id != :namespaceIdToIgnore", nativeQuery = true )
+   void deleteShellIdentifiersByShellId( UUID shellId, int namespaceIdToIgnore );
+
+   /**
+    * Deletes the given identifiers of the shell. The shell id restricts the statement to one partition if SHELL_IDENTIFIER is
+    * partitioned (db/operations/shell-identifier-partitioning.yaml).
+    */
    @Modifying
-   @Query( value = "DELETE FROM SHELL_IDENTIFIER WHERE fk_shell_id = :shellId AND namespace != :keyToIgnore", nativeQuery = true )
-   void deleteShellIdentifiersByShellId( UUID shellId, String keyToIgnore );
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_IDENTIFIER" ) )
+   @Query( value = "DELETE FROM SHELL_IDENTIFIER WHERE fk_shell_id = :shellId AND id IN (:ids)", nativeQuery = true )
+   void deleteByShellIdAndIdIn( @Param( "shellId" ) UUID shellId, @Param( "ids" ) Collection<UUID> ids );
 
    Set<ShellIdentifier> findByShellId( Shell shellId );
 
@@ -47,56 +65,141 @@ public interface ShellIdentifierRepository extends JpaRepository<ShellIdentifier
                     SELECT filtersid.shellId.id
                     FROM ShellIdentifier filtersid
                     WHERE
-                        CONCAT(filtersid.key, filtersid.value) IN (:keyValueCombinations)
+                        filtersid.keyValueHash IN (:keyValueHashes)
+                        AND filtersid.namespaceId IN (:namespaceIds)
+                        AND filtersid.value IN (:identifiers)
+                    GROUP BY filtersid.shellId.id
+                    HAVING COUNT(*) = :specificAssetIdsSize
+                )
+         """ )
+   List<ShellIdentifierMinimal> findMinimalShellIdsBySpecificAssetIds( List<UUID> keyValueHashes, List<Integer> namespaceIds, List<String> identifiers,
+         int specificAssetIdsSize );
+
+   /**
+    * The specificAssetIds are probed by their hashes and rechecked, see {@link SpecificAssetIdValues}.
+    */
+   default List<ShellIdentifierMinimal> findMinimalShellIdsBySpecificAssetIds( SpecificAssetIdValues specificAssetIds ) {
+      return findMinimalShellIdsBySpecificAssetIds( specificAssetIds.keyValueHashes(), specificAssetIds.namespaceIds(), specificAssetIds.identifiers(),
+            specificAssetIds.size() );
+   }
+
+   /**
+    * Same as {@link #findMinimalShellIdsBySpecificAssetIds(SpecificAssetIdValues)} but only for shells which are visible for one of the
+    * given tenants according to the granular visibility index.
+    */
+   @Query( value = """
+            SELECT NEW org.eclipse.tractusx.semantics.registry.model.projection.ShellIdentifierMinimal(sid.shellId.idExternal, sid.key, sid.value)
+            FROM ShellIdentifier sid
+            WHERE
+                 sid.shellId.id IN (
+                    SELECT filtersid.shellId.id
+                    FROM ShellIdentifier filtersid
+                    WHERE
+                        filtersid.keyValueHash IN (:keyValueHashes)
+                        AND filtersid.namespaceId IN (:namespaceIds)
+                        AND filtersid.value IN (:identifiers)
                     GROUP BY filtersid.shellId.id
-                    HAVING COUNT(*) = :keyValueCombinationsSize
+                    HAVING COUNT(*) = :specificAssetIdsSize
+                )
+                AND EXISTS (
+                    SELECT 1
+                    FROM ShellVisibility sv
+                    WHERE sv.shellId = sid.shellId.id AND sv.tenant IN (:tenants)
                 )
          """ )
-   List<ShellIdentifierMinimal> findMinimalShellIdsBySpecificAssetIds( List<String> keyValueCombinations, int keyValueCombinationsSize );
+   List<ShellIdentifierMinimal> findMinimalShellIdsBySpecificAssetIdsVisibleForTenants( List<UUID> keyValueHashes, List<Integer> namespaceIds,
+         List<String> identifiers, int specificAssetIdsSize, List<String> tenants );
+
+   default List<ShellIdentifierMinimal> findMinimalShellIdsBySpecificAssetIdsVisibleForTenants( SpecificAssetIdValues specificAssetIds,
+         List<String> tenants ) {
+      return findMinimalShellIdsBySpecificAssetIdsVisibleForTenants( specificAssetIds.keyValueHashes(), specificAssetIds.namespaceIds(),
+            specificAssetIds.identifiers(), specificAssetIds.size(), tenants );
+   }
+
+   @Query( value = """
+            SELECT NEW org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId(sid.key, sid.value)
+            FROM ShellIdentifier sid
+            WHERE sid.shellId.id = :shellId
+         """ )
+   Set<SpecificAssetId> findSpecificAssetIdsByShellId( UUID shellId );
 
    /**
-    * Returns external shell ids for the given keyValueCombinations.
+    * Returns external shell ids for the given specificAssetIds.
     * External shell ids matching the conditions below are returned:
-    *   - specificAssetIds match exactly the keyValueCombinations
+    *   - specificAssetIds match exactly the given specificAssetIds
     *   - if externalSubjectId (tenantId) is not null it must match the tenantId
     *
     *
     * To be able to properly index the key and value conditions, the query does not use any functions.
-    * Computed indexes cannot be created for mutable functions like CONCAT in Postgres.
+    * Computed indexes cannot be created for mutable functions like CONCAT in Postgres, therefore the specificAssetIds
+    * are probed by their hashes and rechecked. The names and the tenants are compared by their dictionary ids.
     *
-    * @param keyValueCombinations the keys values to search for as tuples
-    * @param keyValueCombinationsSize the size of the key value combinations
-    * @return external shell ids for the given key value combinations
+    * @param specificAssetIds the specificAssetIds to search for
+    * @param tenantVisibility the visibility of the specificAssetIds for the tenant
+    * @param globalAssetIdNamespaceId the dictionary id of the globalAssetId name, the globalAssetId is visible for all tenants
+    * @return external shell ids for the given specificAssetIds
     */
    @Query( value = """
          SELECT s.id_external
          FROM shell s
             JOIN shell_identifier si ON s.id = si.fk_shell_id
          WHERE
-            CONCAT(si.namespace, si.identifier) IN (:keyValueCombinations)
+            si.key_value_hash = ANY(:keyValueHashes)
+            AND si.namespace_id = ANY(:namespaceIds)
+            AND si.identifier = ANY(:identifiers)
             AND (
-               :tenantId = :owningTenantId
-               OR si.namespace = :globalAssetId
+               :owner
+               OR si.namespace_id = :globalAssetIdNamespaceId
                OR EXISTS (
                   SELECT 1
-                  FROM SHELL_IDENTIFIER_EXTERNAL_SUBJECT_REFERENCE_KEY sider
-                     JOIN SHELL_IDENTIFIER_EXTERNAL_SUBJECT_REFERENCE sies ON sider.FK_SI_EXTERNAL_SUBJECT_REFERENCE_ID = sies.id
+                  FROM SHELL_IDENTIFIER_TENANT sit
                   WHERE
-                     (
-                        sider.ref_key_value = :tenantId
-                        OR ( sider.ref_key_value = :publicWildcardPrefix AND si.namespace IN (:publicWildcardAllowedTypes) )
+                     sit.fk_shell_identifier_id = si.id
+                     AND (
+                        sit.tenant_id = :tenantId
+                        OR ( sit.tenant_id = :publicWildcardPrefixId AND sit.namespace_id = ANY(:publicWildcardAllowedTypeIds) )
                      )
-                     AND sies.FK_SHELL_IDENTIFIER_EXTERNAL_SUBJECT_ID = si.id
                )
             )
          GROUP BY s.id_external
-         HAVING COUNT(*) = :keyValueCombinationsSize
+         HAVING COUNT(*) = :specificAssetIdsSize
          """, nativeQuery = true )
-   List<String> findExternalShellIdsByIdentifiersByExactMatch( @Param( "keyValueCombinations" ) List<String> keyValueCombinations,
-         @Param( "keyValueCombinationsSize" ) int keyValueCombinationsSize,
-         @Param( "tenantId" ) String tenantId,
-         @Param( "publicWildcardPrefix" ) String publicWildcardPrefix,
-         @Param( "publicWildcardAllowedTypes" ) List<String> publicWildcardAllowedTypes,
-         @Param( "owningTenantId" ) String owningTenantId,
-         @Param( "globalAssetId" ) String globalAssetId );
+   List<String> findExternalShellIdsByIdentifiersByExactMatch( @Param( "keyValueHashes" ) UUID[] keyValueHashes,
+         @Param( "namespaceIds" ) Integer[] namespaceIds,
+         @Param( "identifiers" ) String[] identifiers,
+         @Param( "specificAssetIdsSize" ) int specificAssetIdsSize,
+         @Param( "owner" ) boolean owner,
+         @Param( "tenantId" ) int tenantId,
+         @Param( "publicWildcardPrefixId" ) int publicWildcardPrefixId,
+         @Param( "publicWildcardAllowedTypeIds" ) Integer[] publicWildcardAllowedTypeIds,
+         @Param( "globalAssetIdNamespaceId" ) int globalAssetIdNamespaceId );
+
+   default List<String> findExternalShellIdsByIdentifiersByExactMatch( SpecificAssetIdValues specificAssetIds, TenantVisibility tenantVisibility,
+         int globalAssetIdNamespaceId ) {
+      return findExternalShellIdsByIdentifiersByExactMatch( specificAssetIds.keyValueHashArray(), specificAssetIds.namespaceIdArray(),
+            specificAssetIds.identifierArray(), specificAssetIds.size(), tenantVisibility.owner(), tenantVisibility.tenantId(),
+            tenantVisibility.publicWildcardPrefixId(), tenantVisibility.publicWildcardAllowedTypeIds(), globalAssetIdNamespaceId );
+   }
+
+   /**
+    * Returns the specificAssetIds of the shells having a submodel endpoint with the given address.
+    */
+   default List<ShellIdentifierMinimal> findMinimalShellIdsBySubmodelEndpointAddress( String endpointAddress ) {
+      return findMinimalShellIdsBySubmodelEndpointAddress( ValueHash.of( endpointAddress ), endpointAddress );
+   }
+
+   @Query( """
+         SELECT NEW org.eclipse.tractusx.semantics.registry.model.projection.ShellIdentifierMinimal(sid.shellId.idExternal, sid.key, sid.value)
+         FROM ShellIdentifier sid
+         WHERE
+            sid.shellId.id IN (
+               SELECT endpoint.submodel.shellId.id
+               FROM SubmodelEndpoint endpoint
+               WHERE
+                  endpoint.endpointAddressHash = :endpointAddressHash
+                  AND endpoint.endpointAddress = :endpointAddress
+            )
+         """ )
+   List<ShellIdentifierMinimal> findMinimalShellIdsBySubmodelEndpointAddress( @Param( "endpointAddressHash" ) UUID endpointAddressHash,
+         @Param( "endpointAddress" ) String endpointAddress );
 }
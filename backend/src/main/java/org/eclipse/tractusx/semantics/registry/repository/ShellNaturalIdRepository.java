@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.util.Optional;
+
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+
+/**
+ * Repository fragment for the lookup of a shell by its idExternal, which is served by the natural id cache if the
+ * second-level cache is enabled.
+ */
+public interface ShellNaturalIdRepository {
+
+   /**
+    * Probes the index of the idExternal hash and rechecks the idExternal, see {@link org.eclipse.tractusx.semantics.registry.model.ValueHash}.
+    * All lookups by idExternal follow this approach.
+    */
+   Optional<Shell> findByIdExternal( String idExternal );
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ShellNaturalIdRepositoryImpl implements ShellNaturalIdRepository {
+
+   private final EntityManager entityManager;
+   private final boolean secondLevelCacheEnabled;
+
+   public ShellNaturalIdRepositoryImpl( EntityManager entityManager, RegistryProperties registryProperties ) {
+      this.entityManager = entityManager;
+      this.secondLevelCacheEnabled = registryProperties.getSecondLevelCache().isEnabled();
+   }
+
+   /**
+    * With the second-level cache, the hash is resolved to the shell id by the natural id cache and the shell is read from the
+    * entity cache. The query is the fallback if the natural id lookup finds no shell, because the cached resolution of another
+    * instance may refer to a shell which has been deleted and registered again with a new id meanwhile. The natural id is
+    * not unique in the database, if the hash of another idExternal collides, the resolution fails and the query is used as
+    * well. Like the methods of the repository, the lookup is read-only unless it joins a transaction.
+    */
+   @Override
+   @Transactional( readOnly = true )
+   public Optional<Shell> findByIdExternal( String idExternal ) {
+      UUID idExternalHash = ValueHash.of( idExternal );
+      if ( secondLevelCacheEnabled ) {
+         Optional<Shell> cached = findByNaturalId( idExternalHash ).filter( shell -> shell.getIdExternal().equals( idExternal ) );
+         if ( cached.isPresent() ) {
+            return cached;
+         }
+      }
+      return entityManager.createQuery( "SELECT s FROM Shell s WHERE s.idExternalHash = :idExternalHash AND s.idExternal = :idExternal", Shell.class )
+            .setParameter( "idExternalHash", idExternalHash )
+            .setParameter( "idExternal", idExternal )
+            .getResultList()
+            .stream()
+            .findFirst();
+   }
+
+   private Optional<Shell> findByNaturalId( UUID idExternalHash ) {
+      try {
+         return entityManager.unwrap( Session.class ).bySimpleNaturalId( Shell.class ).loadOptional( idExternalHash );
+      } catch ( HibernateException e ) {
+         log.debug( "The natural id {} cannot be resolved to a single shell.", idExternalHash, e );
+         return Optional.empty();
+      }
+   }
+}
@@ -19,76 +19,151 @@
  ******************************************************************************/
 package org.eclipse.tractusx.semantics.registry.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
 import org.eclipse.tractusx.semantics.registry.model.projection.ShellMinimal;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ShellRepository extends JpaRepository<Shell, UUID>, JpaSpecificationExecutor<Shell> {
-   Optional<Shell> findByIdExternal( @Param( "idExternal" ) String idExternal );
+public interface ShellRepository extends JpaRepository<Shell, UUID>, JpaSpecificationExecutor<Shell>, ShellNaturalIdRepository {
+
+   default boolean existsByIdExternal( String idExternal ) {
+      return existsByIdExternalHashAndIdExternal( ValueHash.of( idExternal ), idExternal );
+   }
+
+   boolean existsByIdExternalHashAndIdExternal( @Param( "idExternalHash" ) UUID idExternalHash, @Param( "idExternal" ) String idExternal );
 
    boolean existsByIdShort( @Param( "idShort" ) String idShort );
 
+   boolean existsByIdShortAndIdNot( @Param( "idShort" ) String idShort, @Param( "id" ) UUID id );
+
+   default Set<String> findExistingIdExternals( Collection<String> idExternals ) {
+      return findExistingIdExternals( ValueHash.ofAll( idExternals ), idExternals );
+   }
+
+   @Query( "SELECT s.idExternal FROM Shell s WHERE s.idExternalHash IN (:idExternalHashes) AND s.idExternal IN (:idExternals)" )
+   Set<String> findExistingIdExternals( @Param( "idExternalHashes" ) Collection<UUID> idExternalHashes,
+         @Param( "idExternals" ) Collection<String> idExternals );
+
+   @Query( "SELECT s.idShort FROM Shell s WHERE s.idShort IN (:idShorts)" )
+   Set<String> findExistingIdShorts( @Param( "idShorts" ) Collection<String> idShorts );
+
+   default Optional<Shell> findByIdExternalAndExternalSubjectId( String idExternal, TenantVisibility tenantVisibility ) {
+      return findByIdExternalAndExternalSubjectId( ValueHash.of( idExternal ), idExternal, tenantVisibility.owner(), tenantVisibility.tenantId(),
+            tenantVisibility.publicWildcardPrefixId(), tenantVisibility.publicWildcardAllowedTypeIds() );
+   }
+
    @Query( value = """
          SELECT *
          FROM SHELL s
          WHERE
-            s.id_external = :idExternal
+            s.id_external_hash = :idExternalHash
+            AND s.id_external = :idExternal
             AND (
-               :tenantId = :owningTenantId
+               :owner
                OR EXISTS (
-                  SELECT si.fk_shell_id
-                  FROM SHELL_IDENTIFIER si
+                  SELECT 1
+                  FROM SHELL_IDENTIFIER_TENANT sit
                   WHERE
-                     si.fk_shell_id = s.id
-                     AND EXISTS (
-                        SELECT sider.ref_key_value
-                        FROM SHELL_IDENTIFIER_EXTERNAL_SUBJECT_REFERENCE_KEY sider
-                        WHERE
-                           (
-                              sider.ref_key_value = :tenantId
-                              OR ( sider.ref_key_value = :publicWildcardPrefix AND si.namespace IN (:publicWildcardAllowedTypes) )
-                           )
-                           AND sider.FK_SI_EXTERNAL_SUBJECT_REFERENCE_ID=(
-                              SELECT sies.id
-                              FROM SHELL_IDENTIFIER_EXTERNAL_SUBJECT_REFERENCE sies
-                              WHERE
-                                 sies.FK_SHELL_IDENTIFIER_EXTERNAL_SUBJECT_ID=si.id
-                           )
+                     sit.fk_shell_id = s.id
+                     AND (
+                        sit.tenant_id = :tenantId
+                        OR ( sit.tenant_id = :publicWildcardPrefixId AND sit.namespace_id = ANY(:publicWildcardAllowedTypeIds) )
                      )
                )
             )
          """, nativeQuery = true )
-   Optional<Shell> findByIdExternalAndExternalSubjectId( @Param( "idExternal" ) String idExternal,
-         @Param( "tenantId" ) String tenantId,
-         @Param( "owningTenantId" ) String owningTenantId,
-         @Param( "publicWildcardPrefix" ) String publicWildcardPrefix,
-         @Param( "publicWildcardAllowedTypes" ) List<String> publicWildcardAllowedTypes );
+   Optional<Shell> findByIdExternalAndExternalSubjectId( @Param( "idExternalHash" ) UUID idExternalHash,
+         @Param( "idExternal" ) String idExternal,
+         @Param( "owner" ) boolean owner,
+         @Param( "tenantId" ) int tenantId,
+         @Param( "publicWildcardPrefixId" ) int publicWildcardPrefixId,
+         @Param( "publicWildcardAllowedTypeIds" ) Integer[] publicWildcardAllowedTypeIds );
+
+   /**
+    * Deletes the shells with a single statement, the nested elements are deleted by the ON DELETE CASCADE of the foreign keys.
+    * In contrast to deleteById, the shells are not loaded. The statement does not clear the second-level cache, the caller
+    * evicts the deleted shells (see ShellCacheInvalidationService#invalidateShellsByIdExternal).
+    *
+    * @return the number of deleted shells
+    */
+   default int deleteByIdExternalIn( Collection<String> idExternals ) {
+      return deleteByIdExternalIn( ValueHash.ofAll( idExternals ), idExternals );
+   }
+
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL" ) )
+   @Query( value = "DELETE FROM SHELL WHERE id_external_hash IN (:idExternalHashes) AND id_external IN (:idExternals)", nativeQuery = true )
+   int deleteByIdExternalIn( @Param( "idExternalHashes" ) Collection<UUID> idExternalHashes, @Param( "idExternals" ) Collection<String> idExternals );
+
+   default List<UUID> findIdsByIdExternalIn( Collection<String> idExternals ) {
+      return findIdsByIdExternalIn( ValueHash.ofAll( idExternals ), idExternals );
+   }
+
+   @Query( "SELECT s.id FROM Shell s WHERE s.idExternalHash IN (:idExternalHashes) AND s.idExternal IN (:idExternals)" )
+   List<UUID> findIdsByIdExternalIn( @Param( "idExternalHashes" ) Collection<UUID> idExternalHashes, @Param( "idExternals" ) Collection<String> idExternals );
 
-   @Query( "SELECT new org.eclipse.tractusx.semantics.registry.model.projection.ShellMinimal(s.id,s.createdDate) FROM Shell s WHERE s.idExternal = :idExternal" )
-   Optional<ShellMinimal> findMinimalRepresentationByIdExternal( @Param( "idExternal" ) String idExternal );
+   default Optional<ShellMinimal> findMinimalRepresentationByIdExternal( String idExternal ) {
+      return findMinimalRepresentationByIdExternal( ValueHash.of( idExternal ), idExternal );
+   }
 
-   List<Shell> findShellsByIdExternalIsIn( Set<String> idExternals );
+   @Query( "SELECT new org.eclipse.tractusx.semantics.registry.model.projection.ShellMinimal(s.id,s.createdDate) FROM Shell s WHERE s.idExternalHash = :idExternalHash AND s.idExternal = :idExternal" )
+   Optional<ShellMinimal> findMinimalRepresentationByIdExternal( @Param( "idExternalHash" ) UUID idExternalHash, @Param( "idExternal" ) String idExternal );
+
+   default List<Shell> findShellsByIdExternalIsIn( Set<String> idExternals ) {
+      return findShellsByIdExternalHashIsInAndIdExternalIsIn( ValueHash.ofAll( idExternals ), idExternals );
+   }
+
+   List<Shell> findShellsByIdExternalHashIsInAndIdExternalIsIn( Collection<UUID> idExternalHashes, Collection<String> idExternals );
+
+   @Query( "SELECT s.id FROM Shell s ORDER BY s.id" )
+   List<UUID> findIdsOrderById( Pageable pageable );
+
+   @Query( "SELECT s.id FROM Shell s WHERE s.id > :afterId ORDER BY s.id" )
+   List<UUID> findIdsAfterOrderById( @Param( "afterId" ) UUID afterId, Pageable pageable );
+
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_READ_ONLY, value = "true" ) )
+   @Query( "SELECT s FROM Shell s WHERE s.id IN (:ids) ORDER BY s.id" )
+   List<Shell> findAllByIdOrderById( @Param( "ids" ) Collection<UUID> ids );
 
    /**
-    * Returns external shell ids for the given keyValueCombinations.
-    * External shell ids that match any keyValueCombinations are returned.
+    * Returns external shell ids for the given specificAssetIds.
+    * External shell ids that match any of the specificAssetIds are returned.
     *
     * To be able to properly index the key and value conditions, the query does not use any functions.
     * Computed indexes cannot be created for mutable functions like CONCAT in Postgres.
     *
-    * @param keyValueCombinations the keys values to search for as tuples
-    * @return external shell ids for the given key value combinations
+    * The specificAssetIds are probed by their hashes and rechecked, the names and the tenants are compared by their
+    * dictionary ids.
+    *
+    * @param specificAssetIds the specificAssetIds to search for
+    * @param tenantVisibility the visibility of the specificAssetIds for the tenant
+    * @param globalAssetIdNamespaceId the dictionary id of the globalAssetId name, the globalAssetId is visible for all tenants
+    * @return external shell ids for the given specificAssetIds
     */
+   default List<String> findExternalShellIdsByIdentifiersByAnyMatch( SpecificAssetIdValues specificAssetIds, TenantVisibility tenantVisibility,
+         int globalAssetIdNamespaceId ) {
+      return findExternalShellIdsByIdentifiersByAnyMatch( specificAssetIds.keyValueHashArray(), specificAssetIds.namespaceIdArray(),
+            specificAssetIds.identifierArray(), tenantVisibility.owner(), tenantVisibility.tenantId(), tenantVisibility.publicWildcardPrefixId(),
+            tenantVisibility.publicWildcardAllowedTypeIds(), globalAssetIdNamespaceId );
+   }
+
    @Query( value = """
          SELECT s.id_external
          FROM SHELL s
@@ -97,48 +172,124 @@ public interface ShellRepository extends JpaRepository<Shell, UUID>, JpaSpecific
                SELECT si.fk_shell_id
                FROM SHELL_IDENTIFIER si
                WHERE
-                  CONCAT(si.namespace,si.identifier) IN (:keyValueCombinations)
+                  si.key_value_hash = ANY(:keyValueHashes)
+                  AND si.namespace_id = ANY(:namespaceIds)
+                  AND si.identifier = ANY(:identifiers)
                   AND (
-                     :tenantId = :owningTenantId
-                     OR si.namespace= :globalAssetId
+                     :owner
+                     OR si.namespace_id = :globalAssetIdNamespaceId
                      OR EXISTS (
-                        SELECT sider.ref_key_value
-                        FROM SHELL_IDENTIFIER_EXTERNAL_SUBJECT_REFERENCE_KEY sider
+                        SELECT 1
+                        FROM SHELL_IDENTIFIER_TENANT sit
                         WHERE
-                           (
-                              sider.ref_key_value = :tenantId
-                              OR (
-                                 sider.ref_key_value = :publicWildcardPrefix
-                                 AND si.namespace IN (:publicWildcardAllowedTypes)
-                              )
-                           )
-                           AND sider.FK_SI_EXTERNAL_SUBJECT_REFERENCE_ID=(
-                              SELECT sies.id
-                              FROM SHELL_IDENTIFIER_EXTERNAL_SUBJECT_REFERENCE sies
-                              WHERE
-                                 sies.FK_SHELL_IDENTIFIER_EXTERNAL_SUBJECT_ID=si.id
+                           sit.fk_shell_identifier_id = si.id
+                           AND (
+                              sit.tenant_id = :tenantId
+                              OR ( sit.tenant_id = :publicWildcardPrefixId AND sit.namespace_id = ANY(:publicWildcardAllowedTypeIds) )
                            )
                      )
                   )
                GROUP BY si.fk_shell_id
             )
          """, nativeQuery = true )
-   List<String> findExternalShellIdsByIdentifiersByAnyMatch( @Param( "keyValueCombinations" ) List<String> keyValueCombinations,
-         @Param( "tenantId" ) String tenantId,
-         @Param( "publicWildcardPrefix" ) String publicWildcardPrefix,
-         @Param( "publicWildcardAllowedTypes" ) List<String> publicWildcardAllowedTypes,
-         @Param( "owningTenantId" ) String owningTenantId,
-         @Param( "globalAssetId" ) String globalAssetId );
-
-   @Query( """
-         SELECT s
-         FROM Shell s
+   List<String> findExternalShellIdsByIdentifiersByAnyMatch( @Param( "keyValueHashes" ) UUID[] keyValueHashes,
+         @Param( "namespaceIds" ) Integer[] namespaceIds,
+         @Param( "identifiers" ) String[] identifiers,
+         @Param( "owner" ) boolean owner,
+         @Param( "tenantId" ) int tenantId,
+         @Param( "publicWildcardPrefixId" ) int publicWildcardPrefixId,
+         @Param( "publicWildcardAllowedTypeIds" ) Integer[] publicWildcardAllowedTypeIds,
+         @Param( "globalAssetIdNamespaceId" ) int globalAssetIdNamespaceId );
+
+   /**
+    * Returns the ids of the shells having a submodel with the given semanticId key value, in id order after the given shell id
+    * (keyset paging). The semanticId is compared by its dictionary id. The shells are restricted to the ones visible for the
+    * tenant according to the externalSubjectIds of their specificAssetIds.
+    *
+    * @param semanticIdValueId the dictionary id of the semanticId key value
+    * @param afterShellId the id of the last shell of the previous page
+    * @param tenantVisibility the visibility of the shells for the tenant
+    * @param limit the maximum number of shell ids
+    * @return the shell ids in ascending order
+    */
+   default List<UUID> findIdsBySubmodelSemanticIdAfter( int semanticIdValueId, UUID afterShellId, TenantVisibility tenantVisibility, int limit ) {
+      return findIdsBySubmodelSemanticIdAfter( semanticIdValueId, afterShellId, tenantVisibility.owner(), tenantVisibility.tenantId(),
+            tenantVisibility.publicWildcardPrefixId(), tenantVisibility.publicWildcardAllowedTypeIds(), limit ).stream()
+            .map( UUID::fromString )
+            .toList();
+   }
+
+   // the ids are selected as text, H2 returns the UUID columns of native queries as byte arrays
+
+   @Query( value = """
+         SELECT CAST(sm.fk_shell_id AS VARCHAR)
+         FROM SUBMODEL sm
+            JOIN SUBMODEL_SEMANTIC_ID_REFERENCE ssr ON ssr.fk_submodel_id = sm.id
+            JOIN SUBMODEL_SEMANTIC_ID_REFERENCE_KEY ssrk ON ssrk.fk_submodel_semantic_id_reference_id = ssr.id
          WHERE
-            s.id IN (
-               SELECT filterendpoint.submodel.shellId.id
-               FROM SubmodelEndpoint filterendpoint
-               WHERE filterendpoint.endpointAddress = :endpointAddress
+            ssrk.ref_key_value_id = :semanticIdValueId
+            AND sm.fk_shell_id > :afterShellId
+            AND (
+               :owner
+               OR EXISTS (
+                  SELECT 1
+                  FROM SHELL_IDENTIFIER_TENANT sit
+                  WHERE
+                     sit.fk_shell_id = sm.fk_shell_id
+                     AND (
+                        sit.tenant_id = :tenantId
+                        OR ( sit.tenant_id = :publicWildcardPrefixId AND sit.namespace_id = ANY(:publicWildcardAllowedTypeIds) )
+                     )
+               )
             )
-         """)
-   List<Shell> findAllBySubmodelEndpointAddress( String endpointAddress );
+         GROUP BY sm.fk_shell_id
+         ORDER BY sm.fk_shell_id
+         LIMIT :limit
+         """, nativeQuery = true )
+   List<String> findIdsBySubmodelSemanticIdAfter( @Param( "semanticIdValueId" ) int semanticIdValueId,
+         @Param( "afterShellId" ) UUID afterShellId,
+         @Param( "owner" ) boolean owner,
+         @Param( "tenantId" ) int tenantId,
+         @Param( "publicWildcardPrefixId" ) int publicWildcardPrefixId,
+         @Param( "publicWildcardAllowedTypeIds" ) Integer[] publicWildcardAllowedTypeIds,
+         @Param( "limit" ) int limit );
+
+   /**
+    * Checks whether a submodel endpoint with the given address belongs to a shell which is visible for the tenant according
+    * to the externalSubjectIds of its specificAssetIds. The address is probed by its hash and rechecked, see {@link ValueHash}.
+    */
+   default boolean existsVisibleSubmodelEndpoint( String endpointAddress, TenantVisibility tenantVisibility ) {
+      return existsVisibleSubmodelEndpoint( ValueHash.of( endpointAddress ), endpointAddress, tenantVisibility.owner(), tenantVisibility.tenantId(),
+            tenantVisibility.publicWildcardPrefixId(), tenantVisibility.publicWildcardAllowedTypeIds() );
+   }
+
+   @Query( value = """
+         SELECT CASE WHEN EXISTS (
+            SELECT 1
+            FROM SUBMODEL_ENDPOINT se
+               JOIN SUBMODEL sm ON sm.id = se.fk_submodel_id
+            WHERE
+               se.endpoint_address_hash = :endpointAddressHash
+               AND se.endpoint_address = :endpointAddress
+               AND (
+                  :owner
+                  OR EXISTS (
+                     SELECT 1
+                     FROM SHELL_IDENTIFIER_TENANT sit
+                     WHERE
+                        sit.fk_shell_id = sm.fk_shell_id
+                        AND (
+                           sit.tenant_id = :tenantId
+                           OR ( sit.tenant_id = :publicWildcardPrefixId AND sit.namespace_id = ANY(:publicWildcardAllowedTypeIds) )
+                        )
+                  )
+               )
+         ) THEN TRUE ELSE FALSE END
+         """, nativeQuery = true )
+   boolean existsVisibleSubmodelEndpoint( @Param( "endpointAddressHash" ) UUID endpointAddressHash,
+         @Param( "endpointAddress" ) String endpointAddress,
+         @Param( "owner" ) boolean owner,
+         @Param( "tenantId" ) int tenantId,
+         @Param( "publicWildcardPrefixId" ) int publicWildcardPrefixId,
+         @Param( "publicWildcardAllowedTypeIds" ) Integer[] publicWildcardAllowedTypeIds );
 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.registry.model.ShellVisibility;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface ShellVisibilityRepository extends JpaRepository<ShellVisibility, UUID> {
+
+   // the modifying native statements declare their table as query space, otherwise Hibernate would evict all cached entities
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_VISIBILITY" ) )
+   @Query( value = "DELETE FROM SHELL_VISIBILITY WHERE fk_shell_id = :shellId AND criteria_id IN (:criteriaIds)", nativeQuery = true )
+   void deleteByShellIdAndCriteriaIds( @Param( "shellId" ) UUID shellId, @Param( "criteriaIds" ) Collection<UUID> criteriaIds );
+
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_VISIBILITY" ) )
+   @Query( value = "DELETE FROM SHELL_VISIBILITY WHERE criteria_id IN (:criteriaIds)", nativeQuery = true )
+   int deleteByCriteriaIds( @Param( "criteriaIds" ) Collection<UUID> criteriaIds );
+
+   @Query( "SELECT DISTINCT sv.criteriaId FROM ShellVisibility sv" )
+   List<UUID> findAllCriteriaIds();
+
+   @Query( "SELECT sv.criteriaId FROM ShellVisibility sv WHERE sv.shellId = :shellId" )
+   Set<UUID> findCriteriaIdsByShellId( @Param( "shellId" ) UUID shellId );
+
+   /**
+    * Adds the index entry of the shell and criteria unless it exists already (SHELL_VISIBILITY_AK_01).
+    *
+    * @return the number of index entries created
+    */
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_VISIBILITY" ) )
+   @Query( value = """
+         INSERT INTO SHELL_VISIBILITY (fk_shell_id, tenant, criteria_id)
+         SELECT s.id, :tenant, :criteriaId
+         FROM SHELL s
+         WHERE
+            s.id = :shellId
+            AND NOT EXISTS ( SELECT 1 FROM SHELL_VISIBILITY sv WHERE sv.fk_shell_id = s.id AND sv.criteria_id = :criteriaId )
+         """, nativeQuery = true )
+   int insertIfAbsent( @Param( "shellId" ) UUID shellId, @Param( "tenant" ) String tenant, @Param( "criteriaId" ) UUID criteriaId );
+
+   /**
+    * Adds an index entry for every shell which has all the given specificAssetIds and no entry for the criteria yet.
+    * Follows the same approach as the lookup queries to be able to use the same indexes, the specificAssetIds are probed
+    * by their hashes and rechecked, see {@link SpecificAssetIdValues}.
+    *
+    * @param specificAssetIds the mandatory specificAssetIds
+    * @param tenant the tenant of the visibility criteria
+    * @param criteriaId the id of the visibility criteria
+    * @return the number of index entries created
+    */
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_VISIBILITY" ) )
+   @Query( value = """
+         INSERT INTO SHELL_VISIBILITY (fk_shell_id, tenant, criteria_id)
+         SELECT si.fk_shell_id, :tenant, :criteriaId
+         FROM SHELL_IDENTIFIER si
+         WHERE
+            si.key_value_hash = ANY(:keyValueHashes)
+            AND si.namespace_id = ANY(:namespaceIds)
+            AND si.identifier = ANY(:identifiers)
+            AND NOT EXISTS ( SELECT 1 FROM SHELL_VISIBILITY sv WHERE sv.fk_shell_id = si.fk_shell_id AND sv.criteria_id = :criteriaId )
+         GROUP BY si.fk_shell_id
+         HAVING COUNT(DISTINCT si.key_value_hash) = :specificAssetIdsSize
+         """, nativeQuery = true )
+   int insertForShellsWithAllSpecificAssetIds( @Param( "keyValueHashes" ) UUID[] keyValueHashes,
+         @Param( "namespaceIds" ) Integer[] namespaceIds,
+         @Param( "identifiers" ) String[] identifiers,
+         @Param( "specificAssetIdsSize" ) int specificAssetIdsSize,
+         @Param( "tenant" ) String tenant,
+         @Param( "criteriaId" ) UUID criteriaId );
+
+   default int insertForShellsWithAllSpecificAssetIds( SpecificAssetIdValues specificAssetIds, String tenant, UUID criteriaId ) {
+      return insertForShellsWithAllSpecificAssetIds( specificAssetIds.keyValueHashArray(), specificAssetIds.namespaceIdArray(),
+            specificAssetIds.identifierArray(), specificAssetIds.size(), tenant, criteriaId );
+   }
+
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SHELL_VISIBILITY" ) )
+   @Query( value = """
+         INSERT INTO SHELL_VISIBILITY (fk_shell_id, tenant, criteria_id)
+         SELECT s.id, :tenant, :criteriaId
+         FROM SHELL s
+         WHERE NOT EXISTS ( SELECT 1 FROM SHELL_VISIBILITY sv WHERE sv.fk_shell_id = s.id AND sv.criteria_id = :criteriaId )
+         """, nativeQuery = true )
+   int insertForAllShells( @Param( "tenant" ) String tenant, @Param( "criteriaId" ) UUID criteriaId );
+}
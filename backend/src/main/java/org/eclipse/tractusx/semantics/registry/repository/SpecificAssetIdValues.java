@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+
+/**
+ * The specificAssetIds to search for as query parameters. The rows are probed by the hash of the name and the value, see
+ * {@link ValueHash#ofKeyValue(String, String)}, and rechecked by the dictionary id of the name and the value.
+ *
+ * @param keyValueHashes the hashes of the names and values
+ * @param namespaceIds the dictionary ids of the names, names which are not contained in the dictionary do not match any row
+ * @param identifiers the values
+ */
+public record SpecificAssetIdValues(List<UUID> keyValueHashes, List<Integer> namespaceIds, List<String> identifiers) {
+
+   /**
+    * @param findIdOf resolves the dictionary id of a name without adding it
+    */
+   public static SpecificAssetIdValues of( Collection<SpecificAssetId> specificAssetIds, ToIntFunction<String> findIdOf ) {
+      return new SpecificAssetIdValues(
+            specificAssetIds.stream().map( specificAssetId -> ValueHash.ofKeyValue( specificAssetId.name(), specificAssetId.value() ) ).toList(),
+            specificAssetIds.stream().map( specificAssetId -> findIdOf.applyAsInt( specificAssetId.name() ) ).distinct().toList(),
+            specificAssetIds.stream().map( SpecificAssetId::value ).distinct().toList() );
+   }
+
+   /**
+    * @return the number of specificAssetIds
+    */
+   public int size() {
+      return keyValueHashes.size();
+   }
+
+   UUID[] keyValueHashArray() {
+      return keyValueHashes.toArray( UUID[]::new );
+   }
+
+   Integer[] namespaceIdArray() {
+      return namespaceIds.toArray( Integer[]::new );
+   }
+
+   String[] identifierArray() {
+      return identifiers.toArray( String[]::new );
+   }
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.springframework.lang.Nullable;
+
+/**
+ * Converts the values of native queries to arrays, which are bound as a single parameter and compared with = ANY(:values).
+ * In contrast to an IN list, the SQL string does not depend on the number of values, so the query plan of Hibernate and
+ * the prepared statement of the database are reused for any number of values.
+ */
+public final class SqlArrays {
+
+   private SqlArrays() {
+   }
+
+   /**
+    * @return the values as array, an empty array if the values are null
+    */
+   public static String[] of( @Nullable Collection<String> values ) {
+      return values == null ? new String[0] : values.toArray( String[]::new );
+   }
+
+   /**
+    * @return the hashes of the values as array, see {@link ValueHash}
+    */
+   public static UUID[] hashesOf( Collection<String> values ) {
+      return ValueHash.ofAll( values ).toArray( UUID[]::new );
+   }
+}
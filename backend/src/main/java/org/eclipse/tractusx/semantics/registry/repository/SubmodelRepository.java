@@ -19,22 +19,118 @@
  ******************************************************************************/
 package org.eclipse.tractusx.semantics.registry.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.Submodel;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.eclipse.tractusx.semantics.registry.model.projection.SubmodelSemanticIdMinimal;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface SubmodelRepository extends JpaRepository<Submodel, UUID>, JpaSpecificationExecutor<Submodel> {
 
-   Optional<Submodel> findByShellIdAndIdExternal( Shell shellId, String externalId );
+   /**
+    * Probes the index of the idExternal hash and rechecks the idExternal, see {@link ValueHash}. All lookups by idExternal
+    * follow this approach.
+    */
+   default Optional<Submodel> findByShellIdAndIdExternal( Shell shellId, String externalId ) {
+      return findByShellIdAndIdExternalHashAndIdExternal( shellId, ValueHash.of( externalId ), externalId );
+   }
+
+   Optional<Submodel> findByShellIdAndIdExternalHashAndIdExternal( Shell shellId, UUID idExternalHash, String externalId );
+
+   default Optional<Submodel> findMinimalRepresentationByShellIdAndIdExternal( UUID shellId, String externalId ) {
+      return findMinimalRepresentationByShellIdAndIdExternal( shellId, ValueHash.of( externalId ), externalId );
+   }
+
+   @Query( value = "SELECT s FROM Submodel s WHERE s.shellId.id = :shellId AND s.idExternalHash = :externalIdHash AND s.idExternal = :externalId" )
+   Optional<Submodel> findMinimalRepresentationByShellIdAndIdExternal( @Param( "shellId" ) UUID shellId, @Param( "externalIdHash" ) UUID externalIdHash,
+         @Param( "externalId" ) String externalId );
+
+   /**
+    * Loads the submodel together with its directly owned collections in a single query, without loading the shell.
+    */
+   default Optional<Submodel> findByShellIdExternalAndIdExternal( String shellIdExternal, String externalId ) {
+      return findByShellIdExternalAndIdExternal( ValueHash.of( shellIdExternal ), shellIdExternal, ValueHash.of( externalId ), externalId );
+   }
+
+   @EntityGraph( attributePaths = { "semanticId", "descriptions", "displayNames", "endpoints" } )
+   @Query( value = """
+         SELECT s FROM Submodel s
+         WHERE s.shellId.idExternalHash = :shellIdExternalHash AND s.shellId.idExternal = :shellIdExternal
+            AND s.idExternalHash = :externalIdHash AND s.idExternal = :externalId
+         """ )
+   Optional<Submodel> findByShellIdExternalAndIdExternal( @Param( "shellIdExternalHash" ) UUID shellIdExternalHash,
+         @Param( "shellIdExternal" ) String shellIdExternal, @Param( "externalIdHash" ) UUID externalIdHash, @Param( "externalId" ) String externalId );
+
+   @Query( value = "SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Submodel s WHERE s.shellId.id = :shellId AND LOWER(s.idShort) = LOWER(:idShort)" )
+   boolean existsWithIdShortIgnoreCase( @Param( "shellId" ) UUID shellId, @Param( "idShort" ) String idShort );
+
+   @Query( value = "SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Submodel s WHERE s.shellId.id = :shellId AND LOWER(s.idShort) = LOWER(:idShort) AND s.id <> :id" )
+   boolean existsOtherWithIdShortIgnoreCase( @Param( "shellId" ) UUID shellId, @Param( "idShort" ) String idShort, @Param( "id" ) UUID id );
+
+   /**
+    * Deletes the submodel without loading it, the children are removed by the database (ON DELETE CASCADE). The native
+    * statement does not clear the second-level cache, in contrast to a JPQL bulk delete which would clear the submodels of all
+    * shells. The caller evicts the shell of the submodel (see ShellCacheInvalidationService#evictShell).
+    *
+    * @return the number of deleted submodels
+    */
+   default int deleteByShellIdAndIdExternal( UUID shellId, String externalId ) {
+      return deleteByShellIdAndIdExternal( shellId, ValueHash.of( externalId ), externalId );
+   }
+
+   @Modifying
+   @QueryHints( @QueryHint( name = HibernateHints.HINT_NATIVE_SPACES, value = "SUBMODEL" ) )
+   @Query( value = """
+         DELETE FROM SUBMODEL
+         WHERE fk_shell_id = :shellId AND id_external_hash = :externalIdHash AND id_external = :externalId
+         """, nativeQuery = true )
+   int deleteByShellIdAndIdExternal( @Param( "shellId" ) UUID shellId, @Param( "externalIdHash" ) UUID externalIdHash,
+         @Param( "externalId" ) String externalId );
+
+   default Set<String> findExistingIdExternals( Collection<String> idExternals ) {
+      return findExistingIdExternals( ValueHash.ofAll( idExternals ), idExternals );
+   }
+
+   @Query( "SELECT s.idExternal FROM Submodel s WHERE s.idExternalHash IN (:idExternalHashes) AND s.idExternal IN (:idExternals)" )
+   Set<String> findExistingIdExternals( @Param( "idExternalHashes" ) Collection<UUID> idExternalHashes,
+         @Param( "idExternals" ) Collection<String> idExternals );
+
+   /**
+    * Returns the semanticIds (keys of type SUBMODEL) of the submodels having an endpoint with the given address, together with
+    * the id of their shell.
+    */
+   default List<SubmodelSemanticIdMinimal> findSemanticIdsBySubmodelEndpointAddress( String endpointAddress ) {
+      return findSemanticIdsBySubmodelEndpointAddress( ValueHash.of( endpointAddress ), endpointAddress );
+   }
 
-   @Query( value = "SELECT s FROM Submodel s WHERE s.shellId.id = :shellId AND s.idExternal = :externalId" )
-   Optional<Submodel> findMinimalRepresentationByShellIdAndIdExternal( @Param( "shellId" ) UUID shellId, @Param( "externalId" ) String externalId );
+   @Query( """
+         SELECT NEW org.eclipse.tractusx.semantics.registry.model.projection.SubmodelSemanticIdMinimal(submodel.shellId.idExternal, semanticIdKey.value)
+         FROM SubmodelEndpoint endpoint
+            JOIN endpoint.submodel submodel
+            JOIN submodel.semanticId semanticId
+            JOIN semanticId.keys semanticIdKey
+         WHERE
+            endpoint.endpointAddressHash = :endpointAddressHash
+            AND endpoint.endpointAddress = :endpointAddress
+            AND semanticIdKey.type = org.eclipse.tractusx.semantics.registry.model.ReferenceKeyType.SUBMODEL
+         """ )
+   List<SubmodelSemanticIdMinimal> findSemanticIdsBySubmodelEndpointAddress( @Param( "endpointAddressHash" ) UUID endpointAddressHash,
+         @Param( "endpointAddress" ) String endpointAddress );
 }
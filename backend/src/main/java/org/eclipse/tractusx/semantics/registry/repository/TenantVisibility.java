@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * The visibility of the shells for a tenant based on the externalSubjectIds of their specificAssetIds, as dictionary ids to be
+ * compared with SHELL_IDENTIFIER_TENANT.
+ *
+ * @param owner true if the tenant is the owning tenant, who can see all shells
+ * @param tenantId the dictionary id of the tenant
+ * @param publicWildcardPrefixId the dictionary id of the externalSubjectId which makes a specificAssetId visible for all tenants
+ * @param publicWildcardAllowedTypeIds the dictionary ids of the names of the specificAssetIds which can be made visible for all tenants
+ */
+public record TenantVisibility(boolean owner, int tenantId, int publicWildcardPrefixId, Integer[] publicWildcardAllowedTypeIds) {
+
+   /**
+    * @param findIdOf resolves the dictionary id of a value without adding it
+    */
+   public static TenantVisibility of( String tenantId, String owningTenantId, String publicWildcardPrefix, List<String> publicWildcardAllowedTypes,
+         ToIntFunction<String> findIdOf ) {
+      return new TenantVisibility( Objects.equals( owningTenantId, tenantId ), findIdOf.applyAsInt( tenantId ), findIdOf.applyAsInt( publicWildcardPrefix ),
+            publicWildcardAllowedTypes == null ? new Integer[0] : publicWildcardAllowedTypes.stream().map( findIdOf::applyAsInt ).toArray( Integer[]::new ) );
+   }
+
+   /**
+    * @return a visibility which does not restrict the shells, used if the shells are filtered by the granular access rules afterwards
+    */
+   public static TenantVisibility unrestricted() {
+      return new TenantVisibility( true, 0, 0, new Integer[0] );
+   }
+}
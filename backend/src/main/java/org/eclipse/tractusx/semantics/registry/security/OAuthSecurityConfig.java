@@ -51,9 +51,12 @@ public class OAuthSecurityConfig {
                     .requestMatchers( HttpMethod.GET, "/**/shell-descriptors/**/submodel-descriptors/**" ).access( "@authorizationEvaluator.hasRoleViewDigitalTwin()" )
                     // others are HTTP method based
                     .requestMatchers( HttpMethod.POST, "/**/shell-descriptors" ).access( "@authorizationEvaluator.hasRoleAddDigitalTwin()" )
+                    .requestMatchers( HttpMethod.POST, "/**/shell-descriptors/batch" ).access( "@authorizationEvaluator.hasRoleAddDigitalTwin()" )
+                    .requestMatchers( HttpMethod.POST, "/**/shell-descriptors/import" ).access( "@authorizationEvaluator.hasRoleAddDigitalTwin()" )
                     .requestMatchers( HttpMethod.POST, "/**/shell-descriptors/**/submodel-descriptors" ).access( "@authorizationEvaluator.hasRoleAddDigitalTwin()" )
                     .requestMatchers( HttpMethod.PUT, "/**/shell-descriptors/**" ).access( "@authorizationEvaluator.hasRoleUpdateDigitalTwin()" )
                     .requestMatchers( HttpMethod.PUT, "/**/shell-descriptors/**/submodel-descriptors/**" ).access( "@authorizationEvaluator.hasRoleUpdateDigitalTwin()" )
+                    .requestMatchers( HttpMethod.DELETE, "/**/shell-descriptors/batch" ).access( "@authorizationEvaluator.hasRoleDeleteDigitalTwin()" )
                     .requestMatchers( HttpMethod.DELETE, "/**/shell-descriptors/**" ).access( "@authorizationEvaluator.hasRoleDeleteDigitalTwin()" )
                     .requestMatchers( HttpMethod.DELETE, "/**/shell-descriptors/**/submodel-descriptors/**" ).access( "@authorizationEvaluator.hasRoleDeleteDigitalTwin()" )
 
@@ -69,6 +72,15 @@ public class OAuthSecurityConfig {
                     //getDescription allowed for reader
                     .requestMatchers( HttpMethod.GET, "/**/description" ).access( "@authorizationEvaluator.hasRoleViewDigitalTwin()" )
 
+                    //export of the whole registry, additionally restricted to the owning tenant
+                    .requestMatchers( HttpMethod.GET, "/**/export/**" ).access( "@authorizationEvaluator.hasRoleViewDigitalTwin()" )
+
+                    //asynchronous bulk jobs require the role of the operation, the export is additionally restricted to the owning tenant
+                    .requestMatchers( HttpMethod.POST, "/**/jobs/import" ).access( "@authorizationEvaluator.hasRoleAddDigitalTwin()" )
+                    .requestMatchers( HttpMethod.POST, "/**/jobs/delete" ).access( "@authorizationEvaluator.hasRoleDeleteDigitalTwin()" )
+                    .requestMatchers( HttpMethod.POST, "/**/jobs/export" ).access( "@authorizationEvaluator.hasRoleViewDigitalTwin()" )
+                    .requestMatchers( HttpMethod.GET, "/**/jobs/**" ).access( "@authorizationEvaluator.hasRoleViewDigitalTwin()" )
+
                     //submodel access control requires special role
                     .requestMatchers( HttpMethod.POST, "/**/submodel-descriptor/authorized" ).access( "@authorizationEvaluator.hasRoleSubmodelAccessControl()" )
               )
@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import org.eclipse.tractusx.semantics.accesscontrol.api.AccessControlRuleService;
+import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityCriteria;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityRule;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Caches the visibility criteria computed by the delegate across requests. The criteria of a shell only depend on the bpn,
+ * the specificAssetIds of the shell and the rule set, therefore the cache key consists of the bpn, a fingerprint of the
+ * specificAssetIds and the rule set version. Changing the rules bumps the version and changing the specificAssetIds of a
+ * shell changes the fingerprint, the outdated entries are never matched again and are evicted by the size limit.
+ */
+public class CachingAccessControlRuleService implements AccessControlRuleService {
+
+   private final AccessControlRuleService delegate;
+   private final Cache<CacheKey, Optional<CachedCriteria>> cache;
+
+   public CachingAccessControlRuleService( final AccessControlRuleService delegate, final long maximumWeight ) {
+      this.delegate = delegate;
+      this.cache = CacheBuilder.newBuilder()
+            .maximumWeight( maximumWeight )
+            .weigher( ( CacheKey key, Optional<CachedCriteria> value ) -> key.weight() + value.map( CachedCriteria::weight ).orElse( 0 ) )
+            .build();
+   }
+
+   @Override
+   public List<String> filterValidSpecificAssetIdsForLookup( Set<SpecificAssetId> userQuery, List<ShellVisibilityContext> shellContexts, String bpn )
+         throws DenyAccessException {
+      return delegate.filterValidSpecificAssetIdsForLookup( userQuery, shellContexts, bpn );
+   }
+
+   @Override
+   public ShellVisibilityCriteria fetchVisibilityCriteriaForShell( ShellVisibilityContext shellContext, String bpn ) throws DenyAccessException {
+      CacheKey key = CacheKey.of( bpn, shellContext, delegate.fetchRuleSetVersion() );
+      Optional<CachedCriteria> cached;
+      try {
+         cached = cache.get( key, () -> {
+            try {
+               return Optional.of( CachedCriteria.of( delegate.fetchVisibilityCriteriaForShell( shellContext, bpn ) ) );
+            } catch ( DenyAccessException e ) {
+               return Optional.empty();
+            }
+         } );
+      } catch ( ExecutionException e ) {
+         throw new IllegalStateException( e.getCause() );
+      }
+      return cached
+            .map( criteria -> criteria.toCriteria( shellContext.aasId() ) )
+            .orElseThrow( () -> new DenyAccessException( "No matching rules are found." ) );
+   }
+
+   @Override
+   public Map<String, ShellVisibilityCriteria> fetchVisibilityCriteriaForShells( List<ShellVisibilityContext> shellContexts, String bpn ) {
+      long ruleSetVersion = delegate.fetchRuleSetVersion();
+      Map<String, ShellVisibilityCriteria> result = new HashMap<>();
+      List<ShellVisibilityContext> notCached = new ArrayList<>();
+      for ( ShellVisibilityContext shellContext : shellContexts ) {
+         Optional<CachedCriteria> cached = cache.getIfPresent( CacheKey.of( bpn, shellContext, ruleSetVersion ) );
+         if ( cached == null ) {
+            notCached.add( shellContext );
+         } else {
+            cached.ifPresent( criteria -> result.put( shellContext.aasId(), criteria.toCriteria( shellContext.aasId() ) ) );
+         }
+      }
+      if ( !notCached.isEmpty() ) {
+         Map<String, ShellVisibilityCriteria> fetched = delegate.fetchVisibilityCriteriaForShells( notCached, bpn );
+         for ( ShellVisibilityContext shellContext : notCached ) {
+            ShellVisibilityCriteria criteria = fetched.get( shellContext.aasId() );
+            cache.put( CacheKey.of( bpn, shellContext, ruleSetVersion ), Optional.ofNullable( criteria ).map( CachedCriteria::of ) );
+            if ( criteria != null ) {
+               result.put( shellContext.aasId(), criteria );
+            }
+         }
+      }
+      return result;
+   }
+
+   @Override
+   public Set<Set<SpecificAssetId>> fetchMandatorySpecificAssetIdGroups( String bpn ) throws DenyAccessException {
+      return delegate.fetchMandatorySpecificAssetIdGroups( bpn );
+   }
+
+   @Override
+   public Set<ShellVisibilityRule> fetchAllVisibilityRules() {
+      return delegate.fetchAllVisibilityRules();
+   }
+
+   @Override
+   public long fetchRuleSetVersion() {
+      return delegate.fetchRuleSetVersion();
+   }
+
+   private record CacheKey(String bpn, HashCode specificAssetIdsFingerprint, long ruleSetVersion) {
+
+      static CacheKey of( String bpn, ShellVisibilityContext shellContext, long ruleSetVersion ) {
+         Hasher hasher = Hashing.sha256().newHasher();
+         shellContext.specificAssetIds().stream()
+               .map( specificAssetId -> specificAssetId.name() + "\u0000" + specificAssetId.value() )
+               .sorted()
+               .forEach( pair -> hasher.putString( pair, StandardCharsets.UTF_8 ).putByte( (byte) 0 ) );
+         return new CacheKey( bpn, hasher.hash(), ruleSetVersion );
+      }
+
+      int weight() {
+         return bpn.length() + 32 + 8;
+      }
+   }
+
+   /**
+    * The criteria without the shell id, as the same criteria apply to every shell with the same specificAssetIds.
+    */
+   private record CachedCriteria(Set<String> visibleSpecificAssetIdNames, Set<String> visibleSemanticIds, boolean publicOnly) {
+
+      static CachedCriteria of( ShellVisibilityCriteria criteria ) {
+         return new CachedCriteria( Set.copyOf( criteria.visibleSpecificAssetIdNames() ), Set.copyOf( criteria.visibleSemanticIds() ),
+               criteria.publicOnly() );
+      }
+
+      ShellVisibilityCriteria toCriteria( String aasId ) {
+         return new ShellVisibilityCriteria( aasId, visibleSpecificAssetIdNames, visibleSemanticIds, publicOnly );
+      }
+
+      int weight() {
+         return visibleSpecificAssetIdNames.stream().mapToInt( String::length ).sum()
+                + visibleSemanticIds.stream().mapToInt( String::length ).sum() + 1;
+      }
+   }
+}
@@ -29,6 +29,7 @@ import org.eclipse.tractusx.semantics.RegistryProperties;
 import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
 import org.eclipse.tractusx.semantics.registry.model.ShellIdentifierExternalSubjectReferenceKey;
+import org.eclipse.tractusx.semantics.registry.repository.TenantVisibility;
 import org.eclipse.tractusx.semantics.registry.utils.ShellCursor;
 import org.eclipse.tractusx.semantics.registry.utils.ShellSpecification;
 import org.springframework.data.jpa.domain.Specification;
@@ -41,17 +42,19 @@ public class DefaultShellAccessHandler implements ShellAccessHandler {
    private final String owningTenantId;
    private final String externalSubjectIdWildcardPrefix;
    private final List<String> externalSubjectIdWildcardAllowedTypes;
+   private final ValueDictionary valueDictionary;
 
-   public DefaultShellAccessHandler( RegistryProperties registryProperties ) {
+   public DefaultShellAccessHandler( RegistryProperties registryProperties, ValueDictionary valueDictionary ) {
       this.owningTenantId = registryProperties.getIdm().getOwningTenantId();
       this.externalSubjectIdWildcardPrefix = registryProperties.getExternalSubjectIdWildcardPrefix();
       this.externalSubjectIdWildcardAllowedTypes = registryProperties.getExternalSubjectIdWildcardAllowedTypes();
+      this.valueDictionary = valueDictionary;
    }
 
    @Override
    public Specification<Shell> shellFilterSpecification( String sortFieldName, ShellCursor cursor, String externalSubjectId ) {
-      return new ShellSpecification<>( sortFieldName, cursor, externalSubjectId, owningTenantId, externalSubjectIdWildcardPrefix,
-            externalSubjectIdWildcardAllowedTypes );
+      return new ShellSpecification<>( sortFieldName, cursor, TenantVisibility.of( externalSubjectId, owningTenantId, externalSubjectIdWildcardPrefix,
+            externalSubjectIdWildcardAllowedTypes, valueDictionary::findIdOf ) );
    }
 
    /**
@@ -20,13 +20,14 @@
 
 package org.eclipse.tractusx.semantics.registry.service;
 
-import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.eclipse.tractusx.semantics.RegistryProperties;
 import org.eclipse.tractusx.semantics.accesscontrol.api.AccessControlRuleService;
@@ -39,7 +40,10 @@ import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
 import org.eclipse.tractusx.semantics.registry.model.Submodel;
 import org.eclipse.tractusx.semantics.registry.model.projection.ShellIdentifierMinimal;
+import org.eclipse.tractusx.semantics.registry.model.projection.SubmodelSemanticIdMinimal;
+import org.eclipse.tractusx.semantics.registry.utils.GranularShellSpecification;
 import org.eclipse.tractusx.semantics.registry.utils.ShellCursor;
+import org.eclipse.tractusx.semantics.registry.utils.ShellVisibilityIndexSpecification;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.Nullable;
 
@@ -48,12 +52,19 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class GranularShellAccessHandler implements ShellAccessHandler {
    private final String owningTenantId;
+   private final String externalSubjectIdWildcardPrefix;
 
    private final AccessControlRuleService accessControlRuleService;
+   private final ShellVisibilityIndexService shellVisibilityIndexService;
+   private final ValueDictionary valueDictionary;
 
-   public GranularShellAccessHandler( final RegistryProperties registryProperties, final AccessControlRuleService accessControlRuleService ) {
+   public GranularShellAccessHandler( final RegistryProperties registryProperties, final AccessControlRuleService accessControlRuleService,
+         final ShellVisibilityIndexService shellVisibilityIndexService, final ValueDictionary valueDictionary ) {
       this.owningTenantId = registryProperties.getIdm().getOwningTenantId();
+      this.externalSubjectIdWildcardPrefix = registryProperties.getExternalSubjectIdWildcardPrefix();
       this.accessControlRuleService = accessControlRuleService;
+      this.shellVisibilityIndexService = shellVisibilityIndexService;
+      this.valueDictionary = valueDictionary;
    }
 
    @Override
@@ -61,13 +72,26 @@ public class GranularShellAccessHandler implements ShellAccessHandler {
       return true;
    }
 
+   /**
+    * Translates the mandatory specificAssetIds of the rules applicable to @param externalSubjectId into a specification, so that only the
+    * potentially visible shells are read from the database. If the visibility index is available, the shells are filtered by the index instead.
+    * The returned shells still need to be filtered by {@link #filterListOfShellProperties}.
+    */
    @Override
    public Specification<Shell> shellFilterSpecification( String sortFieldName, ShellCursor cursor, String externalSubjectId ) {
-      return ( root, query, criteriaBuilder ) -> {
-         Instant searchValue = cursor.getShellSearchCursor();
-         query.orderBy( criteriaBuilder.asc( criteriaBuilder.coalesce( root.get( sortFieldName ), Instant.now() ) ) );
-         return criteriaBuilder.greaterThan( root.get( sortFieldName ), searchValue );
-      };
+      if ( owningTenantId.equals( externalSubjectId ) ) {
+         return new GranularShellSpecification( sortFieldName, cursor, null, valueDictionary::findIdOf );
+      }
+      if ( shellVisibilityIndexService.isReady() ) {
+         return new ShellVisibilityIndexSpecification( sortFieldName, cursor, List.of( externalSubjectId, externalSubjectIdWildcardPrefix ) );
+      }
+      Set<Set<SpecificAssetId>> mandatorySpecificAssetIdGroups;
+      try {
+         mandatorySpecificAssetIdGroups = accessControlRuleService.fetchMandatorySpecificAssetIdGroups( externalSubjectId );
+      } catch ( DenyAccessException e ) {
+         mandatorySpecificAssetIdGroups = Collections.emptySet();
+      }
+      return new GranularShellSpecification( sortFieldName, cursor, mandatorySpecificAssetIdGroups, valueDictionary::findIdOf );
    }
 
    @Override
@@ -94,6 +118,32 @@ public class GranularShellAccessHandler implements ShellAccessHandler {
             .toList();
    }
 
+   /**
+    * Evaluates the visibility criteria of the shells of the submodels without loading the shells. A submodel is visible if the
+    * shell is visible and one of the SUBMODEL keys of its semanticId is a visible semanticId, see {@link #filterShellContents}.
+    */
+   @Override
+   public boolean isAnySubmodelVisible( List<SubmodelSemanticIdMinimal> submodelSemanticIds, List<ShellIdentifierMinimal> shellIdentifiers,
+         String externalSubjectId ) {
+      if ( submodelSemanticIds.isEmpty() ) {
+         return false;
+      }
+      Map<String, Set<SpecificAssetId>> specificAssetIdsByShell = shellIdentifiers.stream()
+            .collect( Collectors.groupingBy( ShellIdentifierMinimal::shellId, Collectors.mapping(
+                  shellIdentifier -> new SpecificAssetId( shellIdentifier.namespace(), shellIdentifier.identifier() ), Collectors.toSet() ) ) );
+      List<ShellVisibilityContext> shellContexts = submodelSemanticIds.stream()
+            .map( SubmodelSemanticIdMinimal::shellId )
+            .distinct()
+            .map( shellId -> new ShellVisibilityContext( shellId, specificAssetIdsByShell.getOrDefault( shellId, Set.of() ) ) )
+            .toList();
+      Map<String, ShellVisibilityCriteria> visibilityCriteria = accessControlRuleService.fetchVisibilityCriteriaForShells( shellContexts,
+            externalSubjectId );
+      return submodelSemanticIds.stream()
+            .anyMatch( submodelSemanticId -> Optional.ofNullable( visibilityCriteria.get( submodelSemanticId.shellId() ) )
+                  .map( criteria -> criteria.visibleSemanticIds().contains( submodelSemanticId.semanticId() ) )
+                  .orElse( false ) );
+   }
+
    /**
     * This method filters out the shell-properties based on externalSubjectId in the specificAssetIds.<br>
     * 1. Condition: The owner of the shell has full access to the shell.<br>
@@ -114,7 +164,8 @@ public class GranularShellAccessHandler implements ShellAccessHandler {
 
       try {
          ShellVisibilityContext shellContext = toShellVisibilityContext( shell );
-         ShellVisibilityCriteria visibilityCriteria = accessControlRuleService.fetchVisibilityCriteriaForShell( shellContext, externalSubjectId );
+         ShellVisibilityCriteria visibilityCriteria = ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( externalSubjectId, shellContext,
+               () -> accessControlRuleService.fetchVisibilityCriteriaForShell( shellContext, externalSubjectId ) );
          return filterShellContents( shell, visibilityCriteria );
       } catch ( DenyAccessException e ) {
          if ( log.isDebugEnabled() ) {
@@ -130,15 +181,19 @@ public class GranularShellAccessHandler implements ShellAccessHandler {
          return shells;
       }
 
+      final var requestCache = ShellVisibilityCriteriaRequestCache.current();
       final var visibilityContexts = shells.stream()
             .map( this::toShellVisibilityContext )
             .toList();
-      final var visibilityCriteria = accessControlRuleService.fetchVisibilityCriteriaForShells( visibilityContexts, externalSubjectId );
-      if ( visibilityCriteria.isEmpty() ) {
-         return Collections.emptyList();
+      final var notYetEvaluated = visibilityContexts.stream()
+            .filter( shellContext -> !requestCache.contains( externalSubjectId, shellContext ) )
+            .toList();
+      if ( !notYetEvaluated.isEmpty() ) {
+         final var visibilityCriteria = accessControlRuleService.fetchVisibilityCriteriaForShells( notYetEvaluated, externalSubjectId );
+         notYetEvaluated.forEach( shellContext -> requestCache.put( externalSubjectId, shellContext, visibilityCriteria.get( shellContext.aasId() ) ) );
       }
-      return shells.stream()
-            .map( shell -> filterShellContents( shell, visibilityCriteria.get( shell.getIdExternal() ) ) )
+      return IntStream.range( 0, shells.size() )
+            .mapToObj( index -> filterShellContents( shells.get( index ), requestCache.get( externalSubjectId, visibilityContexts.get( index ) ) ) )
             .filter( Objects::nonNull )
             .toList();
    }
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.eclipse.tractusx.semantics.registry.repository.RegistryJobRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A job while it is processed by a {@link RegistryJobHandler}. Gives access to the input of the job, appends to its result
+ * and records its checkpoints.<br>
+ * The result is a gzip compressed NDJSON file. Each write appends a separate gzip member, which keeps the file valid after
+ * every write, as concatenated gzip members form a valid gzip file. The result file belongs to the attempt of the execution,
+ * when a job is resumed, the file of the new attempt starts with the result recorded by the last checkpoint.
+ */
+public class RegistryJobExecution {
+
+   private static final byte[] LINE_SEPARATOR = "\n".getBytes( StandardCharsets.UTF_8 );
+
+   private final RegistryJob job;
+   private final Path inputFile;
+   private final FileChannel resultChannel;
+   private final RegistryJobRepository registryJobRepository;
+   private final ObjectMapper objectMapper;
+   private long processed;
+   private long succeeded;
+   private long failed;
+   private String checkpoint;
+
+   RegistryJobExecution( RegistryJob job, Path inputFile, FileChannel resultChannel, RegistryJobRepository registryJobRepository,
+         ObjectMapper objectMapper ) {
+      this.job = job;
+      this.inputFile = inputFile;
+      this.resultChannel = resultChannel;
+      this.registryJobRepository = registryJobRepository;
+      this.objectMapper = objectMapper;
+      this.processed = job.getProcessed();
+      this.succeeded = job.getSucceeded();
+      this.failed = job.getFailed();
+      this.checkpoint = job.getCheckpoint();
+   }
+
+   public RegistryJob getJob() {
+      return job;
+   }
+
+   /**
+    * @return the number of input elements processed up to the last checkpoint
+    */
+   public long getProcessed() {
+      return processed;
+   }
+
+   /**
+    * @return the type specific position of the last checkpoint or null
+    */
+   public String getCheckpoint() {
+      return checkpoint;
+   }
+
+   public InputStream openInput() throws IOException {
+      return new BufferedInputStream( Files.newInputStream( inputFile ) );
+   }
+
+   /**
+    * Appends the values as NDJSON lines to the result.
+    */
+   public void writeResult( Collection<?> values ) throws IOException {
+      if ( values.isEmpty() ) {
+         return;
+      }
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      for ( Object value : values ) {
+         content.write( objectMapper.writeValueAsBytes( value ) );
+         content.write( LINE_SEPARATOR );
+      }
+      writeResult( content.toByteArray() );
+   }
+
+   /**
+    * Appends the NDJSON content to the result.
+    */
+   public void writeResult( byte[] ndjson ) throws IOException {
+      if ( ndjson.length == 0 ) {
+         return;
+      }
+      ByteArrayOutputStream member = new ByteArrayOutputStream();
+      try ( GZIPOutputStream gzipOutputStream = new GZIPOutputStream( member ) ) {
+         gzipOutputStream.write( ndjson );
+      }
+      ByteBuffer buffer = ByteBuffer.wrap( member.toByteArray() );
+      while ( buffer.hasRemaining() ) {
+         resultChannel.write( buffer );
+      }
+   }
+
+   /**
+    * Records the progress after a chunk has been processed and its result has been written.
+    *
+    * @param processedElements the number of input elements of the chunk
+    * @param succeededElements the number of elements of the chunk which have been processed successfully
+    * @param failedElements the number of elements of the chunk which have failed
+    * @param newCheckpoint the type specific position to continue from or null
+    * @throws IllegalStateException if the job has been taken over by another worker
+    */
+   public void checkpoint( long processedElements, long succeededElements, long failedElements, String newCheckpoint ) throws IOException {
+      resultChannel.force( false );
+      processed += processedElements;
+      succeeded += succeededElements;
+      failed += failedElements;
+      checkpoint = newCheckpoint;
+      if ( registryJobRepository.checkpoint( job.getId(), job.getAttempt(), processed, succeeded, failed, checkpoint, resultChannel.size(), Instant.now() )
+           == 0 ) {
+         throw new IllegalStateException( String.format( "Job %s has been taken over by another worker.", job.getId() ) );
+      }
+   }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.IOException;
+
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+
+/**
+ * Processes the jobs of one type for the {@link RegistryJobService}.
+ */
+public interface RegistryJobHandler {
+
+   RegistryJob.Type getType();
+
+   /**
+    * Processes the job beginning after its last checkpoint. The input is processed in chunks, after each chunk its results
+    * are written and a checkpoint is recorded. A chunk without checkpoint is processed again when the job is resumed, so the
+    * processing of a chunk must tolerate being repeated.
+    *
+    * @param execution the running job
+    */
+   void process( RegistryJobExecution execution ) throws IOException;
+}
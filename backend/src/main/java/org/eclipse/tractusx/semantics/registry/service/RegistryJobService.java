@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.eclipse.tractusx.semantics.registry.repository.RegistryJobRepository;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs asynchronous bulk jobs (import, export, delete) so that they do not occupy HTTP worker threads.<br>
+ * The REGISTRY_JOB table is the queue of the jobs: submitted jobs are queued and claimed by the workers of any instance,
+ * at most the configured number of jobs run in parallel per instance. The handlers record a checkpoint after each chunk,
+ * which also serves as heartbeat. A running job without heartbeat for the stale timeout, e.g. because its instance has
+ * been stopped, is queued again and continues from its last checkpoint instead of starting over.<br>
+ * Each attempt writes its own result file, which starts with the result recorded by the last checkpoint. A worker whose
+ * job has been taken over therefore cannot write into the result of the new attempt, it stops at its next checkpoint.<br>
+ * A job is only visible to the tenant which submitted it and to the owning tenant of the registry.
+ */
+@Slf4j
+@Service
+public class RegistryJobService {
+
+   private static final int MAXIMUM_MESSAGE_LENGTH = 2048;
+
+   private final RegistryJobRepository registryJobRepository;
+   private final Map<RegistryJob.Type, RegistryJobHandler> handlers = new EnumMap<>( RegistryJob.Type.class );
+   private final ObjectMapper objectMapper;
+   private final TransactionTemplate transactionTemplate;
+   private final Path directory;
+   private final Duration staleTimeout;
+   private final Duration retention;
+   private final ExecutorService executor;
+   private final Semaphore idleWorkers;
+   private final String owningTenantId;
+
+   public RegistryJobService( RegistryJobRepository registryJobRepository,
+         List<RegistryJobHandler> handlers,
+         ObjectMapper objectMapper,
+         RegistryProperties registryProperties,
+         PlatformTransactionManager transactionManager ) {
+      this.registryJobRepository = registryJobRepository;
+      handlers.forEach( handler -> this.handlers.put( handler.getType(), handler ) );
+      this.objectMapper = objectMapper;
+      this.transactionTemplate = new TransactionTemplate( transactionManager );
+      RegistryProperties.Jobs jobs = registryProperties.getJobs();
+      this.directory = Path.of( jobs.getDirectory() );
+      this.staleTimeout = jobs.getStaleTimeout();
+      this.retention = jobs.getRetention();
+      this.executor = Executors.newFixedThreadPool( jobs.getThreads(), new CustomizableThreadFactory( "registry-job-" ) );
+      this.idleWorkers = new Semaphore( jobs.getThreads() );
+      this.owningTenantId = registryProperties.getIdm().getOwningTenantId();
+   }
+
+   /**
+    * Interrupted jobs are queued again after the stale timeout and continue from their last checkpoint.
+    */
+   @PreDestroy
+   public void shutdown() {
+      executor.shutdownNow();
+   }
+
+   /**
+    * Queues a new job. The input is written to the job directory before the job becomes visible to the workers.
+    *
+    * @param tenant the tenant submitting the job, only this tenant and the owning tenant can access the job
+    * @param input writes the input of the job or null if the job has no input
+    * @return the queued job
+    */
+   public RegistryJob submit( RegistryJob.Type type, String tenant, @Nullable JobInput input ) throws IOException {
+      Files.createDirectories( directory );
+      Path uploadFile = Files.createTempFile( directory, "upload-", ".tmp" );
+      try {
+         if ( input != null ) {
+            try ( OutputStream outputStream = Files.newOutputStream( uploadFile ) ) {
+               input.write( outputStream );
+            }
+         }
+         RegistryJob job = transactionTemplate.execute( status -> {
+            RegistryJob saved = registryJobRepository.save( new RegistryJob( type, tenant ) );
+            try {
+               Files.move( uploadFile, inputFile( saved.getId() ), StandardCopyOption.REPLACE_EXISTING );
+            } catch ( IOException e ) {
+               throw new UncheckedIOException( e );
+            }
+            return saved;
+         } );
+         log.info( "Queued {} job {}.", type, job.getId() );
+         dispatch();
+         return job;
+      } finally {
+         Files.deleteIfExists( uploadFile );
+      }
+   }
+
+   /**
+    * Jobs of other tenants are reported as not found, so that their ids are not disclosed.
+    */
+   public RegistryJob findJob( UUID id, String externalSubjectId ) {
+      return registryJobRepository.findById( id )
+            .filter( job -> owningTenantId.equals( externalSubjectId ) || Objects.equals( job.getTenant(), externalSubjectId ) )
+            .orElseThrow( () -> new EntityNotFoundException( String.format( "Job for identifier %s not found", id ) ) );
+   }
+
+   /**
+    * @return the gzip compressed NDJSON result of the job, i.e. the result file of its last attempt
+    * @throws IllegalArgumentException if the job is not finished
+    */
+   public Path findResultFile( RegistryJob job ) {
+      if ( !job.isFinished() ) {
+         throw new IllegalArgumentException( String.format( "Job %s is not finished.", job.getId() ) );
+      }
+      Path resultFile = resultFile( job.getId(), job.getAttempt() );
+      if ( !Files.exists( resultFile ) ) {
+         throw new EntityNotFoundException( String.format( "Result of job %s not found", job.getId() ) );
+      }
+      return resultFile;
+   }
+
+   /**
+    * Queues abandoned jobs again, deletes expired jobs and starts queued jobs.
+    */
+   @Scheduled( initialDelayString = "${registry.jobs.poll-interval:PT10S}", fixedDelayString = "${registry.jobs.poll-interval:PT10S}" )
+   public void poll() {
+      Instant now = Instant.now();
+      int requeued = registryJobRepository.requeueStale( now.minus( staleTimeout ), now );
+      if ( requeued > 0 ) {
+         log.info( "Queued {} abandoned jobs again.", requeued );
+      }
+      deleteExpiredJobs( now.minus( retention ) );
+      dispatch();
+   }
+
+   /**
+    * Starts the idle workers of this instance, each worker processes queued jobs until the queue is empty.
+    */
+   public void dispatch() {
+      while ( idleWorkers.tryAcquire() ) {
+         try {
+            executor.execute( this::work );
+         } catch ( RejectedExecutionException e ) {
+            // the instance is shutting down, the queued jobs are processed by other instances
+            idleWorkers.release();
+            return;
+         }
+      }
+   }
+
+   private void work() {
+      try {
+         // the jobs are claimed by the worker thread, so that they are read outside of the persistence context of a request
+         Optional<RegistryJob> job;
+         while ( (job = claimNextJob()).isPresent() ) {
+            run( job.get() );
+         }
+      } finally {
+         idleWorkers.release();
+      }
+   }
+
+   private Optional<RegistryJob> claimNextJob() {
+      Optional<RegistryJob> next;
+      while ( (next = registryJobRepository.findFirstByStatusOrderByCreatedDate( RegistryJob.Status.QUEUED )).isPresent() ) {
+         // the job may have been claimed by another worker in the meantime
+         if ( registryJobRepository.claim( next.get().getId(), Instant.now() ) == 1 ) {
+            return registryJobRepository.findById( next.get().getId() );
+         }
+      }
+      return Optional.empty();
+   }
+
+   private void run( RegistryJob job ) {
+      log.info( "Processing {} job {} (attempt {}) after {} processed elements.", job.getType(), job.getId(), job.getAttempt(), job.getProcessed() );
+      RegistryJob.Status status = RegistryJob.Status.COMPLETED;
+      String message = null;
+      try ( FileChannel resultChannel = openResultFile( job ) ) {
+         handlers.get( job.getType() ).process( new RegistryJobExecution( job, inputFile( job.getId() ), resultChannel, registryJobRepository, objectMapper ) );
+      } catch ( Exception e ) {
+         log.warn( "Failed to process job {}.", job.getId(), e );
+         status = RegistryJob.Status.FAILED;
+         message = StringUtils.abbreviate( e.getMessage(), MAXIMUM_MESSAGE_LENGTH );
+      }
+      if ( registryJobRepository.finish( job.getId(), job.getAttempt(), status, message, Instant.now() ) == 1 ) {
+         log.info( "Finished {} job {} with status {}.", job.getType(), job.getId(), status );
+      }
+   }
+
+   /**
+    * Creates the result file of the attempt with the result recorded by the last checkpoint. The recorded result is a prefix of
+    * the file of every earlier attempt which has been started after that checkpoint, so it is copied from the latest one. The
+    * result written after the last checkpoint belongs to chunks which are processed again and is not copied. The file only
+    * gets its name once the copy is complete and the files of the earlier attempts are deleted afterwards.
+    */
+   private FileChannel openResultFile( RegistryJob job ) throws IOException {
+      Path resultFile = resultFile( job.getId(), job.getAttempt() );
+      Path previousResultFile = findPreviousResultFile( job );
+      if ( previousResultFile == null && job.getResultSize() > 0 ) {
+         throw new IllegalStateException( String.format( "The result file of job %s is missing.", job.getId() ) );
+      }
+      Path copy = Files.createTempFile( directory, job.getId() + ".result-", ".tmp" );
+      try {
+         if ( previousResultFile != null ) {
+            try ( FileChannel source = FileChannel.open( previousResultFile, StandardOpenOption.READ );
+                  FileChannel target = FileChannel.open( copy, StandardOpenOption.WRITE ) ) {
+               if ( source.size() < job.getResultSize() ) {
+                  throw new IllegalStateException( String.format( "The result file of job %s is incomplete.", job.getId() ) );
+               }
+               long copied = 0;
+               while ( copied < job.getResultSize() ) {
+                  copied += source.transferTo( copied, job.getResultSize() - copied, target );
+               }
+               target.force( false );
+            }
+         }
+         Files.move( copy, resultFile, StandardCopyOption.REPLACE_EXISTING );
+      } finally {
+         Files.deleteIfExists( copy );
+      }
+      for ( int attempt = 1; attempt < job.getAttempt(); attempt++ ) {
+         Files.deleteIfExists( resultFile( job.getId(), attempt ) );
+      }
+      FileChannel resultChannel = FileChannel.open( resultFile, StandardOpenOption.WRITE );
+      resultChannel.position( resultChannel.size() );
+      return resultChannel;
+   }
+
+   @Nullable
+   private Path findPreviousResultFile( RegistryJob job ) {
+      for ( int attempt = job.getAttempt() - 1; attempt > 0; attempt-- ) {
+         Path resultFile = resultFile( job.getId(), attempt );
+         if ( Files.exists( resultFile ) ) {
+            return resultFile;
+         }
+      }
+      return null;
+   }
+
+   private void deleteExpiredJobs( Instant finishedBefore ) {
+      for ( RegistryJob job : registryJobRepository.findByStatusInAndModifiedDateBefore( List.of( RegistryJob.Status.COMPLETED, RegistryJob.Status.FAILED ),
+            finishedBefore ) ) {
+         try {
+            Files.deleteIfExists( inputFile( job.getId() ) );
+            for ( int attempt = 1; attempt <= job.getAttempt(); attempt++ ) {
+               Files.deleteIfExists( resultFile( job.getId(), attempt ) );
+            }
+            registryJobRepository.delete( job );
+         } catch ( IOException e ) {
+            log.warn( "Failed to delete the files of job {}.", job.getId(), e );
+         }
+      }
+   }
+
+   Path inputFile( UUID id ) {
+      return directory.resolve( id + ".input" );
+   }
+
+   Path resultFile( UUID id, int attempt ) {
+      return directory.resolve( id + ".result." + attempt + ".ndjson.gz" );
+   }
+
+   @FunctionalInterface
+   public interface JobInput {
+      void write( OutputStream outputStream ) throws IOException;
+   }
+}
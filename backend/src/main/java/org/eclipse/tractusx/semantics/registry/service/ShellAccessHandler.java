@@ -27,6 +27,7 @@ import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessExce
 import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
 import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.projection.ShellIdentifierMinimal;
+import org.eclipse.tractusx.semantics.registry.model.projection.SubmodelSemanticIdMinimal;
 import org.eclipse.tractusx.semantics.registry.utils.ShellCursor;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.Nullable;
@@ -46,6 +47,17 @@ public interface ShellAccessHandler {
       throw new UnsupportedOperationException( "Only supported in case of granular access control." );
    }
 
+   /**
+    * Checks whether at least one of the submodels is visible, only the specificAssetIds of their shells are evaluated.
+    *
+    * @param submodelSemanticIds the semanticIds of the submodels with the ids of their shells
+    * @param shellIdentifiers the specificAssetIds of the shells
+    */
+   default boolean isAnySubmodelVisible( List<SubmodelSemanticIdMinimal> submodelSemanticIds, List<ShellIdentifierMinimal> shellIdentifiers,
+         String externalSubjectId ) {
+      throw new UnsupportedOperationException( "Only supported in case of granular access control." );
+   }
+
    default boolean supportsGranularAccessControl() {
       return false;
    }
@@ -33,17 +33,23 @@ public class ShellAccessHandlerConfiguration {
    @Bean
    public AccessControlRuleService accessControlRuleService(
          final AccessControlRuleRepository accessControlRuleRepository, final RegistryProperties registryProperties ) {
-      return new SqlBackedAccessControlRuleService( accessControlRuleRepository, registryProperties.getExternalSubjectIdWildcardPrefix() );
+      final AccessControlRuleService result = new SqlBackedAccessControlRuleService( accessControlRuleRepository,
+            registryProperties.getExternalSubjectIdWildcardPrefix() );
+      if ( registryProperties.getGranularVisibilityCriteriaCacheMaxWeight() > 0 ) {
+         return new CachingAccessControlRuleService( result, registryProperties.getGranularVisibilityCriteriaCacheMaxWeight() );
+      }
+      return result;
    }
 
    @Bean
    public ShellAccessHandler shellAccessHandler(
-         final AccessControlRuleService accessControlRuleService, final RegistryProperties registryProperties ) {
+         final AccessControlRuleService accessControlRuleService, final RegistryProperties registryProperties,
+         final ShellVisibilityIndexService shellVisibilityIndexService, final ValueDictionary valueDictionary ) {
       final ShellAccessHandler result;
       if ( Boolean.TRUE.equals( registryProperties.getUseGranularAccessControl() ) ) {
-         result = new GranularShellAccessHandler( registryProperties, accessControlRuleService );
+         result = new GranularShellAccessHandler( registryProperties, accessControlRuleService, shellVisibilityIndexService, valueDictionary );
       } else {
-         result = new DefaultShellAccessHandler( registryProperties );
+         result = new DefaultShellAccessHandler( registryProperties, valueDictionary );
       }
       return result;
    }
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.registry.model.ShellCacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Enables the Hibernate second-level cache of the shell aggregate if registry.second-level-cache.enabled is set. The regions
+ * (see {@link ShellCacheRegions}) are local Caffeine caches accessed through JCache, each bounded by the maximum size and the
+ * time to live. The caches of the other instances are kept consistent by the {@link ShellCacheInvalidationService}.
+ */
+@Configuration
+@ConditionalOnProperty( name = "registry.second-level-cache.enabled", havingValue = "true" )
+public class ShellCacheConfiguration {
+
+   /**
+    * The cache manager is not shared with other application contexts of the JVM, therefore it is registered with a unique URI.
+    */
+   @Bean( destroyMethod = "close" )
+   public CacheManager shellCacheManager( RegistryProperties registryProperties ) {
+      RegistryProperties.SecondLevelCache secondLevelCache = registryProperties.getSecondLevelCache();
+      CacheManager cacheManager = Caching.getCachingProvider( CaffeineCachingProvider.class.getName() )
+            .getCacheManager( URI.create( "registry-second-level-cache-" + UUID.randomUUID() ), ShellCacheConfiguration.class.getClassLoader() );
+      for ( String region : ShellCacheRegions.ALL ) {
+         CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+         configuration.setMaximumSize( OptionalLong.of( secondLevelCache.getMaximumSize() ) );
+         configuration.setExpireAfterWrite( OptionalLong.of( secondLevelCache.getTimeToLive().toNanos() ) );
+         cacheManager.createCache( region, configuration );
+      }
+      return cacheManager;
+   }
+
+   /**
+    * The inverse collections (e.g. the submodels of a shell) are evicted when a child is saved on its own, otherwise the cached
+    * collection would miss the child.
+    */
+   @Bean
+   public HibernatePropertiesCustomizer secondLevelCacheHibernatePropertiesCustomizer( CacheManager shellCacheManager ) {
+      return properties -> {
+         properties.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, true );
+         properties.put( AvailableSettings.CACHE_REGION_FACTORY, "jcache" );
+         properties.put( ConfigSettings.CACHE_MANAGER, shellCacheManager );
+         properties.put( ConfigSettings.MISSING_CACHE_STRATEGY, "fail" );
+         properties.put( AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true );
+      };
+   }
+}
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.ShellCacheInvalidation;
+import org.eclipse.tractusx.semantics.registry.model.Submodel;
+import org.eclipse.tractusx.semantics.registry.repository.ShellCacheInvalidationRepository;
+import org.eclipse.tractusx.semantics.registry.repository.ShellRepository;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the second-level caches of the instances sharing a database consistent.<br>
+ * The local cache is maintained by Hibernate. In addition, every write of an existing shell records an entry in the invalidation
+ * log (SHELL_CACHE_INVALIDATION) within the writing transaction. Each instance polls the entries of the other instances and
+ * evicts the cached shells and submodels. Creating a shell needs no entry, because it cannot be cached anywhere before.<br>
+ * The entries are read incrementally by their number (SEQ). Numbers which are skipped, because their transaction has not
+ * been committed yet, are read again until they appear or the overlap has passed. The time to live of the cache bounds the
+ * staleness if an entry is missed anyway.
+ */
+@Slf4j
+@Service
+public class ShellCacheInvalidationService implements SmartInitializingSingleton {
+
+   private static final String SHELL_SUBMODELS_ROLE = Shell.class.getName() + "." + Shell.Fields.submodels;
+   private static final String SUBMODEL_ENDPOINTS_ROLE = Submodel.class.getName() + ".endpoints";
+   private static final int MAX_PENDING_SEQS = 10_000;
+
+   private final ShellCacheInvalidationRepository shellCacheInvalidationRepository;
+   private final ShellRepository shellRepository;
+   private final EntityManagerFactory entityManagerFactory;
+   private final boolean enabled;
+   private final Duration overlap;
+   private final Duration retention;
+   private final UUID instanceId = UUID.randomUUID();
+   /**
+    * The skipped numbers below lastSeq which are still expected, with the time they have been skipped first.
+    */
+   private final NavigableMap<Long, Instant> pendingSeqs = new TreeMap<>();
+   private long lastSeq;
+
+   public ShellCacheInvalidationService( ShellCacheInvalidationRepository shellCacheInvalidationRepository, ShellRepository shellRepository,
+         EntityManagerFactory entityManagerFactory, RegistryProperties registryProperties ) {
+      this.shellCacheInvalidationRepository = shellCacheInvalidationRepository;
+      this.shellRepository = shellRepository;
+      this.entityManagerFactory = entityManagerFactory;
+      RegistryProperties.SecondLevelCache secondLevelCache = registryProperties.getSecondLevelCache();
+      this.enabled = secondLevelCache.isEnabled();
+      this.overlap = secondLevelCache.getInvalidationOverlap();
+      this.retention = secondLevelCache.getInvalidationRetention();
+   }
+
+   /**
+    * The cache is empty on startup, the log is read from its current end.
+    */
+   @Override
+   public synchronized void afterSingletonsInstantiated() {
+      if ( enabled ) {
+         lastSeq = shellCacheInvalidationRepository.findMaxSeq();
+      }
+   }
+
+   /**
+    * Records that the shell (but none of its submodels) has been changed.
+    */
+   public void invalidateShell( UUID shellId ) {
+      invalidate( shellId, List.of() );
+   }
+
+   /**
+    * Records that the shell and the given submodels have been changed.
+    */
+   public void invalidate( UUID shellId, Collection<UUID> submodelIds ) {
+      if ( !enabled ) {
+         return;
+      }
+      Instant now = Instant.now();
+      List<ShellCacheInvalidation> invalidations = new ArrayList<>();
+      invalidations.add( new ShellCacheInvalidation( null, shellId, null, instanceId, now, null ) );
+      submodelIds.forEach( submodelId -> invalidations.add( new ShellCacheInvalidation( null, shellId, submodelId, instanceId, now, null ) ) );
+      shellCacheInvalidationRepository.saveAll( invalidations );
+   }
+
+   /**
+    * Records that the shells are about to be deleted and evicts them from the local cache.
+    */
+   public void invalidateShellsByIdExternal( Collection<String> idExternals ) {
+      if ( !enabled ) {
+         return;
+      }
+      shellCacheInvalidationRepository.insertForShellsByIdExternal( idExternals, instanceId, Instant.now() );
+      shellRepository.findIdsByIdExternalIn( idExternals ).forEach( this::evictShell );
+   }
+
+   /**
+    * Evicts the shell and its submodels from the local cache, which is needed after the native statements because they do not
+    * clear the cache. The shell is evicted again after the transaction has completed, in case a concurrent read has cached the
+    * old state in between.
+    */
+   public void evictShell( UUID shellId ) {
+      if ( !enabled ) {
+         return;
+      }
+      Cache cache = entityManagerFactory.getCache().unwrap( Cache.class );
+      evictShell( cache, shellId );
+      if ( TransactionSynchronizationManager.isSynchronizationActive() ) {
+         TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization() {
+            @Override
+            public void afterCompletion( int status ) {
+               evictShell( cache, shellId );
+            }
+         } );
+      }
+   }
+
+   @Scheduled( fixedDelayString = "${registry.second-level-cache.invalidation-poll-interval:PT1S}" )
+   @Transactional
+   public synchronized void evictInvalidatedShells() {
+      if ( !enabled ) {
+         return;
+      }
+      Instant poll = Instant.now();
+      Cache cache = entityManagerFactory.getCache().unwrap( Cache.class );
+      int evicted = 0;
+      long lowerBound = pendingSeqs.isEmpty() ? lastSeq : pendingSeqs.firstKey() - 1;
+      for ( ShellCacheInvalidation invalidation : shellCacheInvalidationRepository.findBySeqGreaterThan( lowerBound ) ) {
+         long seq = invalidation.getSeq();
+         if ( seq > lastSeq ) {
+            for ( long skipped = lastSeq + 1; skipped < seq && pendingSeqs.size() < MAX_PENDING_SEQS; skipped++ ) {
+               pendingSeqs.put( skipped, poll );
+            }
+            lastSeq = seq;
+         } else if ( pendingSeqs.remove( seq ) == null ) {
+            continue;
+         }
+         if ( !instanceId.equals( invalidation.getInstanceId() ) ) {
+            evict( cache, invalidation );
+            evicted++;
+         }
+      }
+      Instant expired = poll.minus( overlap );
+      pendingSeqs.values().removeIf( skippedDate -> !skippedDate.isAfter( expired ) );
+      if ( evicted > 0 ) {
+         log.debug( "Evicted the cached state of {} invalidations of other instances.", evicted );
+      }
+   }
+
+   private static void evict( Cache cache, ShellCacheInvalidation invalidation ) {
+      evictShell( cache, invalidation.getShellId() );
+      if ( invalidation.getSubmodelId() != null ) {
+         cache.evictEntityData( Submodel.class, invalidation.getSubmodelId() );
+         cache.evictCollectionData( SUBMODEL_ENDPOINTS_ROLE, invalidation.getSubmodelId() );
+      }
+   }
+
+   private static void evictShell( Cache cache, UUID shellId ) {
+      cache.evictEntityData( Shell.class, shellId );
+      cache.evictCollectionData( SHELL_SUBMODELS_ROLE, shellId );
+   }
+
+   @Scheduled( fixedDelayString = "${registry.second-level-cache.invalidation-cleanup-interval:PT10M}" )
+   @Transactional
+   public void deleteExpiredInvalidations() {
+      if ( !enabled ) {
+         return;
+      }
+      int deleted = shellCacheInvalidationRepository.deleteCreatedBefore( Instant.now().minus( retention ) );
+      log.debug( "Deleted {} expired cache invalidations.", deleted );
+   }
+}
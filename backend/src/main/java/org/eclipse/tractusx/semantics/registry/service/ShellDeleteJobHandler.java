@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.tractusx.semantics.registry.dto.BatchResultDto;
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Deletes the shells whose ids are listed in the input, a gzip compressed NDJSON file of JSON strings. The checkpoint is
+ * the number of ids processed so far, the result contains the outcome of every id. Ids of a repeated chunk which have
+ * already been deleted are reported as not found.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShellDeleteJobHandler implements RegistryJobHandler {
+
+   private static final int DELETE_CHUNK_SIZE = 500;
+
+   private final ShellService shellService;
+   private final ShellMapper shellMapper;
+   private final ObjectMapper objectMapper;
+
+   @Override
+   public RegistryJob.Type getType() {
+      return RegistryJob.Type.DELETE;
+   }
+
+   @Override
+   public void process( RegistryJobExecution execution ) throws IOException {
+      try ( BufferedReader reader = new BufferedReader(
+            new InputStreamReader( new GZIPInputStream( execution.openInput() ), StandardCharsets.UTF_8 ) ) ) {
+         long skipped = 0;
+         List<String> chunk = new ArrayList<>( DELETE_CHUNK_SIZE );
+         String line;
+         while ( (line = reader.readLine()) != null ) {
+            if ( skipped < execution.getProcessed() ) {
+               skipped++;
+               continue;
+            }
+            chunk.add( objectMapper.readValue( line, String.class ) );
+            if ( chunk.size() == DELETE_CHUNK_SIZE ) {
+               deleteChunk( execution, chunk );
+               chunk.clear();
+            }
+         }
+         if ( !chunk.isEmpty() ) {
+            deleteChunk( execution, chunk );
+         }
+      }
+   }
+
+   private void deleteChunk( RegistryJobExecution execution, List<String> chunk ) throws IOException {
+      List<BatchResultDto> results = shellService.deleteBatch( chunk );
+      long succeeded = results.stream().filter( result -> result.getStatus() == HttpStatus.OK.value() ).count();
+      execution.writeResult( shellMapper.toApiDto( results ) );
+      execution.checkpoint( chunk.size(), succeeded, chunk.size() - succeeded, null );
+   }
+}
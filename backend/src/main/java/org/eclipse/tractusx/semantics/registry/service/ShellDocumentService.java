@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.repository.ShellRepository;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Maintains the descriptor document of the shells, i.e. the complete AssetAdministrationShellDescriptor stored as gzip
+ * compressed JSON in the shell row. The document is written in the transaction of each write to the normalized tables,
+ * so that a shell descriptor can be read from the shell row alone. The visibility rules are applied to the shell restored
+ * from the document, the document itself always holds the view of the owning tenant.<br>
+ * If the document is disabled, the writes clear stored documents so that no outdated document is read once the document is
+ * enabled again. Shells without a document are read from the normalized tables.
+ */
+@Service
+public class ShellDocumentService {
+
+   private final ShellRepository shellRepository;
+   private final ShellMapper shellMapper;
+   private final ObjectReader descriptorReader;
+   private final ObjectWriter descriptorWriter;
+   private final boolean enabled;
+
+   public ShellDocumentService( ShellRepository shellRepository, ShellMapper shellMapper, ObjectMapper objectMapper,
+         RegistryProperties registryProperties ) {
+      this.shellRepository = shellRepository;
+      this.shellMapper = shellMapper;
+      this.descriptorReader = objectMapper.readerFor( AssetAdministrationShellDescriptor.class );
+      this.descriptorWriter = objectMapper.writerFor( AssetAdministrationShellDescriptor.class );
+      this.enabled = BooleanUtils.isTrue( registryProperties.getUseDescriptorDocument() );
+   }
+
+   /**
+    * Writes the document of a shell whose complete graph is at hand, e.g. a new shell or a merged managed shell.
+    */
+   public void writeDocument( Shell shell ) {
+      shell.setDescriptorDocument( enabled ? toDocument( shellMapper.toApiDto( shell ) ) : null );
+   }
+
+   /**
+    * Writes the document of a shell after parts of its graph have been changed without loading the whole graph. The pending
+    * changes are flushed and the graph is read back within the current transaction. If the document is disabled, a document
+    * written while it was enabled is cleared. The shell is changed as entity rather than by an update statement, which would
+    * evict all shells from the second-level cache.
+    */
+   public void rewriteDocument( UUID shellId ) {
+      if ( enabled ) {
+         shellRepository.flush();
+      }
+      shellRepository.findById( shellId ).ifPresent( this::writeDocument );
+   }
+
+   /**
+    * Restores the shell from its document. The restored shell is detached and must not be saved, it carries the technical
+    * properties (id, created date) of the stored shell.
+    *
+    * @return the restored shell or the given shell if it has no document
+    */
+   public Shell restoreShell( Shell shell ) {
+      if ( !enabled || shell.getDescriptorDocument() == null ) {
+         return shell;
+      }
+      Shell restored = shellMapper.fromApiDto( fromDocument( shell.getDescriptorDocument() ) );
+      restored.setId( shell.getId() );
+      restored.setCreatedDate( shell.getCreatedDate() );
+      restored.setLastModifiedDate( shell.getLastModifiedDate() );
+      return restored;
+   }
+
+   private byte[] toDocument( AssetAdministrationShellDescriptor descriptor ) {
+      ByteArrayOutputStream document = new ByteArrayOutputStream();
+      try ( OutputStream outputStream = new GZIPOutputStream( document ) ) {
+         descriptorWriter.writeValue( outputStream, descriptor );
+      } catch ( IOException e ) {
+         throw new UncheckedIOException( e );
+      }
+      return document.toByteArray();
+   }
+
+   private AssetAdministrationShellDescriptor fromDocument( byte[] document ) {
+      try ( InputStream inputStream = new GZIPInputStream( new ByteArrayInputStream( document ) ) ) {
+         return descriptorReader.readValue( inputStream );
+      } catch ( IOException e ) {
+         throw new UncheckedIOException( e );
+      }
+   }
+}
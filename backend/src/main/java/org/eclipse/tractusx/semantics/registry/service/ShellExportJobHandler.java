@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exports all shells to the result of the job. The checkpoint is the id of the last exported shell, so the export
+ * continues in id order after a restart. In contrast to the synchronous export, the chunks are read in separate
+ * transactions, i.e. the result is not a consistent snapshot if the registry is modified meanwhile.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShellExportJobHandler implements RegistryJobHandler {
+
+   private final ShellExportService shellExportService;
+
+   @Override
+   public RegistryJob.Type getType() {
+      return RegistryJob.Type.EXPORT;
+   }
+
+   @Override
+   public void process( RegistryJobExecution execution ) throws IOException {
+      UUID lastId = Optional.ofNullable( execution.getCheckpoint() ).map( UUID::fromString ).orElse( null );
+      ShellExportService.ExportChunk chunk;
+      while ( !(chunk = shellExportService.exportChunk( lastId )).isEmpty() ) {
+         execution.writeResult( chunk.ndjson() );
+         execution.checkpoint( chunk.size(), chunk.size(), 0, chunk.lastId().toString() );
+         lastId = chunk.lastId();
+      }
+   }
+}
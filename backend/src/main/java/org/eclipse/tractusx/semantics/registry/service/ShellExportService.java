@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.repository.ShellRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports all shells as gzip compressed NDJSON, i.e. one AssetAdministrationShellDescriptor per line, which can be imported
+ * again with {@link ShellImportService}.<br>
+ * The shells are read in id ordered chunks, each chunk in its own short read-only transaction, and the persistence context
+ * is cleared after each chunk. The memory consumption is therefore independent of the size of the registry and no
+ * transaction is kept open while the content is written to the client.
+ */
+@Slf4j
+@Service
+public class ShellExportService {
+
+   private static final int EXPORT_CHUNK_SIZE = 500;
+   private static final byte[] LINE_SEPARATOR = "\n".getBytes( StandardCharsets.UTF_8 );
+
+   private final ShellRepository shellRepository;
+   private final ShellMapper shellMapper;
+   private final EntityManager entityManager;
+   private final ObjectWriter descriptorWriter;
+   private final String owningTenantId;
+   private final TransactionTemplate readOnlyTransactionTemplate;
+
+   public ShellExportService( ShellRepository shellRepository, ShellMapper shellMapper, EntityManager entityManager, ObjectMapper objectMapper,
+         RegistryProperties registryProperties, PlatformTransactionManager transactionManager ) {
+      this.shellRepository = shellRepository;
+      this.shellMapper = shellMapper;
+      this.entityManager = entityManager;
+      this.descriptorWriter = objectMapper.writerFor( AssetAdministrationShellDescriptor.class );
+      this.owningTenantId = registryProperties.getIdm().getOwningTenantId();
+      this.readOnlyTransactionTemplate = new TransactionTemplate( transactionManager );
+      this.readOnlyTransactionTemplate.setReadOnly( true );
+   }
+
+   /**
+    * The export contains the shells regardless of the visibility rules, so only the owning tenant is allowed to export.
+    */
+   public boolean isAllowedToExport( String externalSubjectId ) {
+      return owningTenantId.equals( externalSubjectId );
+   }
+
+   /**
+    * Writes all shells to the output stream. The chunks are read in separate transactions, like the chunks of
+    * {@link #exportChunk(UUID)}, so a chunk is consistent in itself, but shells which are changed during the export are
+    * exported with the state at the time their chunk is read.
+    *
+    * @param outputStream the target of the gzip compressed NDJSON content, the stream is not closed
+    * @return the number of exported shells
+    */
+   public long exportShells( OutputStream outputStream ) throws IOException {
+      GZIPOutputStream gzipOutputStream = new GZIPOutputStream( outputStream, 64 * 1024 );
+      long exported = 0;
+      ExportChunk chunk = readOnlyTransactionTemplate.execute( status -> readChunk( null ) );
+      while ( !chunk.isEmpty() ) {
+         gzipOutputStream.write( chunk.ndjson() );
+         exported += chunk.size();
+         log.debug( "Export progress: {} shells exported.", exported );
+         UUID lastId = chunk.lastId();
+         chunk = readOnlyTransactionTemplate.execute( status -> readChunk( lastId ) );
+      }
+      gzipOutputStream.finish();
+      log.info( "Exported {} shells.", exported );
+      return exported;
+   }
+
+   /**
+    * Exports the shells following the given shell id in id order. An export written chunk by chunk can be continued with
+    * the last id of the previous chunk.
+    *
+    * @param afterId the id of the last exported shell or null to start with the first shell
+    * @return the NDJSON content of the chunk, empty if there are no more shells
+    */
+   @Transactional( readOnly = true )
+   public ExportChunk exportChunk( UUID afterId ) {
+      return readChunk( afterId );
+   }
+
+   private ExportChunk readChunk( UUID afterId ) {
+      Pageable chunk = PageRequest.ofSize( EXPORT_CHUNK_SIZE );
+      List<UUID> ids = afterId == null ? shellRepository.findIdsOrderById( chunk ) : shellRepository.findIdsAfterOrderById( afterId, chunk );
+      if ( ids.isEmpty() ) {
+         return new ExportChunk( new byte[0], 0, afterId );
+      }
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      int exported = 0;
+      for ( Shell shell : shellRepository.findAllByIdOrderById( ids ) ) {
+         try {
+            content.writeBytes( descriptorWriter.writeValueAsBytes( shellMapper.toApiDto( shell ) ) );
+         } catch ( JsonProcessingException e ) {
+            throw new UncheckedIOException( e );
+         }
+         content.writeBytes( LINE_SEPARATOR );
+         exported++;
+      }
+      entityManager.clear();
+      return new ExportChunk( content.toByteArray(), exported, ids.get( ids.size() - 1 ) );
+   }
+
+   /**
+    * @param ndjson the exported shells, one AssetAdministrationShellDescriptor per line
+    * @param size the number of exported shells
+    * @param lastId the id of the last exported shell
+    */
+   public record ExportChunk( byte[] ndjson, int size, UUID lastId ) {
+      public boolean isEmpty() {
+         return size == 0;
+      }
+   }
+}
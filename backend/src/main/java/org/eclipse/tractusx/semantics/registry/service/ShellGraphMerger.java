@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.tractusx.semantics.aas.registry.model.SubmodelDescriptor;
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.mapper.SubmodelMapper;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.ShellDescription;
+import org.eclipse.tractusx.semantics.registry.model.ShellDisplayName;
+import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
+import org.eclipse.tractusx.semantics.registry.model.Submodel;
+import org.eclipse.tractusx.semantics.registry.model.SubmodelDescription;
+import org.eclipse.tractusx.semantics.registry.model.SubmodelDisplayName;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.HashMultiset;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies the state of an incoming shell to the persistent shell graph in place.<br>
+ * Children are matched by their natural key (language, submodel id) or by value (specificAssetIds, endpoints). Matching
+ * children are updated, unmatched stored children are removed from their collections (and deleted by orphan removal)
+ * and unmatched incoming children are attached. Unchanged rows are therefore neither deleted nor re-inserted and keep
+ * their primary keys.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShellGraphMerger {
+
+   private final ShellMapper shellMapper;
+   private final SubmodelMapper submodelMapper;
+
+   /**
+    * Merges the incoming shell into the managed shell. The incoming shell must be fully mapped, i.e. the back references
+    * of its nested elements must be set.
+    *
+    * @param stored the managed shell
+    * @param incoming the detached shell holding the new state
+    */
+   public void mergeShell( Shell stored, Shell incoming ) {
+      stored.setIdShort( incoming.getIdShort() );
+      stored.setShellKind( incoming.getShellKind() );
+      stored.setShellType( incoming.getShellType() );
+
+      merge( stored.getDescriptions(), incoming.getDescriptions(), ShellDescription::getLanguage,
+            ( storedDescription, incomingDescription ) -> storedDescription.setText( incomingDescription.getText() ),
+            description -> description.setShellId( stored ) );
+      merge( stored.getDisplayNames(), incoming.getDisplayNames(), ShellDisplayName::getLanguage,
+            ( storedDisplayName, incomingDisplayName ) -> storedDisplayName.setText( incomingDisplayName.getText() ),
+            displayName -> displayName.setShellId( stored ) );
+      merge( stored.getIdentifiers(), incoming.getIdentifiers(), this::identifierValue,
+            ( storedIdentifier, incomingIdentifier ) -> {},
+            identifier -> identifier.setShellId( stored ) );
+      merge( stored.getSubmodels(), incoming.getSubmodels(), Submodel::getIdExternal,
+            this::mergeSubmodel,
+            submodel -> submodel.setShellId( stored ) );
+   }
+
+   /**
+    * Returns the value of a specificAssetId (key, value, externalSubjectId and semantic ids) by which it is matched, two
+    * identifiers with equal values are interchangeable.
+    */
+   public Object identifierValue( ShellIdentifier identifier ) {
+      return shellMapper.fromDtoApi( identifier );
+   }
+
+   /**
+    * Merges the incoming submodel into the managed submodel. The incoming submodel must be fully mapped, i.e. the back
+    * references of its nested elements must be set.
+    *
+    * @param stored the managed submodel
+    * @param incoming the detached submodel holding the new state
+    */
+   public void mergeSubmodel( Submodel stored, Submodel incoming ) {
+      SubmodelDescriptor storedDescriptor = submodelMapper.toApiDto( stored );
+      SubmodelDescriptor incomingDescriptor = submodelMapper.toApiDto( incoming );
+      if ( storedDescriptor.equals( incomingDescriptor ) ) {
+         return;
+      }
+
+      stored.setIdShort( incoming.getIdShort() );
+      merge( stored.getDescriptions(), incoming.getDescriptions(), SubmodelDescription::getLanguage,
+            ( storedDescription, incomingDescription ) -> storedDescription.setText( incomingDescription.getText() ),
+            description -> description.setSubmodel( stored ) );
+      merge( stored.getDisplayNames(), incoming.getDisplayNames(), SubmodelDisplayName::getLanguage,
+            ( storedDisplayName, incomingDisplayName ) -> storedDisplayName.setText( incomingDisplayName.getText() ),
+            displayName -> displayName.setSubmodel( stored ) );
+      merge( stored.getEndpoints(), incoming.getEndpoints(), submodelMapper::toApiDto,
+            ( storedEndpoint, incomingEndpoint ) -> {},
+            endpoint -> endpoint.setSubmodel( stored ) );
+
+      if ( !Objects.equals( storedDescriptor.getSemanticId(), incomingDescriptor.getSemanticId() ) ) {
+         Optional.ofNullable( incoming.getSemanticId() ).ifPresent( semanticId -> semanticId.setSubmodel( stored ) );
+         stored.setSemanticId( incoming.getSemanticId() );
+      }
+
+      if ( !isSameMultiset( storedDescriptor.getSupplementalSemanticId(), incomingDescriptor.getSupplementalSemanticId() ) ) {
+         if ( stored.getSubmodelSupplemSemanticIds() == null ) {
+            stored.setSubmodelSupplemSemanticIds( new HashSet<>() );
+         }
+         stored.getSubmodelSupplemSemanticIds().clear();
+         Optional.ofNullable( incoming.getSubmodelSupplemSemanticIds() ).stream().flatMap( Collection::stream ).forEach( supplemental -> {
+            supplemental.setSubmodel( stored );
+            stored.getSubmodelSupplemSemanticIds().add( supplemental );
+         } );
+      }
+   }
+
+   /**
+    * Merges the incoming elements into the stored collection. Each incoming element is matched with at most one stored
+    * element having the same key, duplicate keys are matched in iteration order. The stored collection is only mutated,
+    * never replaced, so that Hibernate can track the removed elements.
+    */
+   private static <E> void merge( Set<E> stored, Set<E> incoming, Function<E, ?> key, BiConsumer<E, E> update, Consumer<E> attach ) {
+      Map<Object, Deque<E>> storedByKey = new HashMap<>();
+      stored.forEach( element -> storedByKey.computeIfAbsent( key.apply( element ), k -> new ArrayDeque<>() ).add( element ) );
+
+      Set<E> retained = new HashSet<>();
+      List<E> added = new ArrayList<>();
+      Optional.ofNullable( incoming ).stream().flatMap( Collection::stream ).forEach( element -> {
+         E match = Optional.ofNullable( storedByKey.get( key.apply( element ) ) ).map( Deque::poll ).orElse( null );
+         if ( match != null ) {
+            update.accept( match, element );
+            retained.add( match );
+         } else {
+            attach.accept( element );
+            added.add( element );
+         }
+      } );
+
+      stored.retainAll( retained );
+      stored.addAll( added );
+   }
+
+   private static boolean isSameMultiset( List<?> stored, List<?> incoming ) {
+      return HashMultiset.create( Optional.ofNullable( stored ).orElse( List.of() ) )
+            .equals( HashMultiset.create( Optional.ofNullable( incoming ).orElse( List.of() ) ) );
+   }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Imports a gzip compressed NDJSON file of shells. The checkpoint is the number of lines imported so far, the result
+ * contains the lines which could not be imported. Shells of a repeated chunk are reported as duplicates.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShellImportJobHandler implements RegistryJobHandler {
+
+   private final ShellImportService shellImportService;
+   private final ShellMapper shellMapper;
+
+   @Override
+   public RegistryJob.Type getType() {
+      return RegistryJob.Type.IMPORT;
+   }
+
+   @Override
+   public void process( RegistryJobExecution execution ) throws IOException {
+      try ( InputStream input = execution.openInput() ) {
+         shellImportService.importShells( input, execution.getProcessed(), ( lineNumber, succeeded, errors ) -> {
+            execution.writeResult( errors.stream().map( shellMapper::toApiDto ).toList() );
+            execution.checkpoint( lineNumber - execution.getProcessed(), succeeded, errors.size(), null );
+         } );
+      }
+   }
+}
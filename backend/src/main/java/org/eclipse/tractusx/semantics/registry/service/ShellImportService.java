@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.registry.dto.BatchResultDto;
+import org.eclipse.tractusx.semantics.registry.dto.ImportErrorDto;
+import org.eclipse.tractusx.semantics.registry.dto.ImportResultDto;
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports shells from gzip compressed NDJSON files, i.e. one AssetAdministrationShellDescriptor per line.<br>
+ * The file is streamed, only one chunk of lines is held in memory at a time. Each chunk is saved with
+ * {@link ShellService#saveBatch(List)}, which applies the uniqueness rules of the registry and sends the inserts in JDBC
+ * batches. Lines which cannot be parsed, validated or saved are reported with their line number and do not prevent the
+ * other lines from being imported.<br>
+ * The import runs synchronously in the calling thread and uses the regular inserts of the batch registration, the lines are
+ * not copied into staging tables.
+ */
+@Slf4j
+@Service
+public class ShellImportService {
+
+   public static final int MAXIMUM_REPORTED_ERRORS = 10000;
+   private static final int IMPORT_CHUNK_SIZE = 500;
+
+   private final ShellService shellService;
+   private final ShellMapper shellMapper;
+   private final ObjectReader descriptorReader;
+   private final Validator validator;
+
+   public ShellImportService( ShellService shellService, ShellMapper shellMapper, ObjectMapper objectMapper, Validator validator ) {
+      this.shellService = shellService;
+      this.shellMapper = shellMapper;
+      this.descriptorReader = objectMapper.readerFor( AssetAdministrationShellDescriptor.class );
+      this.validator = validator;
+   }
+
+   /**
+    * @param gzipNdjson the gzip compressed NDJSON content, the stream is not closed
+    * @return the summary of the import
+    * @throws IllegalArgumentException if the content is not gzip compressed
+    */
+   public ImportResultDto importShells( InputStream gzipNdjson ) throws IOException {
+      ImportProgress progress = new ImportProgress();
+      importShells( gzipNdjson, 0, ( lineNumber, succeeded, errors ) -> {
+         progress.succeeded += succeeded;
+         errors.forEach( progress::fail );
+         log.info( "Import progress: {} lines processed, {} shells imported, {} failed.", lineNumber, progress.succeeded, progress.failed );
+      } );
+
+      long total = progress.succeeded + progress.failed;
+      log.info( "Imported {} of {} shells, {} failed.", progress.succeeded, total, progress.failed );
+      return new ImportResultDto( total, progress.succeeded, progress.failed, progress.errors );
+   }
+
+   /**
+    * Imports the lines following the given line number, so that an interrupted import can be continued. The listener is
+    * called after each chunk has been saved.
+    *
+    * @param gzipNdjson the gzip compressed NDJSON content, the stream is not closed
+    * @param skippedLines the number of lines at the beginning of the file which have already been imported
+    * @param listener receives the outcome of each chunk
+    * @throws IllegalArgumentException if the content is not gzip compressed
+    */
+   public void importShells( InputStream gzipNdjson, long skippedLines, ImportChunkListener listener ) throws IOException {
+      BufferedReader reader = new BufferedReader( new InputStreamReader( openGzip( gzipNdjson ), StandardCharsets.UTF_8 ) );
+      List<ImportLine> chunk = new ArrayList<>( IMPORT_CHUNK_SIZE );
+
+      long lineNumber = 0;
+      String line;
+      while ( (line = reader.readLine()) != null ) {
+         lineNumber++;
+         if ( lineNumber <= skippedLines || StringUtils.isBlank( line ) ) {
+            continue;
+         }
+         try {
+            chunk.add( new ImportLine( lineNumber, toShell( line ), null ) );
+         } catch ( IllegalArgumentException e ) {
+            chunk.add( new ImportLine( lineNumber, null, e.getMessage() ) );
+         }
+         if ( chunk.size() == IMPORT_CHUNK_SIZE ) {
+            saveChunk( chunk, lineNumber, listener );
+            chunk.clear();
+         }
+      }
+      if ( !chunk.isEmpty() ) {
+         saveChunk( chunk, lineNumber, listener );
+      }
+   }
+
+   private static InputStream openGzip( InputStream inputStream ) throws IOException {
+      try {
+         return new GZIPInputStream( inputStream );
+      } catch ( ZipException e ) {
+         throw new IllegalArgumentException( "The content is not gzip compressed." );
+      }
+   }
+
+   private Shell toShell( String line ) {
+      AssetAdministrationShellDescriptor descriptor;
+      try {
+         descriptor = descriptorReader.readValue( line );
+      } catch ( JsonProcessingException e ) {
+         throw new IllegalArgumentException( "Invalid AssetAdministrationShellDescriptor: " + e.getOriginalMessage() );
+      }
+
+      Set<ConstraintViolation<AssetAdministrationShellDescriptor>> violations = validator.validate( descriptor );
+      if ( !violations.isEmpty() ) {
+         throw new IllegalArgumentException( violations.stream()
+               .map( violation -> violation.getPropertyPath() + " " + violation.getMessage() )
+               .sorted()
+               .collect( Collectors.joining( ", " ) ) );
+      }
+
+      Shell shell = shellMapper.fromApiDto( descriptor );
+      shellService.mapShellCollection( shell );
+      if ( !shell.getSubmodels().isEmpty() ) {
+         shellService.mapSubmodel( shell.getSubmodels() );
+      }
+      return shell;
+   }
+
+   private void saveChunk( List<ImportLine> chunk, long lineNumber, ImportChunkListener listener ) throws IOException {
+      Iterator<BatchResultDto> results = shellService.saveBatch( chunk.stream().filter( ImportLine::isValid ).map( ImportLine::shell ).toList() )
+            .iterator();
+      long succeeded = 0;
+      List<ImportErrorDto> errors = new ArrayList<>();
+      // the lines are reported in the order of the file
+      for ( ImportLine importLine : chunk ) {
+         if ( !importLine.isValid() ) {
+            errors.add( new ImportErrorDto( importLine.lineNumber(), null, importLine.error() ) );
+            continue;
+         }
+         BatchResultDto result = results.next();
+         if ( result.getStatus() == HttpStatus.OK.value() ) {
+            succeeded++;
+         } else {
+            errors.add( new ImportErrorDto( importLine.lineNumber(), result.getIdExternal(), result.getMessage() ) );
+         }
+      }
+      listener.chunkImported( lineNumber, succeeded, errors );
+   }
+
+   @FunctionalInterface
+   public interface ImportChunkListener {
+      /**
+       * @param lineNumber the number of the last line of the chunk, all lines up to this one have been processed
+       * @param succeeded the number of shells of the chunk which have been imported
+       * @param errors the lines of the chunk which could not be imported
+       */
+      void chunkImported( long lineNumber, long succeeded, List<ImportErrorDto> errors ) throws IOException;
+   }
+
+   private record ImportLine( long lineNumber, Shell shell, String error ) {
+      private boolean isValid() {
+         return error == null;
+      }
+   }
+
+   private static class ImportProgress {
+      private long succeeded;
+      private long failed;
+      private final List<ImportErrorDto> errors = new ArrayList<>();
+
+      private void fail( ImportErrorDto error ) {
+         failed++;
+         if ( errors.size() < MAXIMUM_REPORTED_ERRORS ) {
+            errors.add( error );
+         }
+      }
+   }
+}
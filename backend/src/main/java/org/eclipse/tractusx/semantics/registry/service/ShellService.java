@@ -21,14 +21,21 @@ package org.eclipse.tractusx.semantics.registry.service;
 import static org.springframework.data.domain.PageRequest.ofSize;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,22 +51,35 @@ import org.eclipse.tractusx.semantics.registry.dto.ShellCollectionDto;
 import org.eclipse.tractusx.semantics.registry.dto.SubmodelCollectionDto;
 import org.eclipse.tractusx.semantics.registry.model.Shell;
 import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
+import org.eclipse.tractusx.semantics.registry.model.ShellIdentifierExternalSubjectReferenceKey;
+import org.eclipse.tractusx.semantics.registry.model.ShellIdentifierTenant;
 import org.eclipse.tractusx.semantics.registry.model.Submodel;
 import org.eclipse.tractusx.semantics.registry.model.projection.ShellIdentifierMinimal;
 import org.eclipse.tractusx.semantics.registry.model.projection.ShellMinimal;
+import org.eclipse.tractusx.semantics.registry.model.projection.SubmodelSemanticIdMinimal;
 import org.eclipse.tractusx.semantics.registry.repository.ShellIdentifierRepository;
 import org.eclipse.tractusx.semantics.registry.repository.ShellRepository;
+import org.eclipse.tractusx.semantics.registry.repository.SpecificAssetIdValues;
 import org.eclipse.tractusx.semantics.registry.repository.SubmodelRepository;
+import org.eclipse.tractusx.semantics.registry.repository.TenantVisibility;
 import org.eclipse.tractusx.semantics.registry.utils.ShellCursor;
 import org.eclipse.tractusx.semantics.registry.utils.ShellSpecification;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.NonTransientDataAccessResourceException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -67,16 +87,30 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class ShellService {
 
+   public static final String DUPLICATE_SHELL_EXCEPTION = "An AssetAdministrationShell for the given identification does already exists.";
+   public static final String DUPLICATE_SHELL_ID_SHORT_EXCEPTION = "An AssetAdministrationShell for the given IdShort already exists.";
    public static final String DUPLICATE_SUBMODEL_EXCEPTION = "An AssetAdministrationSubmodel for the given identification does already exists.";
    public static final String DUPLICATE_SUBMODEL_ID_SHORT_EXCEPTION = "An AssetAdministration Submodel for the given IdShort does already exists.";
    private static final String SORT_FIELD_NAME_SHELL = "createdDate";
    private static final String SORT_FIELD_NAME_SUBMODEL = "id";
    private static final int MAXIMUM_RECORDS = 1000;
+   private static final int BATCH_CHUNK_SIZE = 500;
+   private static final String SUBMODEL_ID_EXTERNAL_CONSTRAINT = "SUBMODEL_AK_01";
+   private static final String SHELL_ID_EXTERNAL_CONSTRAINT = "SHELL_AK_01";
+   private static final String BATCH_CONSTRAINT_VIOLATION_MESSAGE = "Failed to create AssetAdministrationShell, it violates a constraint of the registry.";
+   private static final String BATCH_UNAVAILABLE_MESSAGE = "Failed to %s AssetAdministrationShell, the registry is temporarily unavailable.";
+   private static final String BATCH_INTERNAL_ERROR_MESSAGE = "Failed to %s AssetAdministrationShell due to an internal error.";
 
    private final ShellRepository shellRepository;
    private final ShellIdentifierRepository shellIdentifierRepository;
    private final SubmodelRepository submodelRepository;
    private final ShellAccessHandler shellAccessHandler;
+   private final ShellVisibilityIndexService shellVisibilityIndexService;
+   private final ShellGraphMerger shellGraphMerger;
+   private final ShellDocumentService shellDocumentService;
+   private final ShellCacheInvalidationService shellCacheInvalidationService;
+   private final ValueDictionary valueDictionary;
+   private final TransactionTemplate transactionTemplate;
    private final String owningTenantId;
    private final String externalSubjectIdWildcardPrefix;
    private final List<String> externalSubjectIdWildcardAllowedTypes;
@@ -85,11 +119,23 @@ public class ShellService {
          ShellIdentifierRepository shellIdentifierRepository,
          SubmodelRepository submodelRepository,
          RegistryProperties registryProperties,
-         ShellAccessHandler shellAccessHandler ) {
+         ShellAccessHandler shellAccessHandler,
+         ShellVisibilityIndexService shellVisibilityIndexService,
+         ShellGraphMerger shellGraphMerger,
+         ShellDocumentService shellDocumentService,
+         ShellCacheInvalidationService shellCacheInvalidationService,
+         ValueDictionary valueDictionary,
+         PlatformTransactionManager transactionManager ) {
       this.shellRepository = shellRepository;
       this.shellIdentifierRepository = shellIdentifierRepository;
       this.submodelRepository = submodelRepository;
       this.shellAccessHandler = shellAccessHandler;
+      this.shellVisibilityIndexService = shellVisibilityIndexService;
+      this.shellGraphMerger = shellGraphMerger;
+      this.shellDocumentService = shellDocumentService;
+      this.shellCacheInvalidationService = shellCacheInvalidationService;
+      this.valueDictionary = valueDictionary;
+      this.transactionTemplate = new TransactionTemplate( transactionManager );
       this.owningTenantId = registryProperties.getIdm().getOwningTenantId();
       this.externalSubjectIdWildcardPrefix = registryProperties.getExternalSubjectIdWildcardPrefix();
       this.externalSubjectIdWildcardAllowedTypes = registryProperties.getExternalSubjectIdWildcardAllowedTypes();
@@ -97,13 +143,16 @@ public class ShellService {
 
    @Transactional
    public Shell save( Shell shell ) {
-      if ( shellRepository.findByIdExternal( shell.getIdExternal() ).isPresent() ) {
-         throw new DuplicateKeyException( "An AssetAdministrationShell for the given identification does already exists." );
+      if ( shellRepository.existsByIdExternal( shell.getIdExternal() ) ) {
+         throw new DuplicateKeyException( DUPLICATE_SHELL_EXCEPTION );
       }
 
       validateIdShort( shell );
 
-      return shellRepository.save( shell );
+      shellDocumentService.writeDocument( shell );
+      Shell saved = shellRepository.save( shell );
+      shellVisibilityIndexService.reindexShell( saved.getId() );
+      return saved;
    }
 
    /**
@@ -114,7 +163,7 @@ public class ShellService {
       //Check uniqueness of IdShort in shell level
       Optional.ofNullable( shell.getIdShort() ).map( shellRepository::existsByIdShort ).filter( BooleanUtils::isTrue )
             .ifPresent( aBoolean -> {
-               throw new DuplicateKeyException( "An AssetAdministrationShell for the given IdShort already exists." );
+               throw new DuplicateKeyException( DUPLICATE_SHELL_ID_SHORT_EXCEPTION );
             } );
 
       checkForDuplicateIdShortWithInSubModels( shell );
@@ -173,14 +222,27 @@ public class ShellService {
 
    @Transactional
    public Shell findShellByExternalIdAndExternalSubjectId( String externalShellId, String externalSubjectId ) {
+      return findShellByExternalIdAndExternalSubjectId( externalShellId, externalSubjectId, UnaryOperator.identity() );
+   }
+
+   /**
+    * Finds the shell for rendering its descriptor. If the descriptor document is enabled, the shell is restored from the document
+    * instead of reading the child tables. The returned shell is detached and must only be used for reading.
+    */
+   @Transactional( readOnly = true )
+   public Shell findShellDescriptorByExternalIdAndExternalSubjectId( String externalShellId, String externalSubjectId ) {
+      return findShellByExternalIdAndExternalSubjectId( externalShellId, externalSubjectId, shellDocumentService::restoreShell );
+   }
+
+   private Shell findShellByExternalIdAndExternalSubjectId( String externalShellId, String externalSubjectId, UnaryOperator<Shell> readModel ) {
       final Optional<Shell> optionalShell;
       if ( shellAccessHandler.supportsGranularAccessControl() ) {
          optionalShell = shellRepository.findByIdExternal( externalShellId );
       } else {
-         optionalShell = shellRepository.findByIdExternalAndExternalSubjectId( externalShellId, externalSubjectId,
-               owningTenantId, externalSubjectIdWildcardPrefix, externalSubjectIdWildcardAllowedTypes );
+         optionalShell = shellRepository.findByIdExternalAndExternalSubjectId( externalShellId, tenantVisibility( externalSubjectId ) );
       }
       return optionalShell
+            .map( readModel )
             .map( shell -> shellAccessHandler.filterShellProperties( shell, externalSubjectId ) )
             .orElseThrow( () -> new EntityNotFoundException( String.format( "Shell for identifier %s not found", externalShellId ) ) );
    }
@@ -200,9 +262,11 @@ public class ShellService {
       boolean hasNext = true;
       //fetch 1 more item to make sure there is a visible item for the next page
       int fetchSize = pageSize + 1;
+      int pageNumber = 0;
       while ( foundList.size() < fetchSize && hasNext ) {
-         Page<Shell> currentPage = shellRepository.findAll( specification, ofSize( fetchSize ) );
-         List<Shell> shells = shellAccessHandler.filterListOfShellProperties( currentPage.stream().toList(), externalSubjectId );
+         Page<Shell> currentPage = shellRepository.findAll( specification, PageRequest.of( pageNumber++, fetchSize ) );
+         List<Shell> shells = shellAccessHandler.filterListOfShellProperties( currentPage.stream().map( shellDocumentService::restoreShell ).toList(),
+               externalSubjectId );
          shells.stream()
                .limit( (long) fetchSize - foundList.size() )
                .forEach( foundList::add );
@@ -222,12 +286,64 @@ public class ShellService {
             .build();
    }
 
+   /**
+    * Returns the shells having a submodel with the given semanticId key value. The candidates are read in shell id order from the
+    * semanticId index and the cursor is the id of the last returned shell, so the pages do not depend on the number of skipped shells.
+    * The visibility based on the externalSubjectIds is checked by the query, the shells are filtered by the access handler and
+    * shells without a visible submodel with the semanticId are skipped.
+    */
+   @Transactional( readOnly = true )
+   public ShellCollectionDto findAllShellsBySubmodelSemanticId( String semanticId, Integer pageSize, String cursorVal, String externalSubjectId ) {
+      pageSize = getPageSize( pageSize );
+      ShellCursor cursor = new ShellCursor( pageSize, cursorVal );
+      int semanticIdValueId = valueDictionary.findIdOf( semanticId );
+      TenantVisibility visibility = shellAccessHandler.supportsGranularAccessControl() ? TenantVisibility.unrestricted() : tenantVisibility( externalSubjectId );
+      final var foundList = new ArrayList<Shell>();
+      //fetch 1 more item to make sure there is a visible item for the next page
+      int fetchSize = pageSize + 1;
+      UUID afterShellId = cursor.getSubmodelSearchCursor();
+      boolean hasNext = semanticIdValueId != ValueDictionary.UNKNOWN_ID;
+      while ( foundList.size() < fetchSize && hasNext ) {
+         List<UUID> shellIds = shellRepository.findIdsBySubmodelSemanticIdAfter( semanticIdValueId, afterShellId, visibility, fetchSize );
+         if ( shellIds.isEmpty() ) {
+            break;
+         }
+         List<Shell> shells = shellAccessHandler.filterListOfShellProperties(
+               shellRepository.findAllByIdOrderById( shellIds ).stream().map( shellDocumentService::restoreShell ).toList(), externalSubjectId );
+         shells.stream()
+               .filter( shell -> hasSubmodelWithSemanticId( shell, semanticId ) )
+               .limit( (long) fetchSize - foundList.size() )
+               .forEach( foundList::add );
+         afterShellId = shellIds.get( shellIds.size() - 1 );
+         hasNext = shellIds.size() == fetchSize;
+      }
+      String nextCursor = null;
+
+      final boolean hasNextPage = foundList.size() > pageSize;
+      List<Shell> resultList = foundList.stream().limit( pageSize ).toList();
+      if ( !resultList.isEmpty() ) {
+         nextCursor = cursor.getEncodedCursorSubmodel( resultList.get( resultList.size() - 1 ).getId(), hasNextPage );
+      }
+
+      return ShellCollectionDto.builder()
+            .items( resultList )
+            .cursor( nextCursor )
+            .build();
+   }
+
+   private static boolean hasSubmodelWithSemanticId( Shell shell, String semanticId ) {
+      return shell.getSubmodels() != null && shell.getSubmodels().stream()
+            .filter( submodel -> submodel.getSemanticId() != null && submodel.getSemanticId().getKeys() != null )
+            .flatMap( submodel -> submodel.getSemanticId().getKeys().stream() )
+            .anyMatch( key -> semanticId.equals( key.getValue() ) );
+   }
+
    @Transactional( readOnly = true )
    public SubmodelCollectionDto findAllSubmodel( Integer pageSize, String cursorVal, Shell assetID ) {
       pageSize = getPageSize( pageSize );
 
       ShellCursor cursor = new ShellCursor( pageSize, cursorVal );
-      var specification = new ShellSpecification<Submodel>( SORT_FIELD_NAME_SUBMODEL, cursor, null, null, null, null );
+      var specification = new ShellSpecification<Submodel>( SORT_FIELD_NAME_SUBMODEL, cursor, null );
       Page<Submodel> shellPage = submodelRepository.findAll( Specification.allOf( hasShellFkId( assetID ).and( specification ) ),
             ofSize( cursor.getRecordSize() ) );
 
@@ -260,14 +376,13 @@ public class ShellService {
 
       pageSize = getPageSize( pageSize );
       try {
-         List<String> keyValueCombinations = shellIdentifiers.stream().map( shellIdentifier -> shellIdentifier.getKey() + shellIdentifier.getValue() ).toList();
+         SpecificAssetIdValues specificAssetIds = specificAssetIdValues( shellIdentifiers );
 
          //TODO: if we can define a sorting order, we should consider doing it on the database side
          final List<String> assetIdList = new ArrayList<>();
          String nextCursor;
          if ( shellAccessHandler.supportsGranularAccessControl() ) {
-            List<ShellIdentifierMinimal> queryResults = shellIdentifierRepository
-                  .findMinimalShellIdsBySpecificAssetIds( keyValueCombinations, keyValueCombinations.size() );
+            List<ShellIdentifierMinimal> queryResults = findMinimalShellIdsBySpecificAssetIds( specificAssetIds, externalSubjectId );
             Set<SpecificAssetId> userQuery = shellIdentifiers.stream()
                   .map( id -> new SpecificAssetId( id.getKey(), id.getValue() ) )
                   .collect( Collectors.toSet() );
@@ -278,9 +393,8 @@ public class ShellService {
                   .forEach( assetIdList::add );
             nextCursor = getCursorEncoded( allVisible, assetIdList );
          } else {
-            List<String> queryResult = shellIdentifierRepository.findExternalShellIdsByIdentifiersByExactMatch( keyValueCombinations,
-                  keyValueCombinations.size(), externalSubjectId, externalSubjectIdWildcardPrefix, externalSubjectIdWildcardAllowedTypes, owningTenantId,
-                  ShellIdentifier.GLOBAL_ASSET_ID_KEY );
+            List<String> queryResult = shellIdentifierRepository.findExternalShellIdsByIdentifiersByExactMatch( specificAssetIds,
+                  tenantVisibility( externalSubjectId ), valueDictionary.findIdOf( ShellIdentifier.GLOBAL_ASSET_ID_KEY ) );
             pageSize = getPageSize( pageSize );
 
             int startIndex = getCursorDecoded( cursor, queryResult );
@@ -299,6 +413,25 @@ public class ShellService {
       }
    }
 
+   private List<ShellIdentifierMinimal> findMinimalShellIdsBySpecificAssetIds( SpecificAssetIdValues specificAssetIds, String externalSubjectId ) {
+      if ( !owningTenantId.equals( externalSubjectId ) && shellVisibilityIndexService.isReady() ) {
+         return shellIdentifierRepository.findMinimalShellIdsBySpecificAssetIdsVisibleForTenants( specificAssetIds,
+               List.of( externalSubjectId, externalSubjectIdWildcardPrefix ) );
+      }
+      return shellIdentifierRepository.findMinimalShellIdsBySpecificAssetIds( specificAssetIds );
+   }
+
+   private SpecificAssetIdValues specificAssetIdValues( Set<ShellIdentifier> shellIdentifiers ) {
+      return SpecificAssetIdValues.of( shellIdentifiers.stream()
+            .map( shellIdentifier -> new SpecificAssetId( shellIdentifier.getKey(), shellIdentifier.getValue() ) )
+            .toList(), valueDictionary::findIdOf );
+   }
+
+   private TenantVisibility tenantVisibility( String externalSubjectId ) {
+      return TenantVisibility.of( externalSubjectId, owningTenantId, externalSubjectIdWildcardPrefix, externalSubjectIdWildcardAllowedTypes,
+            valueDictionary::findIdOf );
+   }
+
    private String getCursorEncoded( List<String> queryResult, List<String> assetIdList ) {
       if ( !queryResult.isEmpty() ) {
          if ( !assetIdList.get( assetIdList.size() - 1 ).equals( queryResult.get( queryResult.size() - 1 ) ) ) {
@@ -324,15 +457,10 @@ public class ShellService {
 
    @Transactional( readOnly = true )
    public List<String> findExternalShellIdsByIdentifiersByAnyMatch( Set<ShellIdentifier> shellIdentifiers, String externalSubjectId ) {
-      List<String> keyValueCombinations = shellIdentifiers.stream().map( shellIdentifier -> shellIdentifier.getKey() + shellIdentifier.getValue() ).toList();
-
       return shellRepository.findExternalShellIdsByIdentifiersByAnyMatch(
-            keyValueCombinations,
-            externalSubjectId,
-            externalSubjectIdWildcardPrefix,
-            externalSubjectIdWildcardAllowedTypes,
-            owningTenantId,
-            ShellIdentifier.GLOBAL_ASSET_ID_KEY );
+            specificAssetIdValues( shellIdentifiers ),
+            tenantVisibility( externalSubjectId ),
+            valueDictionary.findIdOf( ShellIdentifier.GLOBAL_ASSET_ID_KEY ) );
    }
 
    // Not used in AAS3
@@ -343,22 +471,78 @@ public class ShellService {
             .collect( Collectors.toList() );
    }
 
+   /**
+    * Replaces the state of the stored shell with the given one. Instead of deleting and re-inserting the whole shell graph,
+    * the differences are applied in place so that unchanged rows are left untouched.
+    */
    @Transactional
    public void update( Shell shell, String aasIdentifier ) {
-      deleteShell( aasIdentifier );
+      Shell shellFromDb = doFindShellByExternalIdWithoutFiltering( aasIdentifier );
       mapShellCollection( shell );
       mapSubmodel( shell.getSubmodels() );
       try {
-         save( shell );
+         validateIdShortForUpdate( shell, shellFromDb.getId() );
       } catch ( Exception e ) {
          throw new IllegalArgumentException( e.getMessage() );
       }
+      shellCacheInvalidationService.invalidate( shellFromDb.getId(), shellFromDb.getSubmodels().stream().map( Submodel::getId ).toList() );
+      shellGraphMerger.mergeShell( shellFromDb, shell );
+      shellDocumentService.writeDocument( shellFromDb );
+      shellVisibilityIndexService.reindexShell( shellFromDb.getId() );
+   }
+
+   private void validateIdShortForUpdate( Shell shell, UUID shellId ) {
+      Optional.ofNullable( shell.getIdShort() ).filter( idShort -> shellRepository.existsByIdShortAndIdNot( idShort, shellId ) )
+            .ifPresent( idShort -> {
+               throw new DuplicateKeyException( DUPLICATE_SHELL_ID_SHORT_EXCEPTION );
+            } );
+
+      checkForDuplicateIdShortWithInSubModels( shell );
    }
 
    @Transactional
    public void deleteShell( String externalShellId ) {
-      ShellMinimal shellFromDb = findShellMinimalByExternalId( externalShellId );
-      shellRepository.deleteById( shellFromDb.getId() );
+      shellCacheInvalidationService.invalidateShellsByIdExternal( List.of( externalShellId ) );
+      if ( shellRepository.deleteByIdExternalIn( List.of( externalShellId ) ) == 0 ) {
+         throw new EntityNotFoundException( String.format( "Shell for identifier %s not found", externalShellId ) );
+      }
+   }
+
+   /**
+    * Deletes the provided shells set-wise. The ids are processed in chunks, each chunk is deleted with one statement in its own
+    * transaction. If deleting a chunk fails, all shells of the chunk are reported as failed (503 if the database is unavailable,
+    * 500 otherwise) while other chunks may succeed.
+    *
+    * @param externalShellIds the ids of the shells to delete
+    * @return the result of each delete operation in the order of the provided ids
+    */
+   public List<BatchResultDto> deleteBatch( List<String> externalShellIds ) {
+      Set<String> deleted = new HashSet<>();
+      Map<String, BatchResultDto> failures = new HashMap<>();
+      for ( List<String> chunk : Lists.partition( externalShellIds.stream().filter( Objects::nonNull ).distinct().toList(), BATCH_CHUNK_SIZE ) ) {
+         try {
+            deleted.addAll( transactionTemplate.execute( status -> {
+               Set<String> existing = shellRepository.findExistingIdExternals( chunk );
+               if ( !existing.isEmpty() ) {
+                  shellCacheInvalidationService.invalidateShellsByIdExternal( existing );
+                  shellRepository.deleteByIdExternalIn( existing );
+               }
+               return existing;
+            } ) );
+         } catch ( RuntimeException e ) {
+            log.error( "Failed to delete a chunk of {} shells.", chunk.size(), e );
+            chunk.forEach( idExternal -> failures.put( idExternal, failedResult( "delete", idExternal, e ) ) );
+         }
+      }
+      return externalShellIds.stream().map( idExternal -> {
+         if ( deleted.contains( idExternal ) ) {
+            return new BatchResultDto( "AssetAdministrationShell successfully deleted.", idExternal, HttpStatus.OK.value() );
+         }
+         if ( failures.containsKey( idExternal ) ) {
+            return failures.get( idExternal );
+         }
+         return new BatchResultDto( String.format( "Shell for identifier %s not found", idExternal ), idExternal, HttpStatus.NOT_FOUND.value() );
+      } ).toList();
    }
 
    @Transactional( readOnly = true )
@@ -369,22 +553,66 @@ public class ShellService {
    @Transactional
    public void deleteAllIdentifiers( String externalShellId ) {
       ShellMinimal shellFromDb = findShellMinimalByExternalId( externalShellId );
-      shellIdentifierRepository.deleteShellIdentifiersByShellId( shellFromDb.getId(), ShellIdentifier.GLOBAL_ASSET_ID_KEY );
+      shellIdentifierRepository.deleteShellIdentifiersByShellId( shellFromDb.getId(), valueDictionary.findIdOf( ShellIdentifier.GLOBAL_ASSET_ID_KEY ) );
+      shellDocumentService.rewriteDocument( shellFromDb.getId() );
+      shellCacheInvalidationService.invalidateShell( shellFromDb.getId() );
+      shellVisibilityIndexService.reindexShell( shellFromDb.getId() );
    }
 
+   /**
+    * Saves the asset links of a shell set-wise. The provided links are compared by value with the stored links of the shell and
+    * only the differences are written: links which are not stored yet are inserted, and if replace is set, stored links which are
+    * not provided are deleted (except the globalAssetId). Only the links of the shell are loaded, not the shell graph.
+    *
+    * @param replace whether the provided links replace the stored links or are merged into them
+    * @return the stored links matching the provided links
+    */
    @Transactional
-   public Set<ShellIdentifier> save( String externalShellId, Set<ShellIdentifier> shellIdentifiers, String externalSubjectId ) {
-      Shell shellFromDb = doFindShellByExternalIdWithoutFiltering( externalShellId );
-
-      List<ShellIdentifier> identifiersToUpdate = shellIdentifiers.stream().map( identifier -> identifier.withShellId( shellFromDb ) )
-            .collect( Collectors.toList() );
+   public Set<ShellIdentifier> save( String externalShellId, Set<ShellIdentifier> shellIdentifiers, boolean replace, String externalSubjectId ) {
+      Shell shellReference = shellRepository.getReferenceById( findShellMinimalByExternalId( externalShellId ).getId() );
+
+      Set<ShellIdentifier> storedIdentifiers = shellIdentifierRepository.findByShellId( shellReference );
+      Map<Object, ShellIdentifier> stored = new HashMap<>();
+      storedIdentifiers.forEach( identifier -> stored.putIfAbsent( shellGraphMerger.identifierValue( identifier ), identifier ) );
+
+      Set<ShellIdentifier> result = new LinkedHashSet<>();
+      List<ShellIdentifier> identifiersToInsert = new ArrayList<>();
+      Set<Object> provided = new HashSet<>();
+      for ( ShellIdentifier identifier : shellIdentifiers ) {
+         Object value = shellGraphMerger.identifierValue( identifier );
+         if ( !provided.add( value ) ) {
+            continue;
+         }
+         ShellIdentifier storedIdentifier = stored.get( value );
+         if ( storedIdentifier != null ) {
+            result.add( storedIdentifier );
+         } else {
+            ShellIdentifier identifierToInsert = identifier.withShellId( shellReference );
+            identifiersToInsert.add( identifierToInsert );
+            result.add( identifierToInsert );
+         }
+      }
 
-      mapShellIdentifier( identifiersToUpdate.stream() );
+      if ( replace ) {
+         // stored duplicates are not part of the result and are deleted as well
+         List<UUID> identifiersToDelete = storedIdentifiers.stream()
+               .filter( identifier -> !result.contains( identifier ) )
+               .filter( identifier -> !ShellIdentifier.GLOBAL_ASSET_ID_KEY.equals( identifier.getKey() ) )
+               .map( ShellIdentifier::getId )
+               .toList();
+         Lists.partition( identifiersToDelete, MAXIMUM_RECORDS )
+               .forEach( ids -> shellIdentifierRepository.deleteByShellIdAndIdIn( shellReference.getId(), ids ) );
+      }
 
-      return ImmutableSet.copyOf( shellIdentifierRepository.saveAll( identifiersToUpdate ) );
+      mapShellIdentifier( identifiersToInsert.stream() );
+      shellIdentifierRepository.saveAll( identifiersToInsert );
+      shellDocumentService.rewriteDocument( shellReference.getId() );
+      shellCacheInvalidationService.invalidateShell( shellReference.getId() );
+      shellVisibilityIndexService.reindexShell( shellReference.getId() );
+      return result;
    }
 
-   private static void mapShellIdentifier( Stream<ShellIdentifier> identifiersToUpdate ) {
+   private void mapShellIdentifier( Stream<ShellIdentifier> identifiersToUpdate ) {
       identifiersToUpdate.filter( identifiers -> !identifiers.getKey().equalsIgnoreCase( "globalAssetId" ) ).forEach(
             identifier -> {
                if ( identifier.getSemanticId() != null ) {
@@ -404,49 +632,92 @@ public class ShellService {
                      key.setShellIdentifierExternalSubjectReference( identifier.getExternalSubjectId() );
                   } );
                   identifier.getExternalSubjectId().setShellIdentifier( identifier );
+                  identifier.setTenants( identifier.getExternalSubjectId().getKeys().stream()
+                        .filter( Objects::nonNull )
+                        .map( ShellIdentifierExternalSubjectReferenceKey::getValue )
+                        .filter( Objects::nonNull )
+                        .distinct()
+                        .map( tenant -> new ShellIdentifierTenant( identifier, identifier.getKey(), tenant ) )
+                        .collect( Collectors.toSet() ) );
                }
             } );
    }
 
    @Transactional
    public Submodel save( String externalShellId, Submodel submodel, String externalSubjectId ) {
-      Shell shellFromDb = doFindShellByExternalIdWithoutFiltering( externalShellId );
-      submodel.setShellId( shellFromDb );
+      ShellMinimal shellFromDb = findShellMinimalByExternalId( externalShellId );
+      submodel.setShellId( shellRepository.getReferenceById( shellFromDb.getId() ) );
 
       //uniqueness on shellId and idShort
-      boolean isIdShortPresent = Optional.of( shellFromDb ).map( Shell::getSubmodels ).stream().flatMap( Collection::stream )
-            .map( Submodel::getIdShort )
-            .anyMatch(
-                  idShort -> idShort.equalsIgnoreCase( submodel.getIdShort() ) ); // check whether the input sub-model.idShort exists in DB
-
-      if ( isIdShortPresent ) {// Throw exception if sub-model.idShort exists in DB
-         throw new DuplicateKeyException( DUPLICATE_SUBMODEL_ID_SHORT_EXCEPTION );
-      }
-      return saveSubmodel( submodel );
+      Optional.ofNullable( submodel.getIdShort() ).filter( StringUtils::isNotBlank )
+            .filter( idShort -> submodelRepository.existsWithIdShortIgnoreCase( shellFromDb.getId(), idShort ) )
+            .ifPresent( idShort -> {
+               throw new DuplicateKeyException( DUPLICATE_SUBMODEL_ID_SHORT_EXCEPTION );
+            } );
+      Submodel saved = saveSubmodel( submodel );
+      shellDocumentService.rewriteDocument( shellFromDb.getId() );
+      shellCacheInvalidationService.invalidateShell( shellFromDb.getId() );
+      return saved;
    }
 
+   /**
+    * Saves the submodel. The uniqueness of the submodel id is enforced by the unique constraint SUBMODEL_AK_01, its violation is
+    * translated to a {@link DuplicateKeyException}.
+    */
    public Submodel saveSubmodel( Submodel submodel ) {
-      if ( submodelRepository.findByShellIdAndIdExternal( submodel.getShellId(), submodel.getIdExternal() ).isPresent() ) {
-         throw new DuplicateKeyException( DUPLICATE_SUBMODEL_EXCEPTION );
+      try {
+         return submodelRepository.saveAndFlush( submodel );
+      } catch ( DataIntegrityViolationException e ) {
+         if ( isViolationOf( e, SUBMODEL_ID_EXTERNAL_CONSTRAINT ) ) {
+            throw new DuplicateKeyException( DUPLICATE_SUBMODEL_EXCEPTION, e );
+         }
+         throw e;
       }
-      return submodelRepository.save( submodel );
    }
 
+   private static boolean isViolationOf( DataIntegrityViolationException e, String constraintName ) {
+      return e.getCause() instanceof ConstraintViolationException constraintViolation
+             && StringUtils.containsIgnoreCase( constraintViolation.getConstraintName(), constraintName );
+   }
+
+   /**
+    * Replaces the state of the stored submodel with the given one. Only the submodel and its children are loaded and the
+    * differences are applied in place. Like the update of the shell, the submodel is not filtered by the tenant, writing is
+    * restricted by the role of the caller.
+    */
    @Transactional
-   public void update( String externalShellId, Submodel submodel, String externalSubjectId ) {
-      Shell shellFromDb = doFindShellByExternalIdWithoutFiltering( externalShellId );
-      shellFromDb.add( submodel );
-      submodel.setShellId( shellFromDb );
-      mapSubmodel( shellFromDb.getSubmodels() );
-      submodelRepository.save( submodel );
+   public void update( String externalShellId, Submodel submodel ) {
+      Submodel submodelFromDb = submodelRepository.findByShellIdExternalAndIdExternal( externalShellId, submodel.getIdExternal() )
+            .orElseThrow( () -> {
+               // distinguish a missing shell from a missing submodel, only needed on the error path
+               findShellMinimalByExternalId( externalShellId );
+               return new EntityNotFoundException( String.format( "Submodel for identifier %s not found.", submodel.getIdExternal() ) );
+            } );
+
+      Optional.ofNullable( submodel.getIdShort() ).filter( StringUtils::isNotBlank )
+            .filter( idShort -> submodelRepository.existsOtherWithIdShortIgnoreCase( submodelFromDb.getShellId().getId(), idShort, submodelFromDb.getId() ) )
+            .ifPresent( idShort -> {
+               throw new DuplicateKeyException( DUPLICATE_SUBMODEL_ID_SHORT_EXCEPTION );
+            } );
+
+      mapSubmodel( Set.of( submodel ) );
+      shellGraphMerger.mergeSubmodel( submodelFromDb, submodel );
+      shellDocumentService.rewriteDocument( submodelFromDb.getShellId().getId() );
+      shellCacheInvalidationService.invalidate( submodelFromDb.getShellId().getId(), List.of( submodelFromDb.getId() ) );
    }
 
+   /**
+    * Deletes the submodel with a single statement, the children are removed by the ON DELETE CASCADE foreign keys.
+    */
    @Transactional
    public void deleteSubmodel( String externalShellId, String externalSubModelId, String externalSubjectId ) {
-      Shell shellFromDb = doFindShellByExternalIdWithoutFiltering( externalShellId );
-      Submodel submodelId = findSubmodelMinimalByExternalId( shellFromDb.getId(), externalSubModelId );
-      shellFromDb.getSubmodels().remove( submodelId );
-      submodelRepository.deleteById( submodelId.getId() );
+      UUID shellId = findShellMinimalByExternalId( externalShellId ).getId();
+      if ( submodelRepository.deleteByShellIdAndIdExternal( shellId, externalSubModelId ) == 0 ) {
+         throw new EntityNotFoundException( String.format( "Submodel for identifier %s not found.", externalSubModelId ) );
+      }
+      shellDocumentService.rewriteDocument( shellId );
+      shellCacheInvalidationService.invalidateShell( shellId );
+      shellCacheInvalidationService.evictShell( shellId );
    }
 
    @Transactional( readOnly = true )
@@ -457,49 +728,158 @@ public class ShellService {
             .orElseThrow( () -> new EntityNotFoundException( String.format( "Submodel for identifier %s not found.", externalSubModelId ) ) );
    }
 
-   private Submodel findSubmodelMinimalByExternalId( UUID shellId, String externalSubModelId ) {
-      return submodelRepository
-            .findMinimalRepresentationByShellIdAndIdExternal( shellId, externalSubModelId )
-            .orElseThrow( () -> new EntityNotFoundException( String.format( "Submodel for identifier %s not found.", externalSubModelId ) ) );
-   }
-
    private ShellMinimal findShellMinimalByExternalId( String externalShellId ) {
       return shellRepository.findMinimalRepresentationByIdExternal( externalShellId )
             .orElseThrow( () -> new EntityNotFoundException( String.format( "Shell for identifier %s not found", externalShellId ) ) );
    }
 
    /**
-    * Saves the provided shells. The transaction is scoped per shell. If saving of one shell fails others may succeed.
+    * Saves the provided shells. Shells which would violate the uniqueness of shell ids, shell idShorts or submodel ids, either with
+    * existing data or with other shells of the batch, are detected up front with set based queries and rejected. The remaining shells
+    * are saved in chunks, the transaction is scoped per chunk. If saving of a chunk fails (e.g. due to a concurrent registration of
+    * the same id), the shells of the chunk are saved one by one in their own transactions, so only the offending shells fail with 400.
+    * If the database is not available, the shells of the chunk fail with 503 without a retry, other errors are reported with 500.
+    * The messages of the results never contain the text of the exception, the details are logged.
     *
     * @param shells the shells to save
-    * @return the result of each save operation
+    * @return the result of each save operation in the order of the provided shells
     */
    public List<BatchResultDto> saveBatch( List<Shell> shells ) {
-      return shells.stream().map( shell -> {
+      BatchResultDto[] results = new BatchResultDto[shells.size()];
+      Set<String> takenIdExternals = findExisting( shells.stream().map( Shell::getIdExternal ), shellRepository::findExistingIdExternals );
+      Set<String> takenIdShorts = findExisting( shells.stream().map( Shell::getIdShort ), shellRepository::findExistingIdShorts );
+      Set<String> takenSubmodelIdExternals = findExisting( shells.stream().flatMap( shell -> shell.getSubmodels().stream() ).map( Submodel::getIdExternal ),
+            submodelRepository::findExistingIdExternals );
+
+      List<Integer> accepted = new ArrayList<>();
+      for ( int index = 0; index < shells.size(); index++ ) {
+         Shell shell = shells.get( index );
+         String rejection = findBatchRejection( shell, takenIdExternals, takenIdShorts, takenSubmodelIdExternals );
+         if ( rejection == null ) {
+            accepted.add( index );
+         } else {
+            results[index] = new BatchResultDto( rejection, shell.getIdExternal(), HttpStatus.BAD_REQUEST.value() );
+         }
+      }
+
+      for ( List<Integer> chunk : Lists.partition( accepted, BATCH_CHUNK_SIZE ) ) {
          try {
-            shellRepository.save( shell );
-            return new BatchResultDto( "AssetAdministrationShell successfully created.",
-                  shell.getIdExternal(), HttpStatus.OK.value() );
-         } catch ( Exception e ) {
-            if ( e.getCause() instanceof DuplicateKeyException duplicateKeyException ) {
-               return new BatchResultDto( duplicateKeyException.getMessage(),
-                     shell.getIdExternal(),
-                     HttpStatus.BAD_REQUEST.value() );
+            saveInTransaction( chunk.stream().map( shells::get ).toList() );
+            chunk.forEach( index -> results[index] = createdResult( shells.get( index ) ) );
+         } catch ( RuntimeException e ) {
+            if ( isInfrastructureFailure( e ) ) {
+               log.error( "Failed to save a chunk of {} shells.", chunk.size(), e );
+               chunk.forEach( index -> results[index] = failedResult( "create", shells.get( index ).getIdExternal(), e ) );
+            } else {
+               log.warn( "Failed to save a chunk of {} shells, the shells are saved one by one.", chunk.size(), e );
+               chunk.forEach( index -> results[index] = saveSingleOfBatch( shells.get( index ) ) );
             }
-            return new BatchResultDto( String.format( "Failed to create AssetAdministrationShell %s",
-                  e.getMessage() ), shell.getIdExternal(), HttpStatus.BAD_REQUEST.value() );
          }
-      } ).collect( Collectors.toList() );
+      }
+      return Arrays.asList( results );
+   }
+
+   private void saveInTransaction( List<Shell> shellsToSave ) {
+      transactionTemplate.executeWithoutResult( status -> {
+         shellsToSave.forEach( shellDocumentService::writeDocument );
+         shellRepository.saveAllAndFlush( shellsToSave ).forEach( saved -> shellVisibilityIndexService.reindexShell( saved.getId() ) );
+      } );
+   }
+
+   /**
+    * Saves a shell of a failed chunk in its own transaction. The ids assigned by the failed attempt are kept, the shell is not found
+    * in the database and therefore inserted again.
+    */
+   private BatchResultDto saveSingleOfBatch( Shell shell ) {
+      try {
+         saveInTransaction( List.of( shell ) );
+         return createdResult( shell );
+      } catch ( DataIntegrityViolationException e ) {
+         log.info( "Failed to save the shell {} of a batch.", shell.getIdExternal(), e );
+         String message = isViolationOf( e, SHELL_ID_EXTERNAL_CONSTRAINT ) ? DUPLICATE_SHELL_EXCEPTION
+               : isViolationOf( e, SUBMODEL_ID_EXTERNAL_CONSTRAINT ) ? DUPLICATE_SUBMODEL_EXCEPTION
+               : BATCH_CONSTRAINT_VIOLATION_MESSAGE;
+         return new BatchResultDto( message, shell.getIdExternal(), HttpStatus.BAD_REQUEST.value() );
+      } catch ( RuntimeException e ) {
+         log.error( "Failed to save the shell {} of a batch.", shell.getIdExternal(), e );
+         return failedResult( "create", shell.getIdExternal(), e );
+      }
+   }
+
+   private static BatchResultDto createdResult( Shell shell ) {
+      return new BatchResultDto( "AssetAdministrationShell successfully created.", shell.getIdExternal(), HttpStatus.OK.value() );
+   }
+
+   /**
+    * The details of the failure are only logged, the result contains a fixed message.
+    *
+    * @param operation the failed operation of the batch, e.g. create or delete
+    */
+   private static BatchResultDto failedResult( String operation, String idExternal, RuntimeException e ) {
+      return isInfrastructureFailure( e )
+            ? new BatchResultDto( String.format( BATCH_UNAVAILABLE_MESSAGE, operation ), idExternal, HttpStatus.SERVICE_UNAVAILABLE.value() )
+            : new BatchResultDto( String.format( BATCH_INTERNAL_ERROR_MESSAGE, operation ), idExternal, HttpStatus.INTERNAL_SERVER_ERROR.value() );
+   }
+
+   /**
+    * @return true if the failure is caused by the database or the connection to it and not by the data of the shells
+    */
+   private static boolean isInfrastructureFailure( RuntimeException e ) {
+      return e instanceof TransientDataAccessException
+             || e instanceof NonTransientDataAccessResourceException
+             || e instanceof CannotCreateTransactionException;
    }
 
+   /**
+    * Checks a shell of a batch against the ids which are already taken. If the shell is accepted, its ids are added to the taken ones.
+    *
+    * @return the reason of the rejection or null if the shell is accepted
+    */
+   private String findBatchRejection( Shell shell, Set<String> takenIdExternals, Set<String> takenIdShorts, Set<String> takenSubmodelIdExternals ) {
+      if ( takenIdExternals.contains( shell.getIdExternal() ) ) {
+         return DUPLICATE_SHELL_EXCEPTION;
+      }
+      if ( shell.getIdShort() != null && takenIdShorts.contains( shell.getIdShort() ) ) {
+         return DUPLICATE_SHELL_ID_SHORT_EXCEPTION;
+      }
+      List<String> submodelIdExternals = shell.getSubmodels().stream().map( Submodel::getIdExternal ).toList();
+      if ( submodelIdExternals.stream().anyMatch( takenSubmodelIdExternals::contains )
+           || submodelIdExternals.stream().distinct().count() != submodelIdExternals.size() ) {
+         return DUPLICATE_SUBMODEL_EXCEPTION;
+      }
+      try {
+         checkForDuplicateIdShortWithInSubModels( shell );
+      } catch ( DuplicateKeyException e ) {
+         return e.getMessage();
+      }
+      takenIdExternals.add( shell.getIdExternal() );
+      Optional.ofNullable( shell.getIdShort() ).ifPresent( takenIdShorts::add );
+      takenSubmodelIdExternals.addAll( submodelIdExternals );
+      return null;
+   }
+
+   private static Set<String> findExisting( Stream<String> values, Function<Collection<String>, Set<String>> query ) {
+      Set<String> existing = new HashSet<>();
+      Lists.partition( values.filter( Objects::nonNull ).distinct().toList(), MAXIMUM_RECORDS )
+            .forEach( chunk -> existing.addAll( query.apply( chunk ) ) );
+      return existing;
+   }
+
+   /**
+    * Checks whether the tenant can see a submodel with an endpoint having the given address. The shells are not loaded, the
+    * visibility based on the externalSubjectIds is checked by a single query. In case of granular access control, only the
+    * specificAssetIds of the shells and the semanticIds of the submodels are read to evaluate the access rules.
+    */
    public boolean hasAccessToShellWithVisibleSubmodelEndpoint( String endpointAddress, String externalSubjectId ) {
-      List<Shell> shells = shellRepository.findAllBySubmodelEndpointAddress( endpointAddress );
-      List<Shell> filtered = shellAccessHandler.filterListOfShellProperties( shells, externalSubjectId );
-      return filtered.stream()
-            .filter( Objects::nonNull )
-            .anyMatch( shell -> shell.getSubmodels().stream()
-                  .anyMatch( submodel -> submodel.getEndpoints().stream()
-                        .anyMatch( endpoint -> Objects.equals( endpointAddress, endpoint.getEndpointAddress() ) ) ) );
+      if ( !shellAccessHandler.supportsGranularAccessControl() || owningTenantId.equals( externalSubjectId ) ) {
+         return shellRepository.existsVisibleSubmodelEndpoint( endpointAddress, tenantVisibility( externalSubjectId ) );
+      }
+      List<SubmodelSemanticIdMinimal> submodelSemanticIds = submodelRepository.findSemanticIdsBySubmodelEndpointAddress( endpointAddress );
+      if ( submodelSemanticIds.isEmpty() ) {
+         return false;
+      }
+      return shellAccessHandler.isAnySubmodelVisible( submodelSemanticIds,
+            shellIdentifierRepository.findMinimalShellIdsBySubmodelEndpointAddress( endpointAddress ), externalSubjectId );
    }
 
    private Shell doFindShellByExternalIdWithoutFiltering( String externalShellId ) {
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityCriteria;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Remembers the visibility criteria evaluated for a tenant and a shell for the length of the current HTTP request, so that
+ * nested service calls (e.g. reading a submodel after reading its shell) do not evaluate the access rules again. Outside
+ * of a request (e.g. scheduled tasks) nothing is remembered. A denied access is remembered as a null value.
+ */
+final class ShellVisibilityCriteriaRequestCache {
+
+   private static final String ATTRIBUTE_NAME = ShellVisibilityCriteriaRequestCache.class.getName();
+
+   private final Map<Key, ShellVisibilityCriteria> criteriaByKey = new HashMap<>();
+
+   private ShellVisibilityCriteriaRequestCache() {
+   }
+
+   static ShellVisibilityCriteriaRequestCache current() {
+      RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+      if ( requestAttributes == null ) {
+         return new ShellVisibilityCriteriaRequestCache();
+      }
+      Object cache = requestAttributes.getAttribute( ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST );
+      if ( cache instanceof ShellVisibilityCriteriaRequestCache existing ) {
+         return existing;
+      }
+      ShellVisibilityCriteriaRequestCache created = new ShellVisibilityCriteriaRequestCache();
+      requestAttributes.setAttribute( ATTRIBUTE_NAME, created, RequestAttributes.SCOPE_REQUEST );
+      return created;
+   }
+
+   boolean contains( String externalSubjectId, ShellVisibilityContext shellContext ) {
+      return criteriaByKey.containsKey( new Key( externalSubjectId, shellContext ) );
+   }
+
+   @Nullable
+   ShellVisibilityCriteria get( String externalSubjectId, ShellVisibilityContext shellContext ) {
+      return criteriaByKey.get( new Key( externalSubjectId, shellContext ) );
+   }
+
+   void put( String externalSubjectId, ShellVisibilityContext shellContext, @Nullable ShellVisibilityCriteria visibilityCriteria ) {
+      criteriaByKey.put( new Key( externalSubjectId, shellContext ), visibilityCriteria );
+   }
+
+   ShellVisibilityCriteria computeIfAbsent( String externalSubjectId, ShellVisibilityContext shellContext, CriteriaLoader loader )
+         throws DenyAccessException {
+      Key key = new Key( externalSubjectId, shellContext );
+      if ( criteriaByKey.containsKey( key ) ) {
+         ShellVisibilityCriteria cached = criteriaByKey.get( key );
+         if ( cached == null ) {
+            throw new DenyAccessException( "Access denied for shell " + shellContext.aasId() );
+         }
+         return cached;
+      }
+      try {
+         ShellVisibilityCriteria loaded = loader.load();
+         criteriaByKey.put( key, loaded );
+         return loaded;
+      } catch ( DenyAccessException e ) {
+         criteriaByKey.put( key, null );
+         throw e;
+      }
+   }
+
+   @FunctionalInterface
+   interface CriteriaLoader {
+      ShellVisibilityCriteria load() throws DenyAccessException;
+   }
+
+   private record Key(String externalSubjectId, ShellVisibilityContext shellContext) {
+   }
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.accesscontrol.api.AccessControlRuleService;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityRule;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+import org.eclipse.tractusx.semantics.registry.repository.ShellIdentifierRepository;
+import org.eclipse.tractusx.semantics.registry.repository.ShellVisibilityRepository;
+import org.eclipse.tractusx.semantics.registry.repository.SpecificAssetIdValues;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the materialized granular visibility index (SHELL_VISIBILITY).<br>
+ * The index contains an entry for each shell and visibility criteria (the tenant and the mandatory specificAssetIds of
+ * an access rule) satisfied by the shell. Entries of a shell are recomputed whenever its specificAssetIds change, while
+ * changes of the rule set are detected periodically and only the entries of the added or removed criteria are touched.
+ */
+@Slf4j
+@Service
+public class ShellVisibilityIndexService {
+
+   private final ShellVisibilityRepository shellVisibilityRepository;
+   private final ShellIdentifierRepository shellIdentifierRepository;
+   private final AccessControlRuleService accessControlRuleService;
+   private final ValueDictionary valueDictionary;
+   private final TransactionTemplate transactionTemplate;
+   private final boolean enabled;
+   /**
+    * The criteria contained by the index, null until the index was synchronized with the rules for the first time.
+    */
+   private volatile Set<UUID> indexedCriteriaIds;
+
+   public ShellVisibilityIndexService( ShellVisibilityRepository shellVisibilityRepository,
+         ShellIdentifierRepository shellIdentifierRepository,
+         AccessControlRuleService accessControlRuleService,
+         ValueDictionary valueDictionary,
+         RegistryProperties registryProperties,
+         PlatformTransactionManager transactionManager ) {
+      this.shellVisibilityRepository = shellVisibilityRepository;
+      this.shellIdentifierRepository = shellIdentifierRepository;
+      this.accessControlRuleService = accessControlRuleService;
+      this.valueDictionary = valueDictionary;
+      this.transactionTemplate = new TransactionTemplate( transactionManager );
+      this.enabled = Boolean.TRUE.equals( registryProperties.getUseGranularAccessControl() )
+                     && Boolean.TRUE.equals( registryProperties.getUseGranularVisibilityIndex() );
+   }
+
+   /**
+    * @return true if the index is enabled and reflects the current rule set, so that it can be used for filtering
+    */
+   public boolean isReady() {
+      return enabled && indexedCriteriaIds != null;
+   }
+
+   /**
+    * Recomputes the index entries of a single shell based on its persisted specificAssetIds.
+    *
+    * @param shellId the internal id of the shell
+    */
+   @Transactional
+   public void reindexShell( UUID shellId ) {
+      if ( !enabled ) {
+         return;
+      }
+      Set<SpecificAssetId> specificAssetIds = shellIdentifierRepository.findSpecificAssetIdsByShellId( shellId );
+      Map<UUID, ShellVisibilityRule> satisfiedCriteria = accessControlRuleService.fetchAllVisibilityRules().stream()
+            .filter( rule -> specificAssetIds.containsAll( rule.mandatorySpecificAssetIds() ) )
+            .collect( Collectors.toMap( ShellVisibilityIndexService::criteriaId, Function.identity(), ( first, second ) -> first ) );
+      Set<UUID> indexed = shellVisibilityRepository.findCriteriaIdsByShellId( shellId );
+
+      Set<UUID> removed = indexed.stream().filter( id -> !satisfiedCriteria.containsKey( id ) ).collect( Collectors.toSet() );
+      if ( !removed.isEmpty() ) {
+         shellVisibilityRepository.deleteByShellIdAndCriteriaIds( shellId, removed );
+      }
+      satisfiedCriteria.entrySet().stream()
+            .filter( entry -> !indexed.contains( entry.getKey() ) )
+            .forEach( entry -> shellVisibilityRepository.insertIfAbsent( shellId, entry.getValue().bpn(), entry.getKey() ) );
+   }
+
+   /**
+    * Brings the index in line with the current rule set. Entries of criteria which are no longer valid are removed,
+    * entries for new criteria are added set-based for all shells.<br>
+    * The inserts skip existing entries, if another instance synchronizes the same criteria at the same time the unique
+    * constraint of the index rejects one of the transactions and its changes are applied by the next run.
+    */
+   @Scheduled( initialDelay = 0, fixedDelayString = "${registry.granular-visibility-index-refresh-interval:PT1M}" )
+   public void synchronizeWithRules() {
+      if ( !enabled ) {
+         return;
+      }
+      try {
+         transactionTemplate.executeWithoutResult( status -> synchronize() );
+      } catch ( DataIntegrityViolationException e ) {
+         log.info( "The visibility index was synchronized concurrently, the synchronization is repeated with the next run." );
+      }
+   }
+
+   private void synchronize() {
+      Map<UUID, ShellVisibilityRule> currentCriteria = accessControlRuleService.fetchAllVisibilityRules().stream()
+            .collect( Collectors.toMap( ShellVisibilityIndexService::criteriaId, Function.identity(), ( first, second ) -> first ) );
+      Set<UUID> indexed = indexedCriteriaIds != null ? indexedCriteriaIds : new HashSet<>( shellVisibilityRepository.findAllCriteriaIds() );
+
+      Set<UUID> removed = indexed.stream().filter( id -> !currentCriteria.containsKey( id ) ).collect( Collectors.toSet() );
+      if ( !removed.isEmpty() ) {
+         int deleted = shellVisibilityRepository.deleteByCriteriaIds( removed );
+         log.info( "Removed {} visibility index entries of {} outdated criteria.", deleted, removed.size() );
+      }
+      currentCriteria.entrySet().stream()
+            .filter( entry -> !indexed.contains( entry.getKey() ) )
+            .forEach( entry -> {
+               int inserted = insertForCriteria( entry.getKey(), entry.getValue() );
+               log.info( "Added {} visibility index entries for criteria {} of {}.", inserted, entry.getKey(), entry.getValue().bpn() );
+            } );
+      indexedCriteriaIds = Set.copyOf( currentCriteria.keySet() );
+   }
+
+   private int insertForCriteria( UUID criteriaId, ShellVisibilityRule rule ) {
+      if ( rule.mandatorySpecificAssetIds().isEmpty() ) {
+         return shellVisibilityRepository.insertForAllShells( rule.bpn(), criteriaId );
+      }
+      return shellVisibilityRepository.insertForShellsWithAllSpecificAssetIds(
+            SpecificAssetIdValues.of( rule.mandatorySpecificAssetIds(), valueDictionary::findIdOf ), rule.bpn(), criteriaId );
+   }
+
+   /**
+    * Derives a stable id from the content of the criteria, rules with the same tenant and mandatory specificAssetIds share their entries.
+    */
+   static UUID criteriaId( ShellVisibilityRule rule ) {
+      String mandatorySpecificAssetIds = rule.mandatorySpecificAssetIds().stream()
+            .sorted( Comparator.comparing( SpecificAssetId::name ).thenComparing( SpecificAssetId::value ) )
+            .map( specificAssetId -> specificAssetId.name() + "=" + specificAssetId.value() )
+            .collect( Collectors.joining( "\n" ) );
+      return UUID.nameUUIDFromBytes( (rule.bpn() + "\n" + mandatorySpecificAssetIds).getBytes( StandardCharsets.UTF_8 ) );
+   }
+}
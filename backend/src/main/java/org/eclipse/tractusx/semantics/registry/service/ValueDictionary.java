@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps the few distinct values repeated across many rows (the names of the specificAssetIds, the tenants and the semanticId key
+ * values) to the integer ids stored instead of them, see DICTIONARY_VALUE.<br>
+ * The dictionary is loaded at startup and kept in memory. Values added by other instances are read from the database on
+ * first use. The values of the entities are resolved by the DictionaryValueConverter when the entities are flushed, so new
+ * values are added within the writing transaction (in a savepoint, so that instances adding the same value concurrently end
+ * up with the same id). They are rolled back with it and only kept in memory once it has been committed.<br>
+ * The table may nevertheless contain values which are not referenced by any row: a value added without a transaction is
+ * committed right away, and values are never removed when the last row referencing them is deleted. Such values are
+ * harmless, they only occupy an id.
+ */
+@Slf4j
+@Service
+public class ValueDictionary implements SmartInitializingSingleton {
+
+   /**
+    * The id of values which are not contained in the dictionary, it does not match any stored id.
+    */
+   public static final int UNKNOWN_ID = -1;
+
+   /**
+    * The length of VALUE_TEXT.
+    */
+   static final int MAX_VALUE_LENGTH = 2000;
+
+   private static final String INSERT_VALUE = "INSERT INTO DICTIONARY_VALUE (VALUE_TEXT, VALUE_HASH) VALUES (?, ?)";
+
+   private final JdbcTemplate jdbcTemplate;
+   private final Map<String, Integer> idsByValue = new ConcurrentHashMap<>();
+   private final Map<Integer, String> valuesById = new ConcurrentHashMap<>();
+
+   public ValueDictionary( JdbcTemplate jdbcTemplate ) {
+      this.jdbcTemplate = jdbcTemplate;
+   }
+
+   @Override
+   public void afterSingletonsInstantiated() {
+      jdbcTemplate.query( "SELECT ID, VALUE_TEXT FROM DICTIONARY_VALUE", resultSet -> {
+         put( resultSet.getInt( 1 ), resultSet.getString( 2 ) );
+      } );
+      log.info( "Loaded {} dictionary values.", valuesById.size() );
+   }
+
+   /**
+    * Returns the id of the value to be stored, the value is added to the dictionary if it is not contained yet.
+    *
+    * @throws IllegalArgumentException if the value exceeds the maximum length
+    */
+   public int idOf( String value ) {
+      Optional<Integer> id = findKnownId( value );
+      if ( id.isPresent() ) {
+         return id.get();
+      }
+      if ( value.length() > MAX_VALUE_LENGTH ) {
+         throw new IllegalArgumentException( String.format( "The value must not be longer than %s characters.", MAX_VALUE_LENGTH ) );
+      }
+      return add( value );
+   }
+
+   /**
+    * Returns the id of the value to be searched for, {@link #UNKNOWN_ID} if the value is null or not contained in the dictionary.
+    * In contrast to {@link #idOf(String)}, unknown values are not added.
+    */
+   public int findIdOf( String value ) {
+      if ( value == null ) {
+         return UNKNOWN_ID;
+      }
+      return findKnownId( value ).orElse( UNKNOWN_ID );
+   }
+
+   public String valueOf( int id ) {
+      String value = valuesById.get( id );
+      if ( value != null ) {
+         return value;
+      }
+      List<String> stored = jdbcTemplate.queryForList( "SELECT VALUE_TEXT FROM DICTIONARY_VALUE WHERE ID = ?", String.class, id );
+      if ( stored.isEmpty() ) {
+         throw new IllegalStateException( String.format( "The dictionary does not contain a value with id %s.", id ) );
+      }
+      if ( !uncommittedIdsByValue().containsKey( stored.get( 0 ) ) ) {
+         put( id, stored.get( 0 ) );
+      }
+      return stored.get( 0 );
+   }
+
+   /**
+    * Looks the value up in memory, among the values added by the current transaction and in the database. Values found in
+    * the database have been committed, unless they have been added by the current transaction.
+    */
+   private Optional<Integer> findKnownId( String value ) {
+      Integer id = idsByValue.get( value );
+      if ( id == null ) {
+         id = uncommittedIdsByValue().get( value );
+      }
+      if ( id != null ) {
+         return Optional.of( id );
+      }
+      Optional<Integer> stored = findStoredId( value );
+      stored.ifPresent( storedId -> put( storedId, value ) );
+      return stored;
+   }
+
+   /**
+    * Without a transaction, the value is committed right away. Within a transaction, the insert is rolled back to a
+    * savepoint if another transaction has added the value concurrently, the value of the other transaction is used then.
+    */
+   private int add( String value ) {
+      boolean inTransaction = TransactionSynchronizationManager.isActualTransactionActive();
+      try {
+         if ( inTransaction ) {
+            insertInSavepoint( value );
+         } else {
+            jdbcTemplate.update( INSERT_VALUE, value, ValueHash.of( value ) );
+         }
+      } catch ( DuplicateKeyException e ) {
+         log.debug( "The dictionary value has been added concurrently.", e );
+      }
+      int id = findStoredId( value ).orElseThrow( () -> new IllegalStateException( "The dictionary value could not be added." ) );
+      if ( inTransaction ) {
+         putAfterCommit( id, value );
+      } else {
+         put( id, value );
+      }
+      return id;
+   }
+
+   private void insertInSavepoint( String value ) {
+      jdbcTemplate.execute( (ConnectionCallback<Integer>) connection -> {
+         Savepoint savepoint = connection.setSavepoint();
+         try ( PreparedStatement statement = connection.prepareStatement( INSERT_VALUE ) ) {
+            statement.setString( 1, value );
+            statement.setObject( 2, ValueHash.of( value ) );
+            int inserted = statement.executeUpdate();
+            connection.releaseSavepoint( savepoint );
+            return inserted;
+         } catch ( SQLException e ) {
+            connection.rollback( savepoint );
+            throw e;
+         }
+      } );
+   }
+
+   private void putAfterCommit( int id, String value ) {
+      Map<String, Integer> uncommitted = uncommittedIdsByValue();
+      if ( uncommitted.isEmpty() ) {
+         Map<String, Integer> values = new HashMap<>();
+         TransactionSynchronizationManager.bindResource( this, values );
+         TransactionSynchronizationManager.registerSynchronization( new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+               values.forEach( ( committedValue, committedId ) -> put( committedId, committedValue ) );
+            }
+
+            @Override
+            public void afterCompletion( int status ) {
+               TransactionSynchronizationManager.unbindResourceIfPossible( ValueDictionary.this );
+            }
+         } );
+         uncommitted = values;
+      }
+      uncommitted.put( value, id );
+   }
+
+   @SuppressWarnings( "unchecked" )
+   private Map<String, Integer> uncommittedIdsByValue() {
+      Object values = TransactionSynchronizationManager.getResource( this );
+      return values == null ? Map.of() : (Map<String, Integer>) values;
+   }
+
+   private Optional<Integer> findStoredId( String value ) {
+      List<Integer> stored = jdbcTemplate.queryForList( "SELECT ID FROM DICTIONARY_VALUE WHERE VALUE_HASH = ? AND VALUE_TEXT = ?", Integer.class,
+            ValueHash.of( value ), value );
+      return stored.stream().findFirst();
+   }
+
+   private void put( int id, String value ) {
+      idsByValue.put( value, id );
+      valuesById.put( id, value );
+   }
+}
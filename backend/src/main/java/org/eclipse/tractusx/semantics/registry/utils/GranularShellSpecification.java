@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.utils;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Restricts the shells to the ones which can be visible according to the granular access rules of a tenant.
+ * Each group of mandatory specificAssetIds (one group per rule) is translated to a set of EXISTS conditions on
+ * SHELL_IDENTIFIER, a shell qualifies if it satisfies at least one of the groups. The visible properties of the
+ * qualifying shells still need to be filtered by the access handler.
+ */
+@RequiredArgsConstructor
+public class GranularShellSpecification implements Specification<Shell> {
+
+   private final String sortFieldName;
+   private final ShellCursor shellCursor;
+   /**
+    * The mandatory specificAssetId groups of the tenant or null if all shells are visible (e.g. for the owner).
+    */
+   @Nullable
+   private final Set<Set<SpecificAssetId>> mandatorySpecificAssetIdGroups;
+   /**
+    * Resolves the dictionary id of the name of a specificAssetId without adding it.
+    */
+   private final ToIntFunction<String> findNamespaceIdOf;
+
+   @Override
+   public Predicate toPredicate( Root<Shell> root, CriteriaQuery<?> cq, CriteriaBuilder criteriaBuilder ) {
+      Instant searchValue = shellCursor.getShellSearchCursor();
+      cq.orderBy( criteriaBuilder.asc( criteriaBuilder.coalesce( root.get( sortFieldName ), Instant.now() ) ) );
+      Predicate cursorPredicate = criteriaBuilder.greaterThan( root.get( sortFieldName ), searchValue );
+
+      if ( mandatorySpecificAssetIdGroups == null || mandatorySpecificAssetIdGroups.stream().anyMatch( Set::isEmpty ) ) {
+         return cursorPredicate;
+      }
+      if ( mandatorySpecificAssetIdGroups.isEmpty() ) {
+         return criteriaBuilder.disjunction();
+      }
+
+      Predicate[] groupPredicates = mandatorySpecificAssetIdGroups.stream()
+            .map( group -> criteriaBuilder.and( group.stream()
+                  .map( specificAssetId -> hasSpecificAssetId( root, cq, criteriaBuilder, specificAssetId ) )
+                  .toArray( Predicate[]::new ) ) )
+            .toArray( Predicate[]::new );
+      return criteriaBuilder.and( cursorPredicate, criteriaBuilder.or( groupPredicates ) );
+   }
+
+   private Predicate hasSpecificAssetId( Root<Shell> root, CriteriaQuery<?> cq, CriteriaBuilder criteriaBuilder, SpecificAssetId specificAssetId ) {
+      Subquery<Integer> subquery = cq.subquery( Integer.class );
+      Root<ShellIdentifier> identifier = subquery.from( ShellIdentifier.class );
+      subquery.select( criteriaBuilder.literal( 1 ) )
+            .where(
+                  criteriaBuilder.equal( identifier.get( ShellIdentifier.Fields.shellId ), root ),
+                  criteriaBuilder.equal( identifier.get( ShellIdentifier.Fields.keyValueHash ), ValueHash.ofKeyValue( specificAssetId.name(), specificAssetId.value() ) ),
+                  criteriaBuilder.equal( identifier.get( ShellIdentifier.Fields.namespaceId ), findNamespaceIdOf.applyAsInt( specificAssetId.name() ) ),
+                  criteriaBuilder.equal( identifier.get( ShellIdentifier.Fields.value ), specificAssetId.value() ) );
+      return criteriaBuilder.exists( subquery );
+   }
+}
@@ -20,20 +20,18 @@
 package org.eclipse.tractusx.semantics.registry.utils;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.UUID;
 
 import org.eclipse.tractusx.semantics.registry.model.Shell;
-import org.eclipse.tractusx.semantics.registry.model.ShellIdentifier;
-import org.eclipse.tractusx.semantics.registry.model.ShellIdentifierExternalSubjectReference;
-import org.eclipse.tractusx.semantics.registry.model.ShellIdentifierExternalSubjectReferenceKey;
+import org.eclipse.tractusx.semantics.registry.model.ShellIdentifierTenant;
+import org.eclipse.tractusx.semantics.registry.repository.TenantVisibility;
 import org.springframework.data.jpa.domain.Specification;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
@@ -41,10 +39,10 @@ public class ShellSpecification<T> implements Specification<T> {
 
    private final String sortFieldName;
    private final ShellCursor shellCursor;
-   private final String tenantId;
-   private final String owningTenantId;
-   private final String publicWildcardPrefix;
-   private final List<String> publicWildcardAllowedTypes;
+   /**
+    * The visibility of the shells for the tenant, only used for shells.
+    */
+   private final TenantVisibility tenantVisibility;
 
    @Override
    public Predicate toPredicate( Root<T> root, CriteriaQuery<?> cq, CriteriaBuilder criteriaBuilder ) {
@@ -56,7 +54,7 @@ public class ShellSpecification<T> implements Specification<T> {
          Instant searchValue = shellCursor.getShellSearchCursor();
          cq.orderBy( criteriaBuilder.asc( criteriaBuilder.coalesce( root.get( sortFieldName ), Instant.now() ) ) );
 
-         if ( owningTenantId.equals( tenantId ) ) {
+         if ( tenantVisibility.owner() ) {
             return criteriaBuilder.greaterThan( root.get( sortFieldName ), searchValue );
          }
 
@@ -70,20 +68,22 @@ public class ShellSpecification<T> implements Specification<T> {
    }
 
    private Predicate getAllShellsPredicate( Root<T> root, CriteriaQuery<?> cq, CriteriaBuilder criteriaBuilder, Instant searchValue ) {
-      // Join Shell -> ShellIdentifier
-      String t = Shell.Fields.identifiers;
-      Join<Shell,ShellIdentifier > shellIdentifierShellJoin = root.join( Shell.Fields.identifiers );
-      // join ShellIdentifier -> ShellIdentifierExternalSubjectReference -> ShellIdentifierExternalSubjectReferenceKey
-      Join<ShellIdentifierExternalSubjectReference,ShellIdentifierExternalSubjectReferenceKey> referenceKeyJoin = shellIdentifierShellJoin.join( ShellIdentifier.Fields.externalSubjectId ).join( ShellIdentifierExternalSubjectReference.Fields.keys );
+      // EXISTS on the flattened tenants of the specificAssetIds, a join would return the shell once per matching tenant
+      Subquery<Integer> subquery = cq.subquery( Integer.class );
+      Root<ShellIdentifierTenant> identifierTenant = subquery.from( ShellIdentifierTenant.class );
+      subquery.select( criteriaBuilder.literal( 1 ) )
+            .where(
+                  criteriaBuilder.equal( identifierTenant.get( ShellIdentifierTenant.Fields.shellId ), root.get( Shell.Fields.id ) ),
+                  criteriaBuilder.or(
+                        criteriaBuilder.equal( identifierTenant.get( ShellIdentifierTenant.Fields.tenantId ), tenantVisibility.tenantId() ),
+                        criteriaBuilder.and(
+                              criteriaBuilder.equal( identifierTenant.get( ShellIdentifierTenant.Fields.tenantId ), tenantVisibility.publicWildcardPrefixId() ),
+                              identifierTenant.get( ShellIdentifierTenant.Fields.namespaceId ).in( (Object[]) tenantVisibility.publicWildcardAllowedTypeIds() )
+                        )
+                  ) );
 
       return criteriaBuilder.and(
-            criteriaBuilder.or(
-                  criteriaBuilder.equal( referenceKeyJoin.get( ShellIdentifierExternalSubjectReferenceKey.Fields.value ), tenantId ),
-                  criteriaBuilder.and(
-                        criteriaBuilder.equal( referenceKeyJoin.get( ShellIdentifierExternalSubjectReferenceKey.Fields.value ), publicWildcardPrefix ),
-                        criteriaBuilder.in( shellIdentifierShellJoin.get( ShellIdentifier.Fields.key ) ).value( publicWildcardAllowedTypes )
-                  )
-            ),
+            criteriaBuilder.exists( subquery ),
             criteriaBuilder.greaterThan( root.get( sortFieldName ), searchValue )
       );
    }
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.utils;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.ShellVisibility;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Restricts the shells to the ones which are visible for one of the tenants according to the granular visibility index.
+ * The visible properties of the shells still need to be filtered by the access handler.
+ */
+@RequiredArgsConstructor
+public class ShellVisibilityIndexSpecification implements Specification<Shell> {
+
+   private final String sortFieldName;
+   private final ShellCursor shellCursor;
+   private final List<String> tenants;
+
+   @Override
+   public Predicate toPredicate( Root<Shell> root, CriteriaQuery<?> cq, CriteriaBuilder criteriaBuilder ) {
+      Instant searchValue = shellCursor.getShellSearchCursor();
+      cq.orderBy( criteriaBuilder.asc( criteriaBuilder.coalesce( root.get( sortFieldName ), Instant.now() ) ) );
+
+      Subquery<Integer> subquery = cq.subquery( Integer.class );
+      Root<ShellVisibility> visibility = subquery.from( ShellVisibility.class );
+      subquery.select( criteriaBuilder.literal( 1 ) )
+            .where(
+                  criteriaBuilder.equal( visibility.get( ShellVisibility.Fields.shellId ), root.get( Shell.Fields.id ) ),
+                  visibility.get( ShellVisibility.Fields.tenant ).in( tenants ) );
+      return criteriaBuilder.and(
+            criteriaBuilder.greaterThan( root.get( sortFieldName ), searchValue ),
+            criteriaBuilder.exists( subquery ) );
+   }
+}
@@ -26,6 +26,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.eclipse.tractusx.semantics.RegistryProperties;
 import org.eclipse.tractusx.semantics.registry.repository.ShellRepository;
+import org.eclipse.tractusx.semantics.registry.repository.SubmodelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -35,7 +36,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -47,6 +52,12 @@ public abstract class AbstractAssetAdministrationShellApi {
 
     protected static final String SHELL_BASE_PATH = "/api/v3.0/shell-descriptors";
     protected static final String SINGLE_SHELL_BASE_PATH = "/api/v3.0/shell-descriptors/{aasIdentifier}";
+    protected static final String SHELL_BATCH_PATH = "/api/v3.0/shell-descriptors/batch";
+    protected static final String SHELL_IMPORT_PATH = "/api/v3.0/shell-descriptors/import";
+    protected static final String SHELL_EXPORT_PATH = "/api/v3.0/export/shell-descriptors";
+    protected static final String JOB_BASE_PATH = "/api/v3.0/jobs";
+    protected static final String SINGLE_JOB_BASE_PATH = "/api/v3.0/jobs/{jobId}";
+    protected static final String JOB_RESULT_PATH = "/api/v3.0/jobs/{jobId}/result";
     protected static final String LOOKUP_SHELL_BASE_PATH = "/api/v3.0/lookup/shells";
     protected static final String SINGLE_LOOKUP_SHELL_BASE_PATH = "/api/v3.0/lookup/shells/{aasIdentifier}";
     protected static final String SUB_MODEL_BASE_PATH = "/api/v3.0/shell-descriptors/{aasIdentifier}/submodel-descriptors";
@@ -69,6 +80,9 @@ public abstract class AbstractAssetAdministrationShellApi {
     @Autowired
     protected ShellRepository shellRepository;
 
+    @Autowired
+    protected SubmodelRepository submodelRepository;
+
     protected String getId(ObjectNode payload) {
         return payload.get("identification").textValue();
     }
@@ -231,4 +245,12 @@ public abstract class AbstractAssetAdministrationShellApi {
         return mapper.writeValueAsString(objectNode);
     }
 
+    protected byte[] toGzipNdjson(String... lines) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
 }
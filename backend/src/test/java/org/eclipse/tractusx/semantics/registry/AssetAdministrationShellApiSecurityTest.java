@@ -191,6 +191,140 @@ public class AssetAdministrationShellApiSecurityTest extends AbstractAssetAdmini
                     .andExpect(status().isCreated());
         }
 
+        @Test
+        public void testRbacForCreateBatch() throws Exception {
+            AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor();
+            shellPayload1.setId(UUID.randomUUID().toString());
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(SHELL_BATCH_PATH)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(List.of(shellPayload1)))
+                                    // test with wrong role
+                                    .with(jwtTokenFactory.readTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isForbidden());
+
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(SHELL_BATCH_PATH)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(List.of(shellPayload1)))
+                                    .with(jwtTokenFactory.addTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        public void testRbacForImport() throws Exception {
+            AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor();
+            shellPayload1.setId(UUID.randomUUID().toString());
+            byte[] file = toGzipNdjson(mapper.writeValueAsString(shellPayload1));
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(SHELL_IMPORT_PATH)
+                                    .contentType("application/gzip")
+                                    .content(file)
+                                    // test with wrong role
+                                    .with(jwtTokenFactory.readTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isForbidden());
+
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(SHELL_IMPORT_PATH)
+                                    .contentType("application/gzip")
+                                    .content(file)
+                                    .with(jwtTokenFactory.addTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        public void testRbacForDeleteBatch() throws Exception {
+            AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor();
+            shellPayload1.setId(UUID.randomUUID().toString());
+            performShellCreateRequest(mapper.writeValueAsString(shellPayload1));
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .delete(SHELL_BATCH_PATH)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(List.of(shellPayload1.getId())))
+                                    // test with wrong role
+                                    .with(jwtTokenFactory.addTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isForbidden());
+
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .delete(SHELL_BATCH_PATH)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(List.of(shellPayload1.getId())))
+                                    .with(jwtTokenFactory.deleteTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status", is(200)));
+        }
+
+        @Test
+        public void testRbacForJobs() throws Exception {
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(JOB_BASE_PATH + "/delete")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(List.of(UUID.randomUUID().toString())))
+                                    // test with wrong role
+                                    .with(jwtTokenFactory.addTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isForbidden());
+
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(JOB_BASE_PATH + "/import")
+                                    .contentType("application/gzip")
+                                    .content(toGzipNdjson())
+                                    // test with wrong role
+                                    .with(jwtTokenFactory.deleteTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isForbidden());
+
+            String jobId = mapper.readTree(mvc.perform(
+                            MockMvcRequestBuilders
+                                    .post(JOB_BASE_PATH + "/delete")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(mapper.writeValueAsString(List.of(UUID.randomUUID().toString())))
+                                    .with(jwtTokenFactory.deleteTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getContentAsString()).get("id").asText();
+
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .get(SINGLE_JOB_BASE_PATH, jobId)
+                                    // test with wrong role
+                                    .with(jwtTokenFactory.addTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isForbidden());
+
+            mvc.perform(
+                            MockMvcRequestBuilders
+                                    .get(SINGLE_JOB_BASE_PATH, jobId)
+                                    .with(jwtTokenFactory.readTwin())
+                    )
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(status().isOk());
+        }
+
         @Test
         public void testRbacForUpdate() throws Exception {
 
@@ -1092,6 +1226,87 @@ public class AssetAdministrationShellApiSecurityTest extends AbstractAssetAdmini
                 .andExpect(jsonPath("$.result", hasSize(0)));
        }
 
+       @Test
+       public void testGetAllShellsBySemanticIdByTenantId() throws Exception {
+          String semanticId = "urn:samm:semanticId:" + UUID.randomUUID();
+          // shellPayload1 is visible for tenantTwo, because externalSubjectId = tenantTwo
+          AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor(semanticId, "http://endpoint-address");
+          shellPayload1.setId(UUID.randomUUID().toString());
+          shellPayload1.setSpecificAssetIds(List.of(TestUtil.createSpecificAssetId("tenantTwo","value_1",List.of(jwtTokenFactory.tenantTwo().getTenantId()))));
+          performShellCreateRequest(mapper.writeValueAsString(shellPayload1));
+          // shellPayload2 is only visible for the owner
+          AssetAdministrationShellDescriptor shellPayload2 = TestUtil.createCompleteAasDescriptor(semanticId, "http://endpoint-address");
+          shellPayload2.setId(UUID.randomUUID().toString());
+          shellPayload2.setSpecificAssetIds(List.of(TestUtil.createSpecificAssetId("defaultClosed","value_2",null)));
+          performShellCreateRequest(mapper.writeValueAsString(shellPayload2));
+          // shellPayload3 has another semanticId
+          AssetAdministrationShellDescriptor shellPayload3 = TestUtil.createCompleteAasDescriptor();
+          shellPayload3.setId(UUID.randomUUID().toString());
+          performShellCreateRequest(mapper.writeValueAsString(shellPayload3));
+
+          // the owner pages through both shells with the semanticId
+          String firstPage = mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SHELL_BASE_PATH + "/by-semantic-id")
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                            .queryParam("semanticId", getEncodedValue(semanticId))
+                            .queryParam("limit", "1")
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result", hasSize(1)))
+                .andExpect(jsonPath("$.paging_metadata.cursor").exists())
+                .andReturn().getResponse().getContentAsString();
+          JsonNode firstPageJson = mapper.readTree(firstPage);
+          String firstShellId = firstPageJson.get("result").get(0).get("id").asText();
+
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SHELL_BASE_PATH + "/by-semantic-id")
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                            .queryParam("semanticId", getEncodedValue(semanticId))
+                            .queryParam("limit", "1")
+                            .queryParam("cursor", firstPageJson.get("paging_metadata").get("cursor").asText())
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result", hasSize(1)))
+                .andExpect(jsonPath("$.result[0].id", not(firstShellId)))
+                .andExpect(jsonPath("$.result[0].id", anyOf(is(shellPayload1.getId()), is(shellPayload2.getId()))))
+                .andExpect(jsonPath("$.paging_metadata.cursor").doesNotExist());
+
+          // tenantTwo only sees the shell including its externalSubjectId
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SHELL_BASE_PATH + "/by-semantic-id")
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+                            .queryParam("semanticId", getEncodedValue(semanticId))
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result", hasSize(1)))
+                .andExpect(jsonPath("$.result[0].id", is(shellPayload1.getId())));
+
+          // tenantThree sees no shell
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SHELL_BASE_PATH + "/by-semantic-id")
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                            .queryParam("semanticId", getEncodedValue(semanticId))
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result", hasSize(0)));
+       }
+
        @Test
        public void testGetAllShellsWithPublicAccessByTenantId() throws Exception {
           // the keyPrefix ensures that this test can run against a persistent database multiple times
@@ -1243,6 +1458,99 @@ public class AssetAdministrationShellApiSecurityTest extends AbstractAssetAdmini
                 .andExpect(jsonPath("$.submodelDescriptors[*]").exists())
                 .andExpect(jsonPath("$.specificAssetIds[*]").exists());
        }
+
+       @Test
+       public void testGetShellByExternalIdAfterExternalSubjectIdUpdateByTenantId() throws Exception {
+          AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+          shellPayload.setId(UUID.randomUUID().toString());
+          // asset1 is visible for tenantTwo, because externalSubjectId = tenantTwo
+          SpecificAssetId asset1 = TestUtil.createSpecificAssetId("tenantAsset","value_1",List.of(jwtTokenFactory.tenantTwo().getTenantId()));
+          shellPayload.setSpecificAssetIds(List.of(asset1));
+          performShellCreateRequest(mapper.writeValueAsString(shellPayload));
+
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ))
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id",is( shellPayload.getId() )));
+
+          // the specificAssetId is handed over to tenantThree, the visibility of the shell follows the update
+          asset1.setExternalSubjectId(TestUtil.createSpecificAssetId("tenantAsset","value_1",List.of(jwtTokenFactory.tenantThree().getTenantId())).getExternalSubjectId());
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .put(SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ))
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(mapper.writeValueAsString(shellPayload))
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isNoContent());
+
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ))
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isNotFound());
+
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .get(SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ))
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                            .accept(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.allRoles())
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id",is( shellPayload.getId() )));
+       }
+
+       @Test
+       public void testPostSubmodelDescriptorAuthorizedByTenantId() throws Exception {
+          String endpointAddress = "http://endpoint-address/" + UUID.randomUUID();
+          String authorizationRequest = "{\"submodelEndpointUrl\": \"" + endpointAddress + "\"}";
+          AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor("semanticIdExample", endpointAddress);
+          shellPayload.setId(UUID.randomUUID().toString());
+          // asset1 is visible for tenantTwo, because externalSubjectId = tenantTwo
+          SpecificAssetId asset1 = TestUtil.createSpecificAssetId("tenantAsset","value_1",List.of(jwtTokenFactory.tenantTwo().getTenantId()));
+          shellPayload.setSpecificAssetIds(List.of(asset1));
+          performShellCreateRequest(mapper.writeValueAsString(shellPayload));
+
+          // the owner and tenantTwo can see the shell with the submodel endpoint
+          for (JwtTokenFactory.Tenant tenant : List.of(jwtTokenFactory.tenantOne(), jwtTokenFactory.tenantTwo())) {
+             mvc.perform(
+                         MockMvcRequestBuilders
+                               .post("/api/v3.0/submodel-descriptor/authorized")
+                               .contentType(MediaType.APPLICATION_JSON)
+                               .with(tenant.submodelAccessControl())
+                               .content(authorizationRequest)
+                               .header( EXTERNAL_SUBJECT_ID_HEADER, tenant.getTenantId() )
+                   )
+                   .andDo(MockMvcResultHandlers.print())
+                   .andExpect(status().isOk());
+          }
+
+          // tenantThree cannot see the shell
+          mvc.perform(
+                      MockMvcRequestBuilders
+                            .post("/api/v3.0/submodel-descriptor/authorized")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .with(jwtTokenFactory.tenantThree().submodelAccessControl())
+                            .content(authorizationRequest)
+                            .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(status().isForbidden());
+       }
    }
    @Nested
    @DisplayName( "Description Authentication Tests" )
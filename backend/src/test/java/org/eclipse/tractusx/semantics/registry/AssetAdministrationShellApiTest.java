@@ -20,12 +20,19 @@
 package org.eclipse.tractusx.semantics.registry;
 
 import static org.eclipse.tractusx.semantics.registry.TestUtil.*;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
@@ -36,7 +43,9 @@ import org.eclipse.tractusx.semantics.registry.service.ShellService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
@@ -157,6 +166,132 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
                .andExpect( jsonPath( "$.result" ).exists() );
       }
 
+      @Test
+      public void testImportShellsExpectResultPerLine() throws Exception {
+         AssetAdministrationShellDescriptor existingShell = TestUtil.createCompleteAasDescriptor();
+         existingShell.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( existingShell ) );
+
+         AssetAdministrationShellDescriptor newShell = TestUtil.createCompleteAasDescriptor();
+         newShell.setId( UUID.randomUUID().toString() );
+         AssetAdministrationShellDescriptor duplicateOfExistingShell = TestUtil.createCompleteAasDescriptor();
+         duplicateOfExistingShell.setId( existingShell.getId() );
+
+         byte[] file = toGzipNdjson( mapper.writeValueAsString( newShell ), mapper.writeValueAsString( duplicateOfExistingShell ), "", "{ invalid" );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SHELL_IMPORT_PATH )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( "application/gzip" )
+                           .content( file )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.total", is( 3 ) ) )
+               .andExpect( jsonPath( "$.succeeded", is( 1 ) ) )
+               .andExpect( jsonPath( "$.failed", is( 2 ) ) )
+               .andExpect( jsonPath( "$.errors", hasSize( 2 ) ) )
+               .andExpect( jsonPath( "$.errors[0].line", is( 2 ) ) )
+               .andExpect( jsonPath( "$.errors[0].id", is( existingShell.getId() ) ) )
+               .andExpect( jsonPath( "$.errors[0].message", is( ShellService.DUPLICATE_SHELL_EXCEPTION ) ) )
+               .andExpect( jsonPath( "$.errors[1].line", is( 4 ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( newShell.getId() ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( content().json( mapper.writeValueAsString( newShell ) ) );
+      }
+
+      @Test
+      public void testImportShellsWithoutGzipExpectBadRequest() throws Exception {
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SHELL_IMPORT_PATH )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( "application/gzip" )
+                           .content( "{}" )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isBadRequest() );
+      }
+
+      @Test
+      public void testExportShellsExpectReimportableFile() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+
+         byte[] file = mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SHELL_EXPORT_PATH )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andExpect( status().isOk() )
+               .andExpect( content().contentType( "application/gzip" ) )
+               .andReturn().getResponse().getContentAsByteArray();
+
+         List<String> lines;
+         try ( BufferedReader reader = new BufferedReader( new InputStreamReader( new GZIPInputStream( new ByteArrayInputStream( file ) ), StandardCharsets.UTF_8 ) ) ) {
+            lines = reader.lines().toList();
+         }
+         String exportedShell = lines.stream().filter( line -> line.contains( shellPayload.getId() ) ).findFirst().orElseThrow();
+         JSONAssert.assertEquals( mapper.writeValueAsString( shellPayload ), exportedShell, false );
+
+         // the shell is restored by importing the file, all other shells of the file already exist
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .delete( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andExpect( status().isNoContent() );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SHELL_IMPORT_PATH )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( "application/gzip" )
+                           .content( file )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.total", is( lines.size() ) ) )
+               .andExpect( jsonPath( "$.succeeded", is( 1 ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( content().json( mapper.writeValueAsString( shellPayload ) ) );
+      }
+
+      @Test
+      public void testExportShellsAsOtherTenantExpectForbidden() throws Exception {
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SHELL_EXPORT_PATH )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isForbidden() );
+      }
+
       @Test
       public void testUpdateShellExpectSuccess() throws Exception {
          AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
@@ -193,6 +328,59 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
                .andExpect( jsonPath( "$.displayName[0].language", is("fr") ) );
       }
 
+      @Test
+      public void testUpdateShellExpectUnchangedElementsAreKept() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         SubmodelDescriptor removedSubmodel = TestUtil.createSubmodel();
+         shellPayload.getSubmodelDescriptors().add( removedSubmodel );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+
+         String shellId = shellPayload.getId();
+         SubmodelDescriptor updatedSubmodel = shellPayload.getSubmodelDescriptors().get( 0 );
+         UUID shellPk = shellRepository.findMinimalRepresentationByIdExternal( shellId ).orElseThrow().getId();
+         UUID submodelPk = submodelRepository.findMinimalRepresentationByShellIdAndIdExternal( shellPk, updatedSubmodel.getId() ).orElseThrow().getId();
+
+         shellPayload.setSpecificAssetIds( List.of( shellPayload.getSpecificAssetIds().get( 0 ) ) );
+         shellPayload.getDescription().get( 1 ).setText( "updated text" );
+         shellPayload.getSubmodelDescriptors().remove( removedSubmodel );
+         updatedSubmodel.getEndpoints().get( 0 ).getProtocolInformation().setHref( "http://updated-endpoint-address" );
+         updatedSubmodel.getSemanticId().getKeys().get( 0 ).setValue( "updatedSemanticId" );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .put( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellId ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( shellPayload ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNoContent() );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellId ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.specificAssetIds", hasSize( 1 ) ) )
+               .andExpect( jsonPath( "$.specificAssetIds[0].name", is( "identifier1KeyExample" ) ) )
+               .andExpect( jsonPath( "$.description[*].text", containsInAnyOrder( "hello text", "updated text" ) ) )
+               .andExpect( jsonPath( "$.submodelDescriptors", hasSize( 1 ) ) )
+               .andExpect( jsonPath( "$.submodelDescriptors[0].id", is( updatedSubmodel.getId() ) ) )
+               .andExpect( jsonPath( "$.submodelDescriptors[0].endpoints[0].protocolInformation.href", is( "http://updated-endpoint-address" ) ) )
+               .andExpect( jsonPath( "$.submodelDescriptors[0].semanticId.keys[0].value", is( "updatedSemanticId" ) ) );
+
+         // the matching submodel was updated in place instead of being re-inserted
+         assertThat( submodelRepository.findMinimalRepresentationByShellIdAndIdExternal( shellPk, updatedSubmodel.getId() ) )
+               .hasValueSatisfying( submodel -> assertThat( submodel.getId() ).isEqualTo( submodelPk ) );
+      }
+
       @Test
       public void testUpdateShellExpectNotFound() throws Exception {
 
@@ -317,6 +505,307 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
                .andExpect( status().isCreated() )
         .andExpect(content().json(mapper.writeValueAsString(shellPayload)));
       }
+
+      @Test
+      public void testCreateShellBatchExpectResultPerShell() throws Exception {
+         AssetAdministrationShellDescriptor existingShell = TestUtil.createCompleteAasDescriptor();
+         existingShell.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( existingShell ) );
+
+         AssetAdministrationShellDescriptor newShell = TestUtil.createCompleteAasDescriptor();
+         newShell.setId( UUID.randomUUID().toString() );
+         AssetAdministrationShellDescriptor duplicateOfExistingShell = TestUtil.createCompleteAasDescriptor();
+         duplicateOfExistingShell.setId( existingShell.getId() );
+         AssetAdministrationShellDescriptor duplicateWithinBatch = TestUtil.createCompleteAasDescriptor();
+         duplicateWithinBatch.setId( newShell.getId() );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SHELL_BATCH_PATH )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( List.of( newShell, duplicateOfExistingShell, duplicateWithinBatch ) ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$", hasSize( 3 ) ) )
+               .andExpect( jsonPath( "$[0].id", is( newShell.getId() ) ) )
+               .andExpect( jsonPath( "$[0].status", is( 200 ) ) )
+               .andExpect( jsonPath( "$[1].id", is( existingShell.getId() ) ) )
+               .andExpect( jsonPath( "$[1].status", is( 400 ) ) )
+               .andExpect( jsonPath( "$[1].message", is( ShellService.DUPLICATE_SHELL_EXCEPTION ) ) )
+               .andExpect( jsonPath( "$[2].status", is( 400 ) ) )
+               .andExpect( jsonPath( "$[2].message", is( ShellService.DUPLICATE_SHELL_EXCEPTION ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( newShell.getId() ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( content().json( mapper.writeValueAsString( newShell ) ) );
+      }
+
+      @Test
+      public void testDeleteShellBatchExpectResultPerId() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor();
+         shellPayload1.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload1 ) );
+         AssetAdministrationShellDescriptor shellPayload2 = TestUtil.createCompleteAasDescriptor();
+         shellPayload2.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload2 ) );
+         String unknownId = UUID.randomUUID().toString();
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .delete( SHELL_BATCH_PATH )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( List.of( shellPayload1.getId(), unknownId, shellPayload2.getId() ) ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$", hasSize( 3 ) ) )
+               .andExpect( jsonPath( "$[0].id", is( shellPayload1.getId() ) ) )
+               .andExpect( jsonPath( "$[0].status", is( 200 ) ) )
+               .andExpect( jsonPath( "$[1].id", is( unknownId ) ) )
+               .andExpect( jsonPath( "$[1].status", is( 404 ) ) )
+               .andExpect( jsonPath( "$[2].id", is( shellPayload2.getId() ) ) )
+               .andExpect( jsonPath( "$[2].status", is( 200 ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload1.getId() ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNotFound() );
+
+         // the submodels have been deleted by the cascade, so their globally unique ids can be registered again
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload2 ) );
+      }
+   }
+
+   @Nested
+   @DisplayName( "Registry Job API" )
+   class RegistryJobApiTest {
+
+      @Test
+      public void testImportJobExpectProgressAndErrorPerLine() throws Exception {
+         AssetAdministrationShellDescriptor existingShell = TestUtil.createCompleteAasDescriptor();
+         existingShell.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( existingShell ) );
+
+         AssetAdministrationShellDescriptor newShell = TestUtil.createCompleteAasDescriptor();
+         newShell.setId( UUID.randomUUID().toString() );
+         byte[] file = toGzipNdjson( mapper.writeValueAsString( newShell ), mapper.writeValueAsString( existingShell ), "{ invalid" );
+
+         String jobId = submitJob( MockMvcRequestBuilders
+               .post( JOB_BASE_PATH + "/import" )
+               .contentType( "application/gzip" )
+               .content( file ) );
+
+         JsonNode job = awaitJob( jobId );
+         assertThat( job.get( "type" ).asText() ).isEqualTo( "IMPORT" );
+         assertThat( job.get( "status" ).asText() ).isEqualTo( "COMPLETED" );
+         assertThat( job.get( "processed" ).asLong() ).isEqualTo( 3 );
+         assertThat( job.get( "succeeded" ).asLong() ).isEqualTo( 1 );
+         assertThat( job.get( "failed" ).asLong() ).isEqualTo( 2 );
+
+         List<String> errors = readJobResult( jobId, jwtTokenFactory.tenantOne().getTenantId() );
+         assertThat( errors ).hasSize( 2 );
+         JSONAssert.assertEquals( "{\"line\":2,\"id\":\"" + existingShell.getId() + "\",\"message\":\"" + ShellService.DUPLICATE_SHELL_EXCEPTION + "\"}",
+               errors.get( 0 ), false );
+         JSONAssert.assertEquals( "{\"line\":3}", errors.get( 1 ), false );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( newShell.getId() ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( content().json( mapper.writeValueAsString( newShell ) ) );
+      }
+
+      @Test
+      public void testDeleteJobExpectResultPerId() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         String notExistingShellId = UUID.randomUUID().toString();
+
+         String jobId = submitJob( MockMvcRequestBuilders
+               .post( JOB_BASE_PATH + "/delete" )
+               .contentType( MediaType.APPLICATION_JSON )
+               .content( mapper.writeValueAsString( List.of( shellPayload.getId(), notExistingShellId ) ) ) );
+
+         JsonNode job = awaitJob( jobId );
+         assertThat( job.get( "status" ).asText() ).isEqualTo( "COMPLETED" );
+         assertThat( job.get( "processed" ).asLong() ).isEqualTo( 2 );
+         assertThat( job.get( "succeeded" ).asLong() ).isEqualTo( 1 );
+         assertThat( job.get( "failed" ).asLong() ).isEqualTo( 1 );
+
+         List<String> results = readJobResult( jobId, jwtTokenFactory.tenantOne().getTenantId() );
+         assertThat( results ).hasSize( 2 );
+         JSONAssert.assertEquals( "{\"id\":\"" + shellPayload.getId() + "\",\"status\":200}", results.get( 0 ), false );
+         JSONAssert.assertEquals( "{\"id\":\"" + notExistingShellId + "\",\"status\":404}", results.get( 1 ), false );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNotFound() );
+      }
+
+      @Test
+      public void testExportJobExpectAllShells() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+
+         String jobId = submitJob( MockMvcRequestBuilders
+               .post( JOB_BASE_PATH + "/export" )
+               .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() ) );
+
+         JsonNode job = awaitJob( jobId );
+         assertThat( job.get( "status" ).asText() ).isEqualTo( "COMPLETED" );
+
+         List<String> lines = readJobResult( jobId, jwtTokenFactory.tenantOne().getTenantId() );
+         assertThat( (long) lines.size() ).isEqualTo( job.get( "processed" ).asLong() );
+         String exportedShell = lines.stream().filter( line -> line.contains( shellPayload.getId() ) ).findFirst().orElseThrow();
+         JSONAssert.assertEquals( mapper.writeValueAsString( shellPayload ), exportedShell, false );
+
+         // the export contains the shells regardless of the visibility rules
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( JOB_RESULT_PATH, jobId )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNotFound() );
+      }
+
+      @Test
+      public void testGetJobOfOtherTenantExpectNotFound() throws Exception {
+         String jobId = submitJob( MockMvcRequestBuilders
+               .post( JOB_BASE_PATH + "/delete" )
+               .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+               .contentType( MediaType.APPLICATION_JSON )
+               .content( mapper.writeValueAsString( List.of( UUID.randomUUID().toString() ) ) ) );
+
+         JsonNode job = awaitJob( jobId, jwtTokenFactory.tenantTwo().getTenantId() );
+         assertThat( job.get( "status" ).asText() ).isEqualTo( "COMPLETED" );
+         assertThat( readJobResult( jobId, jwtTokenFactory.tenantTwo().getTenantId() ) ).hasSize( 1 );
+         // the owning tenant can access all jobs
+         assertThat( readJobResult( jobId, jwtTokenFactory.tenantOne().getTenantId() ) ).hasSize( 1 );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_JOB_BASE_PATH, jobId )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNotFound() );
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( JOB_RESULT_PATH, jobId )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNotFound() );
+      }
+
+      @Test
+      public void testExportJobAsOtherTenantExpectForbidden() throws Exception {
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( JOB_BASE_PATH + "/export" )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantTwo().getTenantId() )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isForbidden() );
+      }
+
+      @Test
+      public void testGetNotExistingJobExpectNotFound() throws Exception {
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_JOB_BASE_PATH, UUID.randomUUID() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNotFound() );
+      }
+
+      private String submitJob( MockHttpServletRequestBuilder request ) throws Exception {
+         String response = mvc.perform( request.accept( MediaType.APPLICATION_JSON ).with( jwtTokenFactory.allRoles() ) )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isAccepted() )
+               .andExpect( jsonPath( "$.id" ).exists() )
+               .andReturn().getResponse().getContentAsString();
+         return mapper.readTree( response ).get( "id" ).asText();
+      }
+
+      private JsonNode awaitJob( String jobId ) throws Exception {
+         return awaitJob( jobId, jwtTokenFactory.tenantOne().getTenantId() );
+      }
+
+      private JsonNode awaitJob( String jobId, String externalSubjectId ) throws Exception {
+         long timeout = System.currentTimeMillis() + 30000;
+         while ( true ) {
+            String response = mvc.perform(
+                        MockMvcRequestBuilders
+                              .get( SINGLE_JOB_BASE_PATH, jobId )
+                              .header( EXTERNAL_SUBJECT_ID_HEADER, externalSubjectId )
+                              .accept( MediaType.APPLICATION_JSON )
+                              .with( jwtTokenFactory.allRoles() )
+                  )
+                  .andExpect( status().isOk() )
+                  .andReturn().getResponse().getContentAsString();
+            JsonNode job = mapper.readTree( response );
+            String jobStatus = job.get( "status" ).asText();
+            if ( !"QUEUED".equals( jobStatus ) && !"RUNNING".equals( jobStatus ) ) {
+               return job;
+            }
+            assertThat( System.currentTimeMillis() ).as( "Job %s did not finish in time.", jobId ).isLessThan( timeout );
+            Thread.sleep( 100 );
+         }
+      }
+
+      private List<String> readJobResult( String jobId, String externalSubjectId ) throws Exception {
+         byte[] file = mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( JOB_RESULT_PATH, jobId )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, externalSubjectId )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andExpect( status().isOk() )
+               .andExpect( content().contentType( "application/gzip" ) )
+               .andReturn().getResponse().getContentAsByteArray();
+         try ( BufferedReader reader = new BufferedReader( new InputStreamReader( new GZIPInputStream( new ByteArrayInputStream( file ) ), StandardCharsets.UTF_8 ) ) ) {
+            return reader.lines().toList();
+         }
+      }
    }
 
    @Nested
@@ -389,6 +878,97 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
           .andExpect(jsonPath("$.specificAssetIds", hasSize(4)));
       }
 
+      @Test
+      public void testCreateSpecificAssetIdsWithExistingSpecificAssetIdsExpectNoDuplicates() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         String shellId = shellPayload.getId();
+
+         List<SpecificAssetId> specificAssetIds = new ArrayList<>( shellPayload.getSpecificAssetIds() );
+         specificAssetIds.add( TestUtil.createSpecificAssetId( "key1", "value1", List.of( "tenant1" ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SINGLE_LOOKUP_SHELL_BASE_PATH, getEncodedValue( shellId ) )
+                           .queryParam( "mode", "merge" )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( specificAssetIds ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isCreated() )
+               .andExpect( content().json( mapper.writeValueAsString( specificAssetIds ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellId ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.specificAssetIds", hasSize( 3 ) ) );
+      }
+
+      @Test
+      public void testReplaceSpecificAssetIdsExpectSuccess() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         String shellId = shellPayload.getId();
+
+         List<SpecificAssetId> specificAssetIds = List.of( shellPayload.getSpecificAssetIds().get( 0 ),
+               TestUtil.createSpecificAssetId( "key1", "value1", List.of( "tenant1" ) ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SINGLE_LOOKUP_SHELL_BASE_PATH, getEncodedValue( shellId ) )
+                           .queryParam( "mode", "replace" )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( specificAssetIds ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isCreated() )
+               .andExpect( content().json( mapper.writeValueAsString( specificAssetIds ) ) );
+
+         // the globalAssetId is not an asset link and is kept
+         shellPayload.setSpecificAssetIds( specificAssetIds );
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, getEncodedValue( shellId ) )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( content().json( mapper.writeValueAsString( shellPayload ) ) );
+      }
+
+      @Test
+      public void testCreateSpecificAssetIdsWithInvalidModeExpectBadRequest() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SINGLE_LOOKUP_SHELL_BASE_PATH, getEncodedValue( shellPayload.getId() ) )
+                           .queryParam( "mode", "append" )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( shellPayload.getSpecificAssetIds() ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isBadRequest() );
+      }
+
       @Test
       public void testCreateSpecificIdsExpectNotFound() throws Exception {
          ArrayNode specificAssetIds = emptyArrayNode()
@@ -493,6 +1073,32 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
                .andExpect( jsonPath( "$.messages[0].text", is( ShellService.DUPLICATE_SUBMODEL_ID_SHORT_EXCEPTION ) ) );
       }
 
+      @Test
+      public void testCreateSubmodelWithIdOfOtherShellExpectBadRequest() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor();
+         shellPayload1.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload1 ) );
+
+         AssetAdministrationShellDescriptor shellPayload2 = TestUtil.createCompleteAasDescriptor();
+         shellPayload2.setId( UUID.randomUUID().toString() );
+         shellPayload2.setSubmodelDescriptors( null );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload2 ) );
+
+         // submodel ids are unique across all shells
+         SubmodelDescriptor existingSubmodel = shellPayload1.getSubmodelDescriptors().get( 0 );
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SUB_MODEL_BASE_PATH, getEncodedValue( shellPayload2.getId() ) )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( existingSubmodel ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isBadRequest() )
+               .andExpect( jsonPath( "$.messages[0].text", is( ShellService.DUPLICATE_SUBMODEL_EXCEPTION ) ) );
+      }
+
       @Test
       public void testUpdateSubModelExpectSuccess() throws Exception {
          AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor();
@@ -502,6 +1108,8 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
          SubmodelDescriptor submodel = TestUtil.createSubmodel();
          performSubmodelCreateRequest( mapper.writeValueAsString( submodel ),getEncodedValue(  shellPayload1.getId()  ));
          String submodelId = submodel.getId();
+         UUID shellPk = shellRepository.findMinimalRepresentationByIdExternal( shellPayload1.getId() ).orElseThrow().getId();
+         UUID submodelPk = submodelRepository.findMinimalRepresentationByShellIdAndIdExternal( shellPk, submodelId ).orElseThrow().getId();
 
          SubmodelDescriptor updatedSubmodel = TestUtil.createSubmodel();
          updatedSubmodel.setId( submodelId );
@@ -533,6 +1141,10 @@ public class AssetAdministrationShellApiTest extends AbstractAssetAdministration
                .andDo( MockMvcResultHandlers.print() )
                .andExpect( status().isOk() )
          .andExpect(content().json(mapper.writeValueAsString( updatedSubmodel )));
+
+         // the submodel was updated in place instead of being re-inserted
+         assertThat( submodelRepository.findMinimalRepresentationByShellIdAndIdExternal( shellPk, submodelId ) )
+               .hasValueSatisfying( stored -> assertThat( stored.getId() ).isEqualTo( submodelPk ) );
       }
 
       @Test
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.semantics.registry.TestUtil.getEncodedValue;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.aas.registry.model.SpecificAssetId;
+import org.eclipse.tractusx.semantics.aas.registry.model.SubmodelDescriptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+/**
+ * Runs the visibility tests with the descriptor document, so that the visibility rules are applied to the shells restored from
+ * the document.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles( profiles = { "document", "test" } )
+@EnableConfigurationProperties( RegistryProperties.class )
+public class DescriptorDocumentAssetAdministrationShellApiSecurityTest extends AssetAdministrationShellApiSecurityTest {
+
+   @Nested
+   @DisplayName( "Shell Authorization Test" )
+   class ShellCrudTest extends AssetAdministrationShellApiSecurityTest.ShellCrudTest {
+   }
+
+   @Nested
+   @DisplayName( "SpecificAssetIds Crud Test" )
+   class SpecificAssetIdsCrudTest extends AssetAdministrationShellApiSecurityTest.SpecificAssetIdsCrudTest {
+   }
+
+   @Nested
+   @DisplayName( "Tenant based specificAssetId visibility test" )
+   class TenantBasedVisibilityTest extends AssetAdministrationShellApiSecurityTest.TenantBasedVisibilityTest {
+   }
+
+   @Nested
+   @DisplayName( "Tenant based Shell visibility test" )
+   class TenantBasedShellVisibilityTest extends AssetAdministrationShellApiSecurityTest.TenantBasedShellVisibilityTest {
+   }
+
+   @Nested
+   @DisplayName( "Descriptor Document Test" )
+   class DescriptorDocumentTest {
+
+      @Test
+      public void testWritesOfShellPartsExpectDocumentInSync() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         assertThat( shellRepository.findByIdExternal( shellPayload.getId() ).orElseThrow().getDescriptorDocument() ).isNotEmpty();
+         String encodedShellId = getEncodedValue( shellPayload.getId() );
+         int submodels = shellPayload.getSubmodelDescriptors().size();
+
+         SubmodelDescriptor submodel = TestUtil.createSubmodel();
+         submodel.setIdShort( UUID.randomUUID().toString() );
+         performSubmodelCreateRequest( mapper.writeValueAsString( submodel ), encodedShellId );
+         getShellAsOwner( encodedShellId )
+               .andExpect( jsonPath( "$.submodelDescriptors", hasSize( submodels + 1 ) ) );
+
+         submodel.setIdShort( UUID.randomUUID().toString() );
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .put( SINGLE_SUB_MODEL_BASE_PATH, encodedShellId, getEncodedValue( submodel.getId() ) )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( submodel ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNoContent() );
+         getShellAsOwner( encodedShellId )
+               .andExpect( jsonPath( "$.submodelDescriptors[?(@.id == '" + submodel.getId() + "')].idShort" ).value( submodel.getIdShort() ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .delete( SINGLE_SUB_MODEL_BASE_PATH, encodedShellId, getEncodedValue( submodel.getId() ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNoContent() );
+         getShellAsOwner( encodedShellId )
+               .andExpect( jsonPath( "$.submodelDescriptors", hasSize( submodels ) ) );
+
+         SpecificAssetId specificAssetId = TestUtil.createSpecificAssetId( "documentKey", "documentValue", List.of( jwtTokenFactory.tenantTwo().getTenantId() ) );
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .post( SINGLE_LOOKUP_SHELL_BASE_PATH, encodedShellId )
+                           .contentType( MediaType.APPLICATION_JSON )
+                           .content( mapper.writeValueAsString( List.of( specificAssetId ) ) )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isCreated() );
+         getShellAsOwner( encodedShellId )
+               .andExpect( jsonPath( "$.specificAssetIds[?(@.name == 'documentKey')].value" ).value( "documentValue" ) );
+
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .delete( SINGLE_LOOKUP_SHELL_BASE_PATH, encodedShellId )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isNoContent() );
+         getShellAsOwner( encodedShellId )
+               .andExpect( jsonPath( "$.specificAssetIds", hasSize( 0 ) ) )
+               .andExpect( jsonPath( "$.globalAssetId" ).value( shellPayload.getGlobalAssetId() ) );
+      }
+
+      private ResultActions getShellAsOwner( String encodedShellId ) throws Exception {
+         return mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SINGLE_SHELL_BASE_PATH, encodedShellId )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() );
+      }
+   }
+}
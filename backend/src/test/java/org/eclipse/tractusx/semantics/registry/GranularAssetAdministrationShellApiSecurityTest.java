@@ -20,6 +20,11 @@
 package org.eclipse.tractusx.semantics.registry;
 
 import static org.eclipse.tractusx.semantics.registry.TestUtil.getEncodedValue;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
@@ -239,6 +244,90 @@ public class GranularAssetAdministrationShellApiSecurityTest extends AssetAdmini
       public void testGetAllShellByExternalIdWithPublicAccessByTenantId() throws Exception {
          super.testGetAllShellByExternalIdWithPublicAccessByTenantId();
       }
+
+      @Test
+      @Disabled("the shell visibility is defined by the access rules instead of the externalSubjectIds")
+      public void testGetShellByExternalIdAfterExternalSubjectIdUpdateByTenantId() throws Exception {
+         super.testGetShellByExternalIdAfterExternalSubjectIdUpdateByTenantId();
+      }
+
+      @Test
+      @Disabled("the shell visibility is defined by the access rules instead of the externalSubjectIds")
+      public void testPostSubmodelDescriptorAuthorizedByTenantId() throws Exception {
+         super.testPostSubmodelDescriptorAuthorizedByTenantId();
+      }
+
+      @Test
+      @Disabled("the shell visibility is defined by the access rules instead of the externalSubjectIds")
+      public void testGetAllShellsBySemanticIdByTenantId() throws Exception {
+         super.testGetAllShellsBySemanticIdByTenantId();
+      }
+
+      @Test
+      public void testGetAllShellsBySemanticIdWithGrantedAndDeniedSemanticIdByTenantId() throws Exception {
+         String grantedSemanticId = "urn:samm:semanticIdSearch:granted";
+         String deniedSemanticId = "urn:samm:semanticIdSearch:denied";
+         // the rule of tenantThree matches shellPayload1 and grants the first of its semanticIds only
+         AssetAdministrationShellDescriptor shellPayload1 = TestUtil.createCompleteAasDescriptor( grantedSemanticId, "http://endpoint-address" );
+         shellPayload1.setId( UUID.randomUUID().toString() );
+         shellPayload1.setIdShort( UUID.randomUUID().toString() );
+         shellPayload1.setSpecificAssetIds( List.of( TestUtil.createSpecificAssetId( "semanticIdSearch", "granted", null ) ) );
+         shellPayload1.getSubmodelDescriptors().add( TestUtil.createSubmodel( deniedSemanticId, "http://endpoint-address" ) );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload1 ) );
+         // the rule of tenantThree does not match shellPayload2
+         AssetAdministrationShellDescriptor shellPayload2 = TestUtil.createCompleteAasDescriptor( grantedSemanticId, "http://endpoint-address" );
+         shellPayload2.setId( UUID.randomUUID().toString() );
+         shellPayload2.setIdShort( UUID.randomUUID().toString() );
+         shellPayload2.setSpecificAssetIds( List.of( TestUtil.createSpecificAssetId( "semanticIdSearch", "denied", null ) ) );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload2 ) );
+
+         // the owner sees both shells
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SHELL_BASE_PATH + "/by-semantic-id" )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantOne().getTenantId() )
+                           .queryParam( "semanticId", getEncodedValue( grantedSemanticId ) )
+                           .queryParam( "limit", "100" )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.result[*].id", hasItem( shellPayload1.getId() ) ) )
+               .andExpect( jsonPath( "$.result[*].id", hasItem( shellPayload2.getId() ) ) );
+
+         // tenantThree sees shellPayload1 with the submodel of the granted semanticId only
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SHELL_BASE_PATH + "/by-semantic-id" )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                           .queryParam( "semanticId", getEncodedValue( grantedSemanticId ) )
+                           .queryParam( "limit", "100" )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.result[*].id", hasItem( shellPayload1.getId() ) ) )
+               .andExpect( jsonPath( "$.result[*].id", not( hasItem( shellPayload2.getId() ) ) ) )
+               .andExpect( jsonPath( "$.result[?(@.id == '" + shellPayload1.getId() + "')].submodelDescriptors[*]", hasSize( 1 ) ) )
+               .andExpect( jsonPath( "$.result[?(@.id == '" + shellPayload1.getId() + "')].submodelDescriptors[0].semanticId.keys[0].value",
+                     is( List.of( grantedSemanticId ) ) ) );
+
+         // tenantThree does not see shellPayload1 by the denied semanticId, although the shell itself is visible
+         mvc.perform(
+                     MockMvcRequestBuilders
+                           .get( SHELL_BASE_PATH + "/by-semantic-id" )
+                           .header( EXTERNAL_SUBJECT_ID_HEADER, jwtTokenFactory.tenantThree().getTenantId() )
+                           .queryParam( "semanticId", getEncodedValue( deniedSemanticId ) )
+                           .queryParam( "limit", "100" )
+                           .accept( MediaType.APPLICATION_JSON )
+                           .with( jwtTokenFactory.allRoles() )
+               )
+               .andDo( MockMvcResultHandlers.print() )
+               .andExpect( status().isOk() )
+               .andExpect( jsonPath( "$.result[*].id", not( hasItem( shellPayload1.getId() ) ) ) );
+      }
    }
 
    @Nested
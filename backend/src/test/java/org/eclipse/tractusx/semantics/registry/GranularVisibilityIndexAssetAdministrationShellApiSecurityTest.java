@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the granular visibility tests with the materialized visibility index, while
+ * {@link GranularAssetAdministrationShellApiSecurityTest} covers the filtering by the mandatory specificAssetIds in SQL.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles( profiles = { "granular", "granular-index", "test" } )
+@EnableConfigurationProperties( RegistryProperties.class )
+public class GranularVisibilityIndexAssetAdministrationShellApiSecurityTest extends GranularAssetAdministrationShellApiSecurityTest {
+
+   @Nested
+   @DisplayName( "Lookup Authorization Test" )
+   class LookupTest extends GranularAssetAdministrationShellApiSecurityTest.LookupTest {
+   }
+
+   @Nested
+   @DisplayName( "Tenant based specificAssetId visibility test" )
+   class TenantBasedVisibilityTest extends GranularAssetAdministrationShellApiSecurityTest.TenantBasedVisibilityTest {
+   }
+
+   @Nested
+   @DisplayName( "Tenant based Shell visibility test" )
+   class TenantBasedShellVisibilityTest extends GranularAssetAdministrationShellApiSecurityTest.TenantBasedShellVisibilityTest {
+   }
+
+   @Nested
+   @DisplayName( "Submodel endpoint authorization Tests" )
+   class SubmodelEndpointAuthorizationApiTest extends GranularAssetAdministrationShellApiSecurityTest.SubmodelEndpointAuthorizationApiTest {
+   }
+}
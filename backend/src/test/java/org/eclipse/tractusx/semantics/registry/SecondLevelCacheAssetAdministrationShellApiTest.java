@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.model.Submodel;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.eclipse.tractusx.semantics.registry.service.EntityNotFoundException;
+import org.eclipse.tractusx.semantics.registry.service.ShellCacheInvalidationService;
+import org.eclipse.tractusx.semantics.registry.service.ShellService;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the API tests with the second-level cache, so that the reads following the writes are served from the cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles( profiles = { "cache", "test" } )
+@EnableConfigurationProperties( RegistryProperties.class )
+public class SecondLevelCacheAssetAdministrationShellApiTest extends AssetAdministrationShellApiTest {
+
+   @Autowired
+   private ShellService shellService;
+
+   @Autowired
+   private ShellCacheInvalidationService shellCacheInvalidationService;
+
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+
+   @Autowired
+   private EntityManagerFactory entityManagerFactory;
+
+   @Autowired
+   private DataSource dataSource;
+
+   @Nested
+   @DisplayName( "Shell CRUD API" )
+   class ShellAPITests extends AssetAdministrationShellApiTest.ShellAPITests {
+   }
+
+   @Nested
+   @DisplayName( "Shell SpecificAssetId CRUD API" )
+   class SpecificAssetIdAPITests extends AssetAdministrationShellApiTest.SpecificAssetIdAPITests {
+   }
+
+   @Nested
+   @DisplayName( "Submodel CRUD API" )
+   class SubmodelApiTest extends AssetAdministrationShellApiTest.SubmodelApiTest {
+   }
+
+   @Nested
+   @DisplayName( "Custom AAS API Tests" )
+   class CustomAASApiTest extends AssetAdministrationShellApiTest.CustomAASApiTest {
+   }
+
+   @Nested
+   @DisplayName( "Second-Level Cache Invalidation Test" )
+   class SecondLevelCacheInvalidationTest {
+
+      @Test
+      public void testUpdateByOtherInstanceExpectCachedShellEvicted() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         shellPayload.setIdShort( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         Shell shell = shellService.findShellByExternalIdWithoutFiltering( shellPayload.getId() );
+
+         // the update of another instance is not visible until its invalidation has been processed
+         String updatedIdShort = UUID.randomUUID().toString();
+         jdbcTemplate.update( "UPDATE SHELL SET id_short = ? WHERE id = ?", updatedIdShort, shell.getId() );
+         assertThat( shellService.findShellByExternalIdWithoutFiltering( shellPayload.getId() ).getIdShort() ).isEqualTo( shellPayload.getIdShort() );
+
+         insertInvalidationOfOtherInstance( shell.getId() );
+         shellCacheInvalidationService.evictInvalidatedShells();
+         assertThat( shellService.findShellByExternalIdWithoutFiltering( shellPayload.getId() ).getIdShort() ).isEqualTo( updatedIdShort );
+      }
+
+      @Test
+      public void testDeleteByOtherInstanceExpectCachedShellEvicted() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         shellPayload.setIdShort( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         Shell shell = shellService.findShellByExternalIdWithoutFiltering( shellPayload.getId() );
+
+         insertInvalidationOfOtherInstance( shell.getId() );
+         jdbcTemplate.update( "DELETE FROM SHELL WHERE id = ?", shell.getId() );
+         shellCacheInvalidationService.evictInvalidatedShells();
+         assertThatThrownBy( () -> shellService.findShellByExternalIdWithoutFiltering( shellPayload.getId() ) )
+               .isInstanceOf( EntityNotFoundException.class );
+      }
+
+      @Test
+      public void testInvalidationCommittedOutOfOrderExpectCachedShellEvicted() throws Exception {
+         Shell firstShell = createShell();
+         Shell secondShell = createShell();
+         String updatedIdShort = UUID.randomUUID().toString();
+
+         // the invalidation with the lower number is committed after the one with the higher number has been read
+         try ( Connection connection = dataSource.getConnection() ) {
+            connection.setAutoCommit( false );
+            try ( PreparedStatement statement = connection.prepareStatement( "UPDATE SHELL SET id_short = ? WHERE id = ?" ) ) {
+               statement.setString( 1, updatedIdShort );
+               statement.setObject( 2, firstShell.getId() );
+               statement.executeUpdate();
+            }
+            try ( PreparedStatement statement = connection.prepareStatement(
+                  "INSERT INTO SHELL_CACHE_INVALIDATION (shell_id, instance_id, created_date) VALUES (?, ?, ?)" ) ) {
+               statement.setObject( 1, firstShell.getId() );
+               statement.setObject( 2, UUID.randomUUID() );
+               statement.setTimestamp( 3, Timestamp.from( Instant.now() ) );
+               statement.executeUpdate();
+            }
+            insertInvalidationOfOtherInstance( secondShell.getId() );
+            shellCacheInvalidationService.evictInvalidatedShells();
+            connection.commit();
+         }
+         shellCacheInvalidationService.evictInvalidatedShells();
+         assertThat( shellService.findShellByExternalIdWithoutFiltering( firstShell.getIdExternal() ).getIdShort() ).isEqualTo( updatedIdShort );
+      }
+
+      @Test
+      public void testCollidingIdExternalHashExpectShellFoundByQuery() throws Exception {
+         Shell firstShell = createShell();
+         Shell secondShell = createShell();
+         // the second shell takes the hash of the first one, as if their idExternals collided
+         jdbcTemplate.update( "UPDATE SHELL SET id_external_hash = ? WHERE id = ?", ValueHash.of( firstShell.getIdExternal() ), secondShell.getId() );
+         Cache cache = entityManagerFactory.getCache().unwrap( Cache.class );
+         cache.evictEntityData( Shell.class );
+         cache.evictNaturalIdData( Shell.class );
+
+         assertThat( shellService.findShellByExternalIdWithoutFiltering( firstShell.getIdExternal() ).getId() ).isEqualTo( firstShell.getId() );
+      }
+
+      @Test
+      public void testDeleteShellExpectOnlyDeletedShellEvicted() throws Exception {
+         Shell deletedShell = createShell();
+         Shell otherShell = createShell();
+         Cache cache = entityManagerFactory.getCache().unwrap( Cache.class );
+         assertThat( cache.containsEntity( Shell.class, otherShell.getId() ) ).isTrue();
+
+         shellService.deleteShell( deletedShell.getIdExternal() );
+
+         assertThat( cache.containsEntity( Shell.class, deletedShell.getId() ) ).isFalse();
+         assertThat( cache.containsEntity( Shell.class, otherShell.getId() ) ).isTrue();
+         assertThatThrownBy( () -> shellService.findShellByExternalIdWithoutFiltering( deletedShell.getIdExternal() ) )
+               .isInstanceOf( EntityNotFoundException.class );
+      }
+
+      @Test
+      public void testDeleteSubmodelExpectOnlyItsShellEvicted() throws Exception {
+         Shell changedShell = createShell();
+         Shell otherShell = createShell();
+         String deletedSubmodelId = jdbcTemplate.queryForList( "SELECT id_external FROM SUBMODEL WHERE fk_shell_id = ?", String.class, changedShell.getId() )
+               .get( 0 );
+         UUID otherSubmodelId = jdbcTemplate.queryForList( "SELECT id FROM SUBMODEL WHERE fk_shell_id = ?", UUID.class, otherShell.getId() ).get( 0 );
+         Cache cache = entityManagerFactory.getCache().unwrap( Cache.class );
+         assertThat( cache.containsEntity( Submodel.class, otherSubmodelId ) ).isTrue();
+
+         shellService.deleteSubmodel( changedShell.getIdExternal(), deletedSubmodelId, null );
+
+         assertThat( cache.containsEntity( Shell.class, changedShell.getId() ) ).isFalse();
+         assertThat( cache.containsEntity( Shell.class, otherShell.getId() ) ).isTrue();
+         assertThat( cache.containsEntity( Submodel.class, otherSubmodelId ) ).isTrue();
+         assertThat( jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM SUBMODEL WHERE id_external = ?", Integer.class, deletedSubmodelId ) ).isZero();
+      }
+
+      private Shell createShell() throws Exception {
+         AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+         shellPayload.setId( UUID.randomUUID().toString() );
+         shellPayload.setIdShort( UUID.randomUUID().toString() );
+         performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+         return shellService.findShellByExternalIdWithoutFiltering( shellPayload.getId() );
+      }
+
+      private void insertInvalidationOfOtherInstance( UUID shellId ) {
+         jdbcTemplate.update( "INSERT INTO SHELL_CACHE_INVALIDATION (shell_id, instance_id, created_date) VALUES (?, ?, ?)", shellId, UUID.randomUUID(),
+               Timestamp.from( Instant.now() ) );
+      }
+   }
+}
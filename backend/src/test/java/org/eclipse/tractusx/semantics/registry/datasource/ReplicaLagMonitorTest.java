@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+class ReplicaLagMonitorTest {
+
+   private static final Instant NOW = Instant.parse( "2024-01-01T00:00:00Z" );
+   private static final Clock CLOCK = Clock.fixed( NOW, ZoneOffset.UTC );
+
+   @Test
+   void testParseLsnExpectComparablePositions() {
+      assertThat( ReplicaLagMonitor.parseLsn( "16/B374D848" ) ).isEqualTo( 0x16B374D848L );
+      assertThat( ReplicaLagMonitor.parseLsn( "1/0" ) ).isGreaterThan( ReplicaLagMonitor.parseLsn( "0/FFFFFFFF" ) );
+      assertThatThrownBy( () -> ReplicaLagMonitor.parseLsn( "16B374D848" ) ).isInstanceOf( IllegalArgumentException.class );
+      assertThat( ReplicaLagMonitor.formatLsn( 0x16B374D848L ) ).isEqualTo( "16/B374D848" );
+   }
+
+   @Test
+   void testLagMillisExpectLagMeasuredAgainstThePrimary() {
+      // caught up with the primary, regardless of the age of the last replayed transaction
+      assertThat( ReplicaLagMonitor.lagMillis( 100, 100, 60000L ) ).isZero();
+      assertThat( ReplicaLagMonitor.lagMillis( 100, 100, null ) ).isZero();
+      // behind the primary, e.g. with a disconnected WAL receiver which has replayed everything it received
+      assertThat( ReplicaLagMonitor.lagMillis( 50, 100, 60000L ) ).isEqualTo( 60000L );
+      assertThat( ReplicaLagMonitor.lagMillis( 50, 100, null ) ).isEqualTo( Long.MAX_VALUE );
+   }
+
+   @Test
+   void testSelectReplicaBeforeFirstCheckExpectNoReplica() {
+      ReplicaLagMonitor monitor = newMonitor( CLOCK, "replica-1" );
+
+      assertThat( monitor.selectReplica( 0 ) ).isEmpty();
+   }
+
+   @Test
+   void testSelectReplicaExpectRoundRobinOverQualifyingReplicas() {
+      ReplicaLagMonitor monitor = newMonitor( CLOCK, "replica-1", "replica-2", "replica-3" );
+      monitor.updateState( "replica-1", new ReplicaLagMonitor.ReplicaState( true, 100, 0, NOW ) );
+      monitor.updateState( "replica-2", new ReplicaLagMonitor.ReplicaState( true, 100, 6000, NOW ) );
+      monitor.updateState( "replica-3", new ReplicaLagMonitor.ReplicaState( true, 50, 1000, NOW ) );
+
+      // replica-2 lags behind by more than the maximum lag
+      assertThat( monitor.selectReplica( 0 ) ).contains( "replica-1" );
+      assertThat( monitor.selectReplica( 0 ) ).contains( "replica-3" );
+      assertThat( monitor.selectReplica( 0 ) ).contains( "replica-3" );
+      assertThat( monitor.selectReplica( 0 ) ).contains( "replica-1" );
+      // only replica-1 has replayed the requested position
+      assertThat( monitor.selectReplica( 100 ) ).contains( "replica-1" );
+      assertThat( monitor.selectReplica( 101 ) ).isEmpty();
+   }
+
+   @Test
+   void testSelectReplicaWithOutdatedCheckExpectNoReplica() {
+      ReplicaLagMonitor monitor = newMonitor( CLOCK, "replica-1", "replica-2" );
+      // the checks run every second, a state is trusted for three intervals
+      monitor.updateState( "replica-1", new ReplicaLagMonitor.ReplicaState( true, 100, 0, NOW.minusSeconds( 3 ) ) );
+      monitor.updateState( "replica-2", new ReplicaLagMonitor.ReplicaState( true, 100, 0, NOW.minusSeconds( 2 ) ) );
+
+      assertThat( monitor.selectReplica( 0 ) ).contains( "replica-2" );
+      assertThat( monitor.selectReplica( 0 ) ).contains( "replica-2" );
+   }
+
+   private static ReplicaLagMonitor newMonitor( Clock clock, String... keys ) {
+      return new ReplicaLagMonitor( new SimpleDriverDataSource(), replicas( keys ), Duration.ofSeconds( 5 ), Duration.ofSeconds( 1 ), clock );
+   }
+
+   private static Map<String, DataSource> replicas( String... keys ) {
+      Map<String, DataSource> replicas = new LinkedHashMap<>();
+      for ( String key : keys ) {
+         replicas.put( key, new SimpleDriverDataSource() );
+      }
+      return replicas;
+   }
+}
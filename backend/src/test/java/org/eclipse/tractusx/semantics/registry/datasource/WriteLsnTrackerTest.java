@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class WriteLsnTrackerTest {
+
+   private final WriteLsnTracker writeLsnTracker = new WriteLsnTracker( new SimpleDriverDataSource() );
+
+   @AfterEach
+   void resetRequest() {
+      RequestContextHolder.resetRequestAttributes();
+   }
+
+   @Test
+   void testMinimumLsnWithoutRequestExpectZero() {
+      assertThat( writeLsnTracker.minimumLsnOfCurrentRequest() ).isZero();
+   }
+
+   @Test
+   void testMinimumLsnWithHeaderExpectPositionOfTheHeader() {
+      MockHttpServletRequest request = new MockHttpServletRequest();
+      request.addHeader( WriteLsnTracker.LSN_HEADER, "16/B374D848" );
+      RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( request ) );
+
+      assertThat( writeLsnTracker.minimumLsnOfCurrentRequest() ).isEqualTo( 0x16B374D848L );
+   }
+
+   @Test
+   void testMinimumLsnWithInvalidHeaderExpectHeaderIgnored() {
+      MockHttpServletRequest request = new MockHttpServletRequest();
+      request.addHeader( WriteLsnTracker.LSN_HEADER, "invalid" );
+      RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( request ) );
+
+      assertThat( writeLsnTracker.minimumLsnOfCurrentRequest() ).isZero();
+   }
+}
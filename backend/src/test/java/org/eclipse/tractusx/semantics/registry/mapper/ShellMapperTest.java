@@ -191,11 +191,11 @@ public class ShellMapperTest {
               ReferenceType.EXTERNALREFERENCE,
               Set.of(shellIdentifierSupplemSemanticReferenceKey),
               null );
-        ShellIdentifier shellIdentifier1 = new ShellIdentifier( UUID.randomUUID(), "key1", "value1", externalSubjectReference, null, identifierSemanticReference , Set.of(shellIdentifierSupplemSemanticReference));
+        ShellIdentifier shellIdentifier1 = new ShellIdentifier( UUID.randomUUID(), "key1", "value1", externalSubjectReference, null, identifierSemanticReference , Set.of(shellIdentifierSupplemSemanticReference), null, null, null);
         ShellIdentifier shellIdentifier2 = new ShellIdentifier( UUID.randomUUID(), "key1", "value2", externalSubjectReference,
-              null, identifierSemanticReference , Set.of(shellIdentifierSupplemSemanticReference));
+              null, identifierSemanticReference , Set.of(shellIdentifierSupplemSemanticReference), null, null, null);
 
-        ShellIdentifier shellIdentifier3 = new ShellIdentifier( UUID.randomUUID(), ShellIdentifier.GLOBAL_ASSET_ID_KEY, "exampleGlobalAssetId", null, null, identifierSemanticReference, Set.of(shellIdentifierSupplemSemanticReference));
+        ShellIdentifier shellIdentifier3 = new ShellIdentifier( UUID.randomUUID(), ShellIdentifier.GLOBAL_ASSET_ID_KEY, "exampleGlobalAssetId", null, null, identifierSemanticReference, Set.of(shellIdentifierSupplemSemanticReference), null, null, null);
 
         Set<ShellIdentifier> shellIdentifiers = Set.of(shellIdentifier1, shellIdentifier2, shellIdentifier3);
 
@@ -224,13 +224,13 @@ public class ShellMapperTest {
                         "endpointAddressExample", "endpointProtocolExample",
                         "endpointProtocolVersionExample", "subProtocolExample"
                         , "subProtocolBodyExample", "subProtocolEncodingExample",
-                      Set.of(submodelSecurityAttribute),null
-                )), null, Set.of(submodelDisplayName), Set.of(submodelSupplemSemanticIdReference) );
+                      Set.of(submodelSecurityAttribute),null,null
+                )), null, Set.of(submodelDisplayName), Set.of(submodelSupplemSemanticIdReference), null );
 
         ShellDisplayName shellDisplayName = new ShellDisplayName( UUID.randomUUID(), "de", "Display name",null );
 
          return new Shell(UUID.randomUUID(), "idExternalExample", "idShortExample",
-              shellIdentifiers, shellDescriptions, Set.of(submodel),Set.of(shellDisplayName), null,null, ShellKind.INSTANCE, "shellType");
+              shellIdentifiers, shellDescriptions, Set.of(submodel),Set.of(shellDisplayName), null,null, ShellKind.INSTANCE, "shellType", null, null);
     }
 
     private AssetAdministrationShellDescriptor createCompleteAasDescriptor() {
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidGeneratorTest {
+
+   @Test
+   void testNextUuidExpectVersion7AndIetfVariant() {
+      UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+      assertThat( uuid.version() ).isEqualTo( 7 );
+      assertThat( uuid.variant() ).isEqualTo( 2 );
+   }
+
+   @Test
+   void testNextUuidExpectTimestampInFirst48Bits() {
+      long before = System.currentTimeMillis();
+      UUID uuid = TimeOrderedUuidGenerator.nextUuid();
+
+      assertThat( uuid.getMostSignificantBits() >>> 16 ).isGreaterThanOrEqualTo( before );
+   }
+
+   @Test
+   void testNextUuidWithinSameMillisecondExpectStrictlyIncreasingIds() {
+      List<UUID> uuids = IntStream.range( 0, 10_000 ).mapToObj( i -> TimeOrderedUuidGenerator.nextUuid() ).toList();
+
+      // compare as unsigned values like the databases do
+      for ( int i = 1; i < uuids.size(); i++ ) {
+         assertThat( Long.compareUnsigned( uuids.get( i ).getMostSignificantBits(), uuids.get( i - 1 ).getMostSignificantBits() ) ).isPositive();
+      }
+   }
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class ValueHashTest {
+
+   @Test
+   void testOfExpectSameUuidAsMd5OfDatabase() {
+      // md5('abc')::uuid on Postgres
+      assertThat( ValueHash.of( "abc" ) ).isEqualTo( UUID.fromString( "90015098-3cd2-4fb0-d696-3f7d28e17f72" ) );
+   }
+
+   @Test
+   void testOfWithNonAsciiValueExpectUtf8Bytes() {
+      assertThat( ValueHash.of( "urn:uuid:äöü" ) ).isEqualTo( UUID.fromString( "fc6823e5-2b52-8e00-1fdc-8ec45782cce1" ) );
+   }
+
+   @Test
+   void testOfAllExpectHashPerValueInOrder() {
+      assertThat( ValueHash.ofAll( List.of( "abc", "urn:uuid:äöü" ) ) ).containsExactly( ValueHash.of( "abc" ), ValueHash.of( "urn:uuid:äöü" ) );
+      assertThat( ValueHash.of( null ) ).isNull();
+   }
+
+   @Test
+   void testOfKeyValueExpectSameUuidAsMd5OfLengthPrefixedKeyAndValue() {
+      // md5(CONCAT(LENGTH('ab'), ':', 'ab', 'c'))::uuid on Postgres
+      assertThat( ValueHash.ofKeyValue( "ab", "c" ) ).isEqualTo( UUID.fromString( "25ef2ef7-c56e-231f-9156-333930572420" ) );
+      assertThat( ValueHash.ofKeyValue( "äöü", "x" ) ).isEqualTo( UUID.fromString( "394d5063-da3c-e874-e89c-b9f63cd790b8" ) );
+   }
+
+   @Test
+   void testOfKeyValueWithShiftedBoundaryExpectDifferentHashes() {
+      assertThat( ValueHash.ofKeyValue( "ab", "c" ) ).isNotEqualTo( ValueHash.ofKeyValue( "a", "bc" ) );
+      assertThat( ValueHash.ofKeyValue( null, "c" ) ).isNull();
+   }
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.tractusx.semantics.accesscontrol.api.AccessControlRuleService;
+import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityCriteria;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityRule;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+import org.junit.jupiter.api.Test;
+
+class CachingAccessControlRuleServiceTest {
+
+   private static final String BPN = "BPNL00000000000A";
+   private static final SpecificAssetId MANUFACTURER_PART_ID = new SpecificAssetId( "manufacturerPartId", "99991" );
+   private static final SpecificAssetId CUSTOMER_PART_ID = new SpecificAssetId( "customerPartId", "ACME001" );
+   private static final SpecificAssetId DENIED = new SpecificAssetId( "customerPartId", "denied" );
+
+   private final CountingAccessControlRuleService delegate = new CountingAccessControlRuleService();
+   private final CachingAccessControlRuleService underTest = new CachingAccessControlRuleService( delegate, 10_000 );
+
+   @Test
+   void testFetchVisibilityCriteriaForShellWithSameSpecificAssetIdsExpectCriteriaComputedOnce() throws DenyAccessException {
+      ShellVisibilityCriteria first = underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID, CUSTOMER_PART_ID ), BPN );
+      ShellVisibilityCriteria second = underTest.fetchVisibilityCriteriaForShell( context( "shell-2", CUSTOMER_PART_ID, MANUFACTURER_PART_ID ), BPN );
+
+      assertThat( delegate.computedShells ).containsExactly( "shell-1" );
+      assertThat( first.aasId() ).isEqualTo( "shell-1" );
+      // the cached criteria are shared by shells with the same specificAssetIds, the shell id is applied per call
+      assertThat( second.aasId() ).isEqualTo( "shell-2" );
+      assertThat( second.visibleSpecificAssetIdNames() ).isEqualTo( first.visibleSpecificAssetIdNames() );
+   }
+
+   @Test
+   void testFetchVisibilityCriteriaForShellWhenRuleSetVersionChangesExpectCriteriaComputedAgain() throws DenyAccessException {
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID ), BPN );
+      delegate.ruleSetVersion++;
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID ), BPN );
+
+      assertThat( delegate.computedShells ).containsExactly( "shell-1", "shell-1" );
+   }
+
+   @Test
+   void testFetchVisibilityCriteriaForShellWithOtherSpecificAssetIdsOrBpnExpectCriteriaComputedAgain() throws DenyAccessException {
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID ), BPN );
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID, CUSTOMER_PART_ID ), BPN );
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID ), "BPNL00000000000B" );
+
+      assertThat( delegate.computedShells ).hasSize( 3 );
+   }
+
+   @Test
+   void testFetchVisibilityCriteriaForShellWithShiftedNameAndValueExpectDifferentFingerprint() throws DenyAccessException {
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", new SpecificAssetId( "partId", "1" ) ), BPN );
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-2", new SpecificAssetId( "part", "Id1" ) ), BPN );
+
+      assertThat( delegate.computedShells ).containsExactly( "shell-1", "shell-2" );
+   }
+
+   @Test
+   void testFetchVisibilityCriteriaForShellWhenAccessDeniedExpectDenialCached() {
+      assertThatThrownBy( () -> underTest.fetchVisibilityCriteriaForShell( context( "shell-1", DENIED ), BPN ) )
+            .isInstanceOf( DenyAccessException.class );
+      assertThatThrownBy( () -> underTest.fetchVisibilityCriteriaForShell( context( "shell-2", DENIED ), BPN ) )
+            .isInstanceOf( DenyAccessException.class );
+
+      assertThat( delegate.computedShells ).containsExactly( "shell-1" );
+   }
+
+   @Test
+   void testFetchVisibilityCriteriaForShellsExpectOnlyNotCachedShellsComputed() throws DenyAccessException {
+      underTest.fetchVisibilityCriteriaForShell( context( "shell-1", MANUFACTURER_PART_ID ), BPN );
+
+      Map<String, ShellVisibilityCriteria> actual = underTest.fetchVisibilityCriteriaForShells(
+            List.of( context( "shell-1", MANUFACTURER_PART_ID ), context( "shell-2", CUSTOMER_PART_ID ), context( "shell-3", DENIED ) ), BPN );
+      Map<String, ShellVisibilityCriteria> again = underTest.fetchVisibilityCriteriaForShells(
+            List.of( context( "shell-2", CUSTOMER_PART_ID ), context( "shell-3", DENIED ) ), BPN );
+
+      assertThat( actual ).containsOnlyKeys( "shell-1", "shell-2" );
+      assertThat( again ).containsOnlyKeys( "shell-2" );
+      assertThat( delegate.computedShells ).containsExactly( "shell-1", "shell-2", "shell-3" );
+   }
+
+   private static ShellVisibilityContext context( String aasId, SpecificAssetId... specificAssetIds ) {
+      return new ShellVisibilityContext( aasId, new LinkedHashSet<>( List.of( specificAssetIds ) ) );
+   }
+
+   /**
+    * Grants access to the names of the specificAssetIds unless the shell has the DENIED specificAssetId and records the
+    * shells the criteria were computed for.
+    */
+   private static class CountingAccessControlRuleService implements AccessControlRuleService {
+
+      private final List<String> computedShells = new ArrayList<>();
+      private long ruleSetVersion = 1;
+
+      @Override
+      public ShellVisibilityCriteria fetchVisibilityCriteriaForShell( ShellVisibilityContext shellContext, String bpn ) throws DenyAccessException {
+         computedShells.add( shellContext.aasId() );
+         if ( shellContext.specificAssetIds().contains( DENIED ) ) {
+            throw new DenyAccessException( "No matching rules are found." );
+         }
+         return new ShellVisibilityCriteria( shellContext.aasId(),
+               shellContext.specificAssetIds().stream().map( SpecificAssetId::name ).collect( Collectors.toSet() ), Set.of(), false );
+      }
+
+      @Override
+      public Map<String, ShellVisibilityCriteria> fetchVisibilityCriteriaForShells( List<ShellVisibilityContext> shellContexts, String bpn ) {
+         Map<String, ShellVisibilityCriteria> result = new HashMap<>();
+         for ( ShellVisibilityContext shellContext : shellContexts ) {
+            try {
+               result.put( shellContext.aasId(), fetchVisibilityCriteriaForShell( shellContext, bpn ) );
+            } catch ( DenyAccessException e ) {
+               // denied shells are missing from the result
+            }
+         }
+         return result;
+      }
+
+      @Override
+      public long fetchRuleSetVersion() {
+         return ruleSetVersion;
+      }
+
+      @Override
+      public List<String> filterValidSpecificAssetIdsForLookup( Set<SpecificAssetId> userQuery, List<ShellVisibilityContext> shellContexts,
+            String bpn ) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Set<Set<SpecificAssetId>> fetchMandatorySpecificAssetIdGroups( String bpn ) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Set<ShellVisibilityRule> fetchAllVisibilityRules() {
+         throw new UnsupportedOperationException();
+      }
+   }
+}
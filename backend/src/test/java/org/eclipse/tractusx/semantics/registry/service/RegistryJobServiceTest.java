@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.tractusx.semantics.registry.AbstractAssetAdministrationShellApi;
+import org.eclipse.tractusx.semantics.registry.model.RegistryJob;
+import org.eclipse.tractusx.semantics.registry.repository.RegistryJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class RegistryJobServiceTest extends AbstractAssetAdministrationShellApi {
+
+   @Autowired
+   private RegistryJobService registryJobService;
+   @Autowired
+   private RegistryJobRepository registryJobRepository;
+
+   @Test
+   void testResumeJobExpectResultOfTakenOverAttemptNotContinued() throws Exception {
+      String committedLine = "{\"id\":\"first\",\"status\":404}";
+      byte[] committedResult = gzip( committedLine );
+      RegistryJob job = new RegistryJob( RegistryJob.Type.DELETE, "TENANT_ONE" );
+      job.setStatus( RegistryJob.Status.RUNNING );
+      job.setAttempt( 1 );
+      job.setProcessed( 1 );
+      job.setFailed( 1 );
+      job.setResultSize( committedResult.length );
+      job = registryJobRepository.save( job );
+
+      Files.createDirectories( registryJobService.inputFile( job.getId() ).getParent() );
+      Files.write( registryJobService.inputFile( job.getId() ), gzip( "\"first\"\n\"second\"" ) );
+      // the worker of the first attempt keeps writing after its last checkpoint
+      ByteArrayOutputStream firstAttemptResult = new ByteArrayOutputStream();
+      firstAttemptResult.writeBytes( committedResult );
+      firstAttemptResult.writeBytes( gzip( "{\"id\":\"written by the stale worker\"}" ) );
+      Path firstAttemptResultFile = registryJobService.resultFile( job.getId(), 1 );
+      Files.write( firstAttemptResultFile, firstAttemptResult.toByteArray() );
+
+      job.setStatus( RegistryJob.Status.QUEUED );
+      job.setModifiedDate( Instant.now() );
+      registryJobRepository.save( job );
+      registryJobService.dispatch();
+
+      RegistryJob finished = awaitJob( job );
+      assertThat( finished.getStatus() ).isEqualTo( RegistryJob.Status.COMPLETED );
+      assertThat( finished.getAttempt() ).isEqualTo( 2 );
+      assertThat( finished.getProcessed() ).isEqualTo( 2 );
+      List<String> lines = gunzip( registryJobService.findResultFile( finished ) );
+      assertThat( lines ).hasSize( 2 );
+      assertThat( lines.get( 0 ) ).isEqualTo( committedLine );
+      assertThat( lines.get( 1 ) ).contains( "\"second\"" );
+      assertThat( firstAttemptResultFile ).doesNotExist();
+   }
+
+   private RegistryJob awaitJob( RegistryJob job ) throws InterruptedException {
+      long timeout = System.currentTimeMillis() + 30000;
+      while ( true ) {
+         RegistryJob current = registryJobRepository.findById( job.getId() ).orElseThrow();
+         if ( current.isFinished() ) {
+            return current;
+         }
+         assertThat( System.currentTimeMillis() ).as( "Job %s did not finish in time.", job.getId() ).isLessThan( timeout );
+         Thread.sleep( 100 );
+      }
+   }
+
+   private static byte[] gzip( String content ) throws IOException {
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+      try ( GZIPOutputStream gzipOutputStream = new GZIPOutputStream( compressed ) ) {
+         gzipOutputStream.write( (content + "\n").getBytes( StandardCharsets.UTF_8 ) );
+      }
+      return compressed.toByteArray();
+   }
+
+   private static List<String> gunzip( Path file ) throws IOException {
+      try ( BufferedReader reader = new BufferedReader( new InputStreamReader( new GZIPInputStream( Files.newInputStream( file ) ), StandardCharsets.UTF_8 ) ) ) {
+         return reader.lines().toList();
+      }
+   }
+}
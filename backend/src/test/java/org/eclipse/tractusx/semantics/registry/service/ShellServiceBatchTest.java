@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.registry.AbstractAssetAdministrationShellApi;
+import org.eclipse.tractusx.semantics.registry.TestUtil;
+import org.eclipse.tractusx.semantics.registry.dto.BatchResultDto;
+import org.eclipse.tractusx.semantics.registry.mapper.ShellMapper;
+import org.eclipse.tractusx.semantics.registry.model.Shell;
+import org.eclipse.tractusx.semantics.registry.repository.TenantVisibility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ShellServiceBatchTest extends AbstractAssetAdministrationShellApi {
+
+   @Autowired
+   private ShellService shellService;
+   @Autowired
+   private ShellMapper shellMapper;
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+
+   @Test
+   void testSaveBatchWhenChunkFailsExpectOnlyOffendingShellRejected() {
+      Shell first = newShell();
+      // passes the checks of the batch but exceeds the length of the column
+      Shell offending = newShell();
+      offending.setIdShort( "x".repeat( 1000 ) );
+      Shell last = newShell();
+
+      List<BatchResultDto> results = shellService.saveBatch( List.of( first, offending, last ) );
+
+      assertThat( results ).extracting( BatchResultDto::getStatus )
+            .containsExactly( HttpStatus.OK.value(), HttpStatus.BAD_REQUEST.value(), HttpStatus.OK.value() );
+      assertThat( results.get( 1 ).getMessage() ).isEqualTo( "Failed to create AssetAdministrationShell, it violates a constraint of the registry." );
+      assertThat( shellRepository.findByIdExternalAndExternalSubjectId( first.getIdExternal(), TenantVisibility.unrestricted() ) ).isPresent();
+      assertThat( shellRepository.findByIdExternalAndExternalSubjectId( offending.getIdExternal(), TenantVisibility.unrestricted() ) ).isEmpty();
+      assertThat( shellRepository.findByIdExternalAndExternalSubjectId( last.getIdExternal(), TenantVisibility.unrestricted() ) ).isPresent();
+   }
+
+   @Test
+   void testSaveBatchWithNewTenantExpectTenantAddedByTheWritingTransactionOnly() {
+      AssetAdministrationShellDescriptor descriptor = TestUtil.createCompleteAasDescriptor();
+      descriptor.setId( UUID.randomUUID().toString() );
+      descriptor.setIdShort( UUID.randomUUID().toString() );
+      String tenant = UUID.randomUUID().toString();
+      descriptor.setSpecificAssetIds( List.of( TestUtil.createSpecificAssetId( UUID.randomUUID().toString(), "value", List.of( tenant ) ) ) );
+      Shell shell = shellMapper.fromApiDto( descriptor );
+      shellService.mapShellCollection( shell );
+      shellService.mapSubmodel( shell.getSubmodels() );
+
+      assertThat( countDictionaryValues( tenant ) ).isZero();
+
+      shellService.saveBatch( List.of( shell ) );
+
+      assertThat( countDictionaryValues( tenant ) ).isOne();
+   }
+
+   private int countDictionaryValues( String value ) {
+      return jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM DICTIONARY_VALUE WHERE VALUE_TEXT = ?", Integer.class, value );
+   }
+
+   private Shell newShell() {
+      AssetAdministrationShellDescriptor descriptor = TestUtil.createCompleteAasDescriptor();
+      descriptor.setId( UUID.randomUUID().toString() );
+      descriptor.setIdShort( UUID.randomUUID().toString() );
+      Shell shell = shellMapper.fromApiDto( descriptor );
+      shellService.mapShellCollection( shell );
+      shellService.mapSubmodel( shell.getSubmodels() );
+      return shell;
+   }
+}
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.tractusx.semantics.accesscontrol.api.exception.DenyAccessException;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityContext;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.ShellVisibilityCriteria;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ShellVisibilityCriteriaRequestCacheTest {
+
+   private static final String TENANT = "TENANT_ONE";
+   private static final ShellVisibilityContext SHELL_CONTEXT = new ShellVisibilityContext( "shell-1",
+         Set.of( new SpecificAssetId( "manufacturerPartId", "value_1" ) ) );
+   private static final ShellVisibilityCriteria CRITERIA = new ShellVisibilityCriteria( "shell-1", Set.of( "manufacturerPartId" ),
+         Set.of( "semanticIdExample" ), false );
+
+   private final AtomicInteger loads = new AtomicInteger();
+
+   @AfterEach
+   void tearDown() {
+      RequestContextHolder.resetRequestAttributes();
+   }
+
+   @Test
+   void testComputeIfAbsentWithinRequestExpectCriteriaLoadedOnce() throws DenyAccessException {
+      startRequest();
+
+      ShellVisibilityCriteria first = ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+      ShellVisibilityCriteria second = ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+
+      assertThat( first ).isSameAs( CRITERIA );
+      assertThat( second ).isSameAs( CRITERIA );
+      assertThat( loads ).hasValue( 1 );
+   }
+
+   @Test
+   void testComputeIfAbsentWhenAccessDeniedExpectDenialRememberedWithinRequest() {
+      startRequest();
+
+      assertThatThrownBy( () -> ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::deny ) )
+            .isInstanceOf( DenyAccessException.class );
+      assertThatThrownBy( () -> ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load ) )
+            .isInstanceOf( DenyAccessException.class );
+
+      assertThat( loads ).hasValue( 1 );
+      assertThat( ShellVisibilityCriteriaRequestCache.current().contains( TENANT, SHELL_CONTEXT ) ).isTrue();
+      assertThat( ShellVisibilityCriteriaRequestCache.current().get( TENANT, SHELL_CONTEXT ) ).isNull();
+   }
+
+   @Test
+   void testComputeIfAbsentForOtherTenantExpectCriteriaLoadedPerTenant() throws DenyAccessException {
+      startRequest();
+
+      ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+      ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( "TENANT_TWO", SHELL_CONTEXT, this::load );
+
+      assertThat( loads ).hasValue( 2 );
+   }
+
+   @Test
+   void testComputeIfAbsentInNextRequestExpectCriteriaLoadedAgain() throws DenyAccessException {
+      startRequest();
+      ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+
+      startRequest();
+      ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+
+      assertThat( loads ).hasValue( 2 );
+   }
+
+   @Test
+   void testComputeIfAbsentOutsideOfRequestExpectNothingRemembered() throws DenyAccessException {
+      ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+      ShellVisibilityCriteriaRequestCache.current().computeIfAbsent( TENANT, SHELL_CONTEXT, this::load );
+
+      assertThat( loads ).hasValue( 2 );
+      assertThat( ShellVisibilityCriteriaRequestCache.current().contains( TENANT, SHELL_CONTEXT ) ).isFalse();
+   }
+
+   private static void startRequest() {
+      RequestContextHolder.setRequestAttributes( new ServletRequestAttributes( new MockHttpServletRequest() ) );
+   }
+
+   private ShellVisibilityCriteria load() {
+      loads.incrementAndGet();
+      return CRITERIA;
+   }
+
+   private ShellVisibilityCriteria deny() throws DenyAccessException {
+      loads.incrementAndGet();
+      throw new DenyAccessException( "No matching rules are found." );
+   }
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+package org.eclipse.tractusx.semantics.registry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.tractusx.semantics.registry.TestUtil.getEncodedValue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.eclipse.tractusx.semantics.RegistryProperties;
+import org.eclipse.tractusx.semantics.aas.registry.model.AssetAdministrationShellDescriptor;
+import org.eclipse.tractusx.semantics.accesscontrol.api.AccessControlRuleService;
+import org.eclipse.tractusx.semantics.accesscontrol.api.model.SpecificAssetId;
+import org.eclipse.tractusx.semantics.registry.AbstractAssetAdministrationShellApi;
+import org.eclipse.tractusx.semantics.registry.TestUtil;
+import org.eclipse.tractusx.semantics.registry.repository.ShellIdentifierRepository;
+import org.eclipse.tractusx.semantics.registry.repository.ShellVisibilityRepository;
+import org.eclipse.tractusx.semantics.registry.repository.TenantVisibility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles( profiles = { "granular", "granular-index", "test" } )
+class ShellVisibilityIndexServiceTest extends AbstractAssetAdministrationShellApi {
+
+   private static final SpecificAssetId IDENTIFIER_1 = new SpecificAssetId( "identifier1KeyExample", "identifier1ValueExample" );
+   private static final SpecificAssetId IDENTIFIER_2 = new SpecificAssetId( "identifier2KeyExample", "identifier2ValueExample" );
+
+   @Autowired
+   private ShellVisibilityIndexService shellVisibilityIndexService;
+   @Autowired
+   private ShellVisibilityRepository shellVisibilityRepository;
+   @Autowired
+   private ShellIdentifierRepository shellIdentifierRepository;
+   @Autowired
+   private AccessControlRuleService accessControlRuleService;
+   @Autowired
+   private ValueDictionary valueDictionary;
+   @Autowired
+   private RegistryProperties registryProperties;
+   @Autowired
+   private PlatformTransactionManager transactionManager;
+
+   @Test
+   void testIsReadyAfterSynchronizationExpectTrue() {
+      shellVisibilityIndexService.synchronizeWithRules();
+
+      assertThat( shellVisibilityIndexService.isReady() ).isTrue();
+   }
+
+   @Test
+   void testIsReadyWhenIndexDisabledExpectFalse() {
+      RegistryProperties properties = new RegistryProperties();
+      properties.setUseGranularAccessControl( true );
+      properties.setUseGranularVisibilityIndex( false );
+      ShellVisibilityIndexService disabled = newService( properties );
+
+      disabled.synchronizeWithRules();
+
+      assertThat( disabled.isReady() ).isFalse();
+   }
+
+   @Test
+   void testReindexShellExpectEntriesOfSatisfiedCriteriaOnly() throws Exception {
+      String idExternal = UUID.randomUUID().toString();
+      UUID shellId = createShell( idExternal );
+
+      assertThat( shellVisibilityRepository.findCriteriaIdsByShellId( shellId ) ).containsExactly( criteriaIdOfRuleWith( IDENTIFIER_1 ) );
+
+      // removing the specificAssetIds reindexes the shell
+      mvc.perform( MockMvcRequestBuilders
+                  .delete( SINGLE_LOOKUP_SHELL_BASE_PATH, getEncodedValue( idExternal ) )
+                  .with( jwtTokenFactory.allRoles() ) )
+            .andExpect( status().isNoContent() );
+
+      assertThat( shellVisibilityRepository.findCriteriaIdsByShellId( shellId ) ).isEmpty();
+   }
+
+   @Test
+   void testReindexShellRepeatedlyExpectNoDuplicateEntries() throws Exception {
+      UUID shellId = createShell( UUID.randomUUID().toString() );
+
+      shellVisibilityIndexService.reindexShell( shellId );
+      shellVisibilityIndexService.reindexShell( shellId );
+
+      assertThat( entriesOfShell( shellId ) ).isEqualTo( 1 );
+   }
+
+   @Test
+   void testInsertIfAbsentWhenEntryExistsExpectNoDuplicate() throws Exception {
+      UUID shellId = createShell( UUID.randomUUID().toString() );
+      UUID criteriaId = criteriaIdOfRuleWith( IDENTIFIER_1 );
+
+      Integer inserted = new TransactionTemplate( transactionManager )
+            .execute( status -> shellVisibilityRepository.insertIfAbsent( shellId, "TENANT_ONE", criteriaId ) );
+
+      assertThat( inserted ).isZero();
+      assertThat( entriesOfShell( shellId ) ).isEqualTo( 1 );
+   }
+
+   @Test
+   void testSynchronizeWithRulesExpectOutdatedCriteriaRemovedAndNewCriteriaAdded() throws Exception {
+      UUID shellId = createShell( UUID.randomUUID().toString() );
+      UUID criteriaId = criteriaIdOfRuleWith( IDENTIFIER_1 );
+      UUID outdatedCriteriaId = UUID.randomUUID();
+      new TransactionTemplate( transactionManager ).executeWithoutResult( status -> {
+         shellVisibilityRepository.deleteByCriteriaIds( Set.of( criteriaId ) );
+         shellVisibilityRepository.insertIfAbsent( shellId, "TENANT_ONE", outdatedCriteriaId );
+      } );
+
+      // a new instance reads the indexed criteria from the table like after a restart
+      ShellVisibilityIndexService restarted = newService( registryProperties );
+      restarted.synchronizeWithRules();
+
+      assertThat( restarted.isReady() ).isTrue();
+      assertThat( shellVisibilityRepository.findCriteriaIdsByShellId( shellId ) ).containsExactly( criteriaId );
+      assertThat( shellVisibilityRepository.findAllCriteriaIds() ).doesNotContain( outdatedCriteriaId );
+   }
+
+   private UUID createShell( String idExternal ) throws Exception {
+      AssetAdministrationShellDescriptor shellPayload = TestUtil.createCompleteAasDescriptor();
+      shellPayload.setId( idExternal );
+      shellPayload.setSpecificAssetIds( List.of(
+            TestUtil.createSpecificAssetId( IDENTIFIER_1.name(), IDENTIFIER_1.value(), null ),
+            TestUtil.createSpecificAssetId( IDENTIFIER_2.name(), IDENTIFIER_2.value(), null ) ) );
+      performShellCreateRequest( mapper.writeValueAsString( shellPayload ) );
+      return shellRepository.findByIdExternalAndExternalSubjectId( idExternal, TenantVisibility.unrestricted() ).orElseThrow().getId();
+   }
+
+   private UUID criteriaIdOfRuleWith( SpecificAssetId specificAssetId ) {
+      return accessControlRuleService.fetchAllVisibilityRules().stream()
+            .filter( rule -> rule.mandatorySpecificAssetIds().contains( specificAssetId ) )
+            .map( ShellVisibilityIndexService::criteriaId )
+            .findFirst()
+            .orElseThrow();
+   }
+
+   private long entriesOfShell( UUID shellId ) {
+      return shellVisibilityRepository.findAll().stream().filter( entry -> entry.getShellId().equals( shellId ) ).count();
+   }
+
+   private ShellVisibilityIndexService newService( RegistryProperties properties ) {
+      return new ShellVisibilityIndexService( shellVisibilityRepository, shellIdentifierRepository, accessControlRuleService, valueDictionary,
+            properties, transactionManager );
+   }
+}
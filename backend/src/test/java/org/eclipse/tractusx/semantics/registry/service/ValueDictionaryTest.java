@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2024 Robert Bosch Manufacturing Solutions GmbH and others
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Apache License, Version 2.0 which is available at
+ * https://www.apache.org/licenses/LICENSE-2.0.
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ ******************************************************************************/
+
+package org.eclipse.tractusx.semantics.registry.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.tractusx.semantics.registry.AbstractAssetAdministrationShellApi;
+import org.eclipse.tractusx.semantics.registry.model.ValueHash;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ValueDictionaryTest extends AbstractAssetAdministrationShellApi {
+
+   @Autowired
+   private ValueDictionary valueDictionary;
+   @Autowired
+   private JdbcTemplate jdbcTemplate;
+   @Autowired
+   private PlatformTransactionManager transactionManager;
+
+   @Test
+   void testFindIdOfUnknownValueExpectUnknownIdAndNothingAdded() {
+      String value = UUID.randomUUID().toString();
+
+      assertThat( valueDictionary.findIdOf( null ) ).isEqualTo( ValueDictionary.UNKNOWN_ID );
+      assertThat( valueDictionary.findIdOf( value ) ).isEqualTo( ValueDictionary.UNKNOWN_ID );
+      assertThat( countStored( value ) ).isZero();
+   }
+
+   @Test
+   void testValueOfIdAddedByOtherInstanceExpectValueReadFromDatabase() {
+      String value = UUID.randomUUID().toString();
+      jdbcTemplate.update( "INSERT INTO DICTIONARY_VALUE (VALUE_TEXT, VALUE_HASH) VALUES (?, ?)", value, ValueHash.of( value ) );
+      int id = jdbcTemplate.queryForObject( "SELECT ID FROM DICTIONARY_VALUE WHERE VALUE_TEXT = ?", Integer.class, value );
+
+      assertThat( valueDictionary.valueOf( id ) ).isEqualTo( value );
+      assertThat( valueDictionary.findIdOf( value ) ).isEqualTo( id );
+   }
+
+   @Test
+   void testValueOfUnknownIdExpectException() {
+      assertThatThrownBy( () -> valueDictionary.valueOf( Integer.MAX_VALUE ) ).isInstanceOf( IllegalStateException.class );
+   }
+
+   @Test
+   void testIdOfConcurrentlyExpectSameId() throws Exception {
+      String value = UUID.randomUUID().toString();
+      TransactionTemplate transactionTemplate = new TransactionTemplate( transactionManager );
+      int threads = 8;
+      CountDownLatch start = new CountDownLatch( 1 );
+      ExecutorService executor = Executors.newFixedThreadPool( threads );
+      try {
+         List<Future<Integer>> ids = new ArrayList<>();
+         for ( int i = 0; i < threads; i++ ) {
+            ids.add( executor.submit( () -> {
+               start.await();
+               return transactionTemplate.execute( status -> valueDictionary.idOf( value ) );
+            } ) );
+         }
+         start.countDown();
+
+         int id = ids.get( 0 ).get();
+         for ( Future<Integer> other : ids ) {
+            assertThat( other.get() ).isEqualTo( id );
+         }
+         assertThat( countStored( value ) ).isOne();
+         assertThat( valueDictionary.valueOf( id ) ).isEqualTo( value );
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   @Test
+   void testIdOfInRolledBackTransactionExpectValueNotAdded() {
+      String value = UUID.randomUUID().toString();
+
+      new TransactionTemplate( transactionManager ).executeWithoutResult( status -> {
+         int id = valueDictionary.idOf( value );
+         // the value is visible within the adding transaction
+         assertThat( valueDictionary.idOf( value ) ).isEqualTo( id );
+         assertThat( valueDictionary.findIdOf( value ) ).isEqualTo( id );
+         status.setRollbackOnly();
+      } );
+
+      assertThat( countStored( value ) ).isZero();
+      assertThat( valueDictionary.findIdOf( value ) ).isEqualTo( ValueDictionary.UNKNOWN_ID );
+   }
+
+   @Test
+   void testIdOfTooLongValueExpectRejected() {
+      String value = "x".repeat( ValueDictionary.MAX_VALUE_LENGTH + 1 );
+
+      assertThatThrownBy( () -> valueDictionary.idOf( value ) ).isInstanceOf( IllegalArgumentException.class );
+      assertThat( countStored( value ) ).isZero();
+   }
+
+   private int countStored( String value ) {
+      return jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM DICTIONARY_VALUE WHERE VALUE_TEXT = ?", Integer.class, value );
+   }
+}